@@ -0,0 +1,91 @@
+package com.mg.graphs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mg.graphs.EdgeBuffer;
+import com.mg.graphs.Graph;
+import com.mg.graphs.GraphBuilder;
+
+/**
+ * Measures the construction of a {@link Graph} through
+ * {@link Graph#addNode(Object)} and {@link Graph#addEdge(Object, Object, int)},
+ * and in bulk through {@link GraphBuilder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GraphConstructionBenchmark {
+	@Param({ "GRID", "ERDOS_RENYI", "RMAT", "BARABASI_ALBERT", "ROAD", "CHAIN" })
+	private Topology topology;
+
+	@Param({ "1000", "10000", "100000" })
+	private int size;
+
+	private EdgeBuffer edges;
+
+	private int[] sources;
+	private int[] destinations;
+	private int[] weights;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		edges = topology.generate(size, 42);
+		sources = edges.getSources();
+		destinations = edges.getDestinations();
+		weights = edges.getWeights();
+	}
+
+	@Benchmark
+	public Graph<Integer> addNode() {
+		Graph<Integer> graph = new Graph<>();
+
+		for (int node = 0; node < edges.getNodes(); node++) {
+			graph.addNode(node);
+		}
+
+		return graph;
+	}
+
+	@Benchmark
+	public Graph<Integer> addNodeAndEdge() {
+		Graph<Integer> graph = addNode();
+
+		for (int i = 0; i < edges.size(); i++) {
+			graph.addEdge(edges.getSource(i), edges.getDestination(i), edges.getWeight(i));
+		}
+
+		return graph;
+	}
+
+	@Benchmark
+	public Graph<Integer> bulkBuild() {
+		return GraphBuilder.build(edges.getNodes(), sources, destinations, weights);
+	}
+
+	@Benchmark
+	public Graph<Integer> bulkBuildObjects() {
+		GraphBuilder<Integer> builder = new GraphBuilder<>();
+
+		for (int i = 0; i < edges.size(); i++) {
+			builder.addEdge(edges.getSource(i), edges.getDestination(i), edges.getWeight(i));
+		}
+
+		return builder.build();
+	}
+}
@@ -0,0 +1,101 @@
+package com.mg.graphs.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mg.graphs.EdgeBuffer;
+import com.mg.graphs.Graph;
+import com.mg.graphs.GraphView;
+import com.mg.graphs.PathFinder;
+
+/**
+ * Measures {@link PathFinder#findPath(GraphView, Object)} and
+ * {@link PathFinder#getPaths(GraphView, Object, Object)}. Each invocation uses the
+ * next of a fixed sequence of random source and destination pairs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PathFinderBenchmark {
+	private static final int QUERIES = 64;
+
+	@Param({ "GRID", "ERDOS_RENYI", "RMAT", "BARABASI_ALBERT", "ROAD", "CHAIN" })
+	private Topology topology;
+
+	@Param({ "1000", "4000", "16000" })
+	private int size;
+
+	private Graph<Integer> graph;
+	private PathFinder<Integer> pathFinder;
+	private int[] sources;
+	private int[] destinations;
+	private int query;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		EdgeBuffer edges = topology.generate(size, 42);
+		Random random = new Random(42);
+
+		graph = new Graph<>();
+		pathFinder = new PathFinder<>();
+		sources = new int[QUERIES];
+		destinations = new int[QUERIES];
+		query = 0;
+
+		for (int node = 0; node < edges.getNodes(); node++) {
+			graph.addNode(node);
+		}
+
+		for (int i = 0; i < edges.size(); i++) {
+			graph.addEdge(edges.getSource(i), edges.getDestination(i), edges.getWeight(i));
+		}
+
+		for (int i = 0; i < QUERIES; i++) {
+			sources[i] = random.nextInt(edges.getNodes());
+
+			do {
+				destinations[i] = random.nextInt(edges.getNodes());
+			} while (destinations[i] == sources[i]);
+		}
+	}
+
+	@Benchmark
+	public int findPath() {
+		int i = nextQuery();
+
+		pathFinder.findPath(graph, sources[i]);
+
+		return pathFinder.getDist(destinations[i]);
+	}
+
+	@Benchmark
+	public Set<List<Integer>> getPaths() {
+		int i = nextQuery();
+
+		return pathFinder.getPaths(graph, sources[i], destinations[i]);
+	}
+
+	private int nextQuery() {
+		query = (query + 1) % QUERIES;
+
+		return query;
+	}
+}
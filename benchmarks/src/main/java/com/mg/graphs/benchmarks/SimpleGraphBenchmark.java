@@ -0,0 +1,79 @@
+package com.mg.graphs.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.giordans.graphs.Graph;
+import com.giordans.graphs.SimpleGraph;
+import com.mg.graphs.EdgeBuffer;
+
+/**
+ * Measures {@link SimpleGraph#getPath(String, String)}. Only the chain
+ * topology is covered: the depth-first search backtracks without remembering
+ * dead ends, so on grids and random graphs a single query may take
+ * exponential time (a 10x10 grid already does not complete).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SimpleGraphBenchmark {
+	private static final int QUERIES = 64;
+
+	@Param({ "CHAIN" })
+	private Topology topology;
+
+	@Param({ "100", "400", "1600" })
+	private int size;
+
+	private SimpleGraph graph;
+	private String[] sources;
+	private String[] destinations;
+	private int query;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		EdgeBuffer edges = topology.generate(size, 42);
+		Random random = new Random(42);
+
+		graph = new SimpleGraph(edges.getNodes());
+		sources = new String[QUERIES];
+		destinations = new String[QUERIES];
+		query = 0;
+
+		for (int node = 0; node < edges.getNodes(); node++) {
+			graph.addNode(Integer.toString(node));
+		}
+
+		for (int i = 0; i < edges.size(); i++) {
+			graph.addEdge(Integer.toString(edges.getSource(i)), Integer.toString(edges.getDestination(i)));
+		}
+
+		for (int i = 0; i < QUERIES; i++) {
+			sources[i] = Integer.toString(random.nextInt(edges.getNodes()));
+			destinations[i] = Integer.toString(random.nextInt(edges.getNodes()));
+		}
+	}
+
+	@Benchmark
+	public Graph<String, Void>.Path getPath() {
+		query = (query + 1) % QUERIES;
+
+		return graph.getPath(sources[query], destinations[query]);
+	}
+}
@@ -0,0 +1,132 @@
+package com.mg.graphs.benchmarks;
+
+import com.mg.graphs.EdgeBuffer;
+import com.mg.graphs.EdgeSink;
+import com.mg.graphs.GraphGenerators;
+
+/**
+ * Graph topologies used by the benchmarks. Every topology generates a simple
+ * directed graph (no loops nor repeated edges) with nodes numbered from zero,
+ * and the same size and seed always produce the same edges.
+ */
+public enum Topology {
+	/**
+	 * Square grid with edges in both directions between horizontal and
+	 * vertical neighbors (as in the original performance test).
+	 */
+	GRID {
+		@Override
+		EdgeBuffer generate(int size, long seed) {
+			int side = (int) Math.ceil(Math.sqrt(size));
+			EdgeBuffer edges = new EdgeBuffer(4 * side * side);
+
+			edges.addNodes(side * side);
+
+			for (int i = 0; i < side; i++) {
+				for (int j = 0; j < side; j++) {
+					int node = i * side + j;
+
+					if (j + 1 < side) {
+						edges.addEdge(node, node + 1, 1);
+						edges.addEdge(node + 1, node, 1);
+					}
+
+					if (i + 1 < side) {
+						edges.addEdge(node, node + side, 1);
+						edges.addEdge(node + side, node, 1);
+					}
+				}
+			}
+
+			return edges;
+		}
+	},
+	/**
+	 * Erdős–Rényi G(n, p) random graph with an average out degree of four
+	 * (see {@link GraphGenerators#erdosRenyi(int, double, long, EdgeSink)}).
+	 */
+	ERDOS_RENYI {
+		@Override
+		EdgeBuffer generate(int size, long seed) {
+			EdgeBuffer edges = new EdgeBuffer(4 * size);
+
+			GraphGenerators.erdosRenyi(size, Math.min(4, size - 1), seed, edges);
+
+			return edges;
+		}
+	},
+	/**
+	 * R-MAT scale-free graph (a = 0.57, b = c = 0.19) with an average out
+	 * degree of up to eight. The number of nodes is rounded up to a power of
+	 * two; repeated edges and loops are dropped (see
+	 * {@link GraphGenerators#rmat(int, long, long, EdgeSink)}).
+	 */
+	RMAT {
+		@Override
+		EdgeBuffer generate(int size, long seed) {
+			int scale = 32 - Integer.numberOfLeadingZeros(Math.max(size - 1, 1));
+			EdgeBuffer edges = new EdgeBuffer(8 << scale);
+
+			GraphGenerators.rmat(scale, 8L << scale, seed, edges);
+
+			return edges;
+		}
+	},
+	/**
+	 * Barabási–Albert preferential attachment graph with three links (six
+	 * edges) per new node.
+	 */
+	BARABASI_ALBERT {
+		@Override
+		EdgeBuffer generate(int size, long seed) {
+			EdgeBuffer edges = new EdgeBuffer(6 * size);
+
+			GraphGenerators.barabasiAlbert(Math.max(size, 4), 3, seed, edges);
+
+			return edges;
+		}
+	},
+	/**
+	 * Square road-like planar graph (jittered grid with missing links and
+	 * diagonals, weighted by length).
+	 */
+	ROAD {
+		@Override
+		EdgeBuffer generate(int size, long seed) {
+			int side = (int) Math.ceil(Math.sqrt(size));
+			EdgeBuffer edges = new EdgeBuffer(5 * side * side);
+
+			GraphGenerators.roadNetwork(side, side, seed, edges);
+
+			return edges;
+		}
+	},
+	/**
+	 * Long bidirectional chain (the worst case for the search depth).
+	 */
+	CHAIN {
+		@Override
+		EdgeBuffer generate(int size, long seed) {
+			EdgeBuffer edges = new EdgeBuffer(2 * size);
+
+			edges.addNodes(size);
+
+			for (int node = 0; node + 1 < size; node++) {
+				edges.addEdge(node, node + 1, 1);
+				edges.addEdge(node + 1, node, 1);
+			}
+
+			return edges;
+		}
+	};
+
+	/**
+	 * Generates the edges of a graph of this topology.
+	 *
+	 * @param size
+	 *            the approximate number of nodes
+	 * @param seed
+	 *            the random seed
+	 */
+	abstract EdgeBuffer generate(int size, long seed);
+}
@@ -0,0 +1,106 @@
+package com.giordans.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Transitive closure of a graph with a fixed maximum number of nodes, kept as
+ * one bitset per node and maintained incrementally as edges are inserted
+ * (removals require a {@link #rebuild}). Reachability queries take constant
+ * time.
+ *
+ * @author Administrador
+ */
+class ReachabilityIndex {
+
+    /**
+     * Bit j of closure[i] is set if node j is reachable from node i.
+     */
+    private final long[][] closure;
+    private int size;
+
+    ReachabilityIndex(int maxNodes) {
+        this.closure = new long[maxNodes][(maxNodes + 63) >>> 6];
+        this.size = 0;
+    }
+
+    /**
+     * Adds the next node, which only reaches itself.
+     */
+    void addNode() {
+        if (this.size < this.closure.length) {
+            set(this.closure[this.size], this.size);
+            this.size++;
+        }
+    }
+
+    /**
+     * Updates the closure after inserting the edge from origin to
+     * destination: every node reaching origin now reaches everything
+     * destination reaches. It takes O(n * n / 64) time, and nothing is done
+     * if destination was already reachable from origin.
+     */
+    void addEdge(int origin, int destination) {
+        if (isReachable(origin, destination)) {
+            return;
+        }
+        long[] reachedByDestination = this.closure[destination];
+        for (int i = 0; i < this.size; i++) {
+            long[] reachedByI = this.closure[i];
+            if (get(reachedByI, origin)) {
+                for (int w = 0; w < reachedByI.length; w++) {
+                    reachedByI[w] |= reachedByDestination[w];
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes the closure of the first size nodes of the given adjacency
+     * matrix, ignoring the removed ones, with Warshall's algorithm on the
+     * bitsets. It takes O(n * n * n / 64) time.
+     */
+    void rebuild(boolean[][] adjacencyMatrix, boolean[] removed, int size) {
+        for (long[] reached : this.closure) {
+            Arrays.fill(reached, 0L);
+        }
+        for (int i = 0; i < size; i++) {
+            if (!removed[i]) {
+                set(this.closure[i], i);
+                for (int j = 0; j < size; j++) {
+                    if (adjacencyMatrix[i][j] && !removed[j]) {
+                        set(this.closure[i], j);
+                    }
+                }
+            }
+        }
+        // after step k, the paths through the first k + 1 nodes are closed
+        for (int k = 0; k < size; k++) {
+            long[] reachedByK = this.closure[k];
+            for (int i = 0; i < size; i++) {
+                long[] reachedByI = this.closure[i];
+                if (i != k && get(reachedByI, k)) {
+                    for (int w = 0; w < reachedByI.length; w++) {
+                        reachedByI[w] |= reachedByK[w];
+                    }
+                }
+            }
+        }
+        this.size = size;
+    }
+
+    /**
+     * @return true if destination is reachable from origin (every node
+     * reaches itself).
+     */
+    boolean isReachable(int origin, int destination) {
+        return get(this.closure[origin], destination);
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+}
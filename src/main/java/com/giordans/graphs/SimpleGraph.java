@@ -1,118 +1,522 @@
-package com.giordans.graphs;
-
-import java.lang.reflect.Array;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Set;
-
-/**
- *
- * @author Administrador
- */
-public class SimpleGraph extends Graph<String, Void> {
-
-    private final boolean[][] adjacencyMatrix;
-    private final Node[] nodes;
-    private int size;
-
-    public SimpleGraph(int maxNodes) {
-        this.adjacencyMatrix = new boolean[maxNodes][maxNodes];
-        for (boolean[] adjacencyMatrix1 : this.adjacencyMatrix) {
-            for (int j = 0; j < adjacencyMatrix1.length; j++) {
-                adjacencyMatrix1[j] = false;
-            }
-        }
-        this.size = 0;
-        this.nodes = (Node[]) Array.newInstance(Node.class, maxNodes);
-    }
-
-    public void addNode(String nodeLabel) {
-        Node node = new Node();
-        node.setData(nodeLabel);
-        if (this.size < this.nodes.length) {
-            this.nodes[this.size] = node;
-            this.size++;
-        }
-    }
-
-    public void addEdge(String nodeOriginLabel, String nodeDestinationLabel) {
-        int indexOrigin = indexOf(nodeOriginLabel);
-        int indexDestination = indexOf(nodeDestinationLabel);
-        if (indexOrigin >= 0 && indexDestination >= 0) {
-            this.adjacencyMatrix[indexOrigin][indexDestination] = true;
-        }
-    }
-
-    public Path getPath(String nodeOriginLabel, String nodeDestinationLabel) {
-        Path path = null;
-        int indexOrigin = indexOf(nodeOriginLabel);
-        int indexDestination = indexOf(nodeDestinationLabel);
-        if (indexOrigin >= 0 && indexDestination >= 0) {
-            List<Node> nodesBuffer = new LinkedList<>();
-            nodesBuffer.add(this.nodes[indexOrigin]);
-            if (indexOrigin != indexDestination) {
-                boolean found = searchAPath(nodesBuffer, indexOrigin, indexDestination);
-                if (!found) {
-                    nodesBuffer.remove(this.nodes[indexOrigin]);
-                }
-            }
-            path = new Path(nodesBuffer);
-        }
-        return path;
-    }
-
-    @Override
-    public Set<Edge> getEdges() {
-        Set<Edge> edges = new HashSet<>();
-        for (int i = 0; i < this.size; i++) {
-            Node nodeOrigin = this.nodes[i];
-            for (int j = 0; j < this.size; j++) {
-                if (this.adjacencyMatrix[i][j]) {
-                    Node nodeDestination = this.nodes[j];
-                    Edge edge = new Edge(null, nodeOrigin, nodeDestination);
-                    edges.add(edge);
-                }
-            }
-        }
-        return edges;
-    }
-
-    @Override
-    public Set<Node> getNodes() {
-        HashSet<Node> setOfNodes = new HashSet<>(Arrays.asList(nodes));
-        setOfNodes.remove(null);
-        return setOfNodes;
-    }
-
-    private int indexOf(String nodeLabel) {
-        for (int i = 0; i < this.size; i++) {
-            if (this.nodes[i].getData().equals(nodeLabel)) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
-    private boolean searchAPath(List<Node> nodesBuffer, int from, int to) {
-        boolean found = false;
-        for (int i = 0; !found && i < this.size; i++) {
-            if (adjacencyMatrix[from][i]) {
-                if (i == to) {
-                    nodesBuffer.add(this.nodes[i]);
-                    found = true;
-                } else {
-                    if (!nodesBuffer.contains(this.nodes[i])) {
-                        nodesBuffer.add(this.nodes[i]);
-                        found = searchAPath(nodesBuffer, i, to);
-                        if (!found) {
-                            nodesBuffer.remove(this.nodes[i]);
-                        }
-                    }
-                }
-            }
-        }
-        return found;
-    }
-}
+package com.giordans.graphs;
+
+import com.mg.graphs.Adjacency;
+import com.mg.graphs.AdjacencyPathFinder;
+import com.mg.graphs.MemoryFootprint;
+import com.mg.graphs.MemoryLayout;
+import com.mg.graphs.SearchListener;
+import com.mg.graphs.SearchReporter;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ *
+ * @author Administrador
+ */
+public class SimpleGraph extends Graph<String, Void> {
+
+    /**
+     * Share of removed nodes which triggers the compaction of the matrix.
+     */
+    public static final double COMPACTION_THRESHOLD = 0.25;
+
+    /**
+     * Number of queries answered by searching the matrix, while the closure is
+     * stale, which triggers its recomputation.
+     */
+    public static final int REACHABILITY_REBUILD_QUERIES = 32;
+
+    private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(SimpleGraph.class);
+    private static final long NODE_BYTES = MemoryLayout.instanceBytes(Node.class);
+    private static final long CLOSURE_BYTES = MemoryLayout.instanceBytes(ReachabilityIndex.class);
+
+    private final boolean[][] adjacencyMatrix;
+    private final Node[] nodes;
+    private final Map<String, Integer> indexes;
+    /**
+     * Next node with the same label as each node (-1 if none), so removing
+     * the first one finds the next one in constant time.
+     */
+    private final int[] nextWithLabel;
+    private int size;
+    /**
+     * Tombstones of the removed nodes, whose slots are reclaimed by the next
+     * compaction.
+     */
+    private final boolean[] removed;
+    private int removedCount;
+    /**
+     * True if edges or nodes were removed since the closure was computed.
+     */
+    private boolean reachabilityStale;
+    /**
+     * Queries answered by searching the matrix since the closure went stale.
+     */
+    private int staleQueries;
+    /**
+     * Nodes visited by the running search while the closure is stale.
+     */
+    private final boolean[] visited;
+    private final SearchReporter reporter;
+    /**
+     * Counters of the running {@link #getPath} search.
+     */
+    private long nodesSettled;
+    private long edgesRelaxed;
+    private long queueOperations;
+    private final ReachabilityIndex reachability;
+    private final Adjacency adjacency;
+    private final AdjacencyPathFinder pathFinder;
+
+    public SimpleGraph(int maxNodes) {
+        this.adjacencyMatrix = new boolean[maxNodes][maxNodes];
+        for (boolean[] adjacencyMatrix1 : this.adjacencyMatrix) {
+            for (int j = 0; j < adjacencyMatrix1.length; j++) {
+                adjacencyMatrix1[j] = false;
+            }
+        }
+        this.size = 0;
+        this.removed = new boolean[maxNodes];
+        this.removedCount = 0;
+        this.reachabilityStale = false;
+        this.staleQueries = 0;
+        this.visited = new boolean[maxNodes];
+        this.nodes = (Node[]) Array.newInstance(Node.class, maxNodes);
+        this.indexes = new HashMap<>();
+        this.nextWithLabel = new int[maxNodes];
+        this.reporter = new SearchReporter();
+        this.nodesSettled = 0;
+        this.edgesRelaxed = 0;
+        this.queueOperations = 0;
+        this.reachability = new ReachabilityIndex(maxNodes);
+        this.adjacency = new MatrixAdjacency();
+        this.pathFinder = new AdjacencyPathFinder();
+    }
+
+    /**
+     * Sets a listener which receives the counters of every {@link #getPath}
+     * and {@link #getShortestPath} search (the same counters are committed as
+     * JDK Flight Recorder events whenever the com.mg.graphs.PathSearch event
+     * is enabled).
+     */
+    public void setSearchListener(SearchListener listener) {
+        this.reporter.setListener(listener);
+        this.pathFinder.setSearchListener(listener);
+    }
+
+    /**
+     * Gets a read-only view of the adjacency matrix, where node ids are the
+     * insertion order of the nodes and every edge weighs one. The view reads
+     * the matrix in place, so it sees the nodes and edges added later (the
+     * removed nodes keep their ids, without edges, until a compaction
+     * renumbers the remaining ones).
+     */
+    public Adjacency adjacency() {
+        return this.adjacency;
+    }
+
+    public void addNode(String nodeLabel) {
+        Node node = new Node();
+        node.setData(nodeLabel);
+        if (this.size == this.nodes.length && this.removedCount > 0) {
+            compact();
+        }
+        if (this.size < this.nodes.length) {
+            this.nodes[this.size] = node;
+            this.nextWithLabel[this.size] = -1;
+            // the first node with a given label is the one found by indexOf
+            Integer first = this.indexes.putIfAbsent(nodeLabel, this.size);
+            if (first != null) {
+                int last = first;
+                while (this.nextWithLabel[last] >= 0) {
+                    last = this.nextWithLabel[last];
+                }
+                this.nextWithLabel[last] = this.size;
+            }
+            this.reachability.addNode();
+            this.size++;
+        }
+    }
+
+    public void addEdge(String nodeOriginLabel, String nodeDestinationLabel) {
+        int indexOrigin = indexOf(nodeOriginLabel);
+        int indexDestination = indexOf(nodeDestinationLabel);
+        if (indexOrigin >= 0 && indexDestination >= 0) {
+            this.adjacencyMatrix[indexOrigin][indexDestination] = true;
+            if (!this.reachabilityStale) {
+                this.reachability.addEdge(indexOrigin, indexDestination);
+            }
+        }
+    }
+
+    /**
+     * Removes the edge from origin to destination in constant time. Until the
+     * closure used by {@link #isReachable} is recomputed (see
+     * {@link #rebuildReachability()}), the queries search the matrix.
+     */
+    public void removeEdge(String nodeOriginLabel, String nodeDestinationLabel) {
+        int indexOrigin = indexOf(nodeOriginLabel);
+        int indexDestination = indexOf(nodeDestinationLabel);
+        if (indexOrigin >= 0 && indexDestination >= 0 && this.adjacencyMatrix[indexOrigin][indexDestination]) {
+            this.adjacencyMatrix[indexOrigin][indexDestination] = false;
+            this.reachabilityStale = true;
+        }
+    }
+
+    /**
+     * Removes the node with the given label (the one found first) and its
+     * edges. The node is only marked as removed, and skipped by the searches,
+     * until the removed nodes exceed {@link #COMPACTION_THRESHOLD} of the
+     * nodes or a node is added to a full graph: then the matrix is compacted
+     * and their slots are reused.
+     */
+    public void removeNode(String nodeLabel) {
+        int index = indexOf(nodeLabel);
+        if (index >= 0) {
+            this.removed[index] = true;
+            this.removedCount++;
+            if (this.nextWithLabel[index] >= 0) {
+                this.indexes.put(nodeLabel, this.nextWithLabel[index]);
+            } else {
+                this.indexes.remove(nodeLabel);
+            }
+            this.reachabilityStale = true;
+            if (this.removedCount > this.size * COMPACTION_THRESHOLD) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Moves the remaining nodes to the first slots, keeping their order. It
+     * takes O(n * n) time, once per n * {@link #COMPACTION_THRESHOLD}
+     * removals, and leaves the closure stale (it is renumbered by its next
+     * recomputation).
+     */
+    private void compact() {
+        int count = 0;
+        boolean[][] rows = new boolean[this.size][];
+        for (int i = 0; i < this.size; i++) {
+            if (!this.removed[i]) {
+                boolean[] row = this.adjacencyMatrix[i];
+                int column = 0;
+                for (int j = 0; j < this.size; j++) {
+                    if (!this.removed[j]) {
+                        row[column++] = row[j];
+                    }
+                }
+                rows[count] = row;
+                this.nodes[count] = this.nodes[i];
+                count++;
+            }
+        }
+        int next = count;
+        for (int i = 0; i < this.size; i++) {
+            if (this.removed[i]) {
+                rows[next++] = this.adjacencyMatrix[i];
+            }
+        }
+        for (int i = 0; i < this.size; i++) {
+            Arrays.fill(rows[i], i < count ? count : 0, this.size, false);
+            this.adjacencyMatrix[i] = rows[i];
+        }
+        Arrays.fill(this.nodes, count, this.size, null);
+        Arrays.fill(this.removed, 0, this.size, false);
+        this.size = count;
+        this.removedCount = 0;
+        this.indexes.clear();
+        Map<String, Integer> last = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String label = this.nodes[i].getData();
+            this.nextWithLabel[i] = -1;
+            Integer previous = last.put(label, i);
+            if (previous != null) {
+                this.nextWithLabel[previous] = i;
+            } else {
+                this.indexes.put(label, i);
+            }
+        }
+        this.reachabilityStale = true;
+    }
+
+    /**
+     * Recomputes the closure used by {@link #isReachable} if nodes or edges
+     * were removed since it was computed, in O(n * n * n / 64) time. Until
+     * then, the queries search the matrix, and the closure is recomputed
+     * after {@link #REACHABILITY_REBUILD_QUERIES} of them.
+     */
+    public void rebuildReachability() {
+        if (this.reachabilityStale) {
+            this.reachability.rebuild(this.adjacencyMatrix, this.removed, this.size);
+            this.reachabilityStale = false;
+            this.staleQueries = 0;
+        }
+    }
+
+    /**
+     * Tells whether the closure can answer a query, recomputing it if the
+     * stale one was bypassed by enough queries already.
+     */
+    private boolean reachabilityFresh() {
+        if (this.reachabilityStale && ++this.staleQueries >= REACHABILITY_REBUILD_QUERIES) {
+            rebuildReachability();
+        }
+        return !this.reachabilityStale;
+    }
+
+    /**
+     * Tells whether there is a path from origin to destination in constant
+     * time, using a transitive closure maintained by {@link #addEdge} (after
+     * removals, by a search of the matrix until it is recomputed).
+     *
+     * @return true if both nodes exist and destination is reachable from
+     * origin (every node reaches itself)
+     */
+    public boolean isReachable(String nodeOriginLabel, String nodeDestinationLabel) {
+        int indexOrigin = indexOf(nodeOriginLabel);
+        int indexDestination = indexOf(nodeDestinationLabel);
+        if (indexOrigin < 0 || indexDestination < 0) {
+            return false;
+        }
+        if (reachabilityFresh()) {
+            return this.reachability.isReachable(indexOrigin, indexDestination);
+        }
+        Arrays.fill(this.visited, 0, this.size, false);
+        this.visited[indexOrigin] = true;
+        return indexOrigin == indexDestination
+                || searchAPath(new LinkedList<>(), indexOrigin, indexDestination);
+    }
+
+    public Path getPath(String nodeOriginLabel, String nodeDestinationLabel) {
+        Path path = null;
+        int indexOrigin = indexOf(nodeOriginLabel);
+        int indexDestination = indexOf(nodeDestinationLabel);
+        if (indexOrigin >= 0 && indexDestination >= 0) {
+            this.reporter.start();
+            this.nodesSettled = 1;
+            this.edgesRelaxed = 0;
+            this.queueOperations = 1;
+            List<Node> nodesBuffer = new LinkedList<>();
+            nodesBuffer.add(this.nodes[indexOrigin]);
+            boolean found = true;
+            if (indexOrigin != indexDestination) {
+                if (reachabilityFresh()) {
+                    // the search is skipped when the closure says there is no path
+                    found = this.reachability.isReachable(indexOrigin, indexDestination)
+                            && searchAPath(nodesBuffer, indexOrigin, indexDestination);
+                } else {
+                    Arrays.fill(this.visited, 0, this.size, false);
+                    this.visited[indexOrigin] = true;
+                    found = searchAPath(nodesBuffer, indexOrigin, indexDestination);
+                }
+                if (!found) {
+                    nodesBuffer.remove(this.nodes[indexOrigin]);
+                    this.queueOperations++;
+                }
+            }
+            path = new Path(nodesBuffer);
+            this.reporter.finish("SimpleGraph.getPath", this.nodesSettled, this.edgesRelaxed, this.queueOperations,
+                    found ? 1 : 0);
+        }
+        return path;
+    }
+
+    /**
+     * Gets a shortest path (the one with the fewest edges) from origin to
+     * destination, found by an {@link AdjacencyPathFinder} on the
+     * {@link #adjacency()} view.
+     *
+     * @return null if a node does not exist, and an empty path if destination
+     * is unreachable
+     */
+    public Path getShortestPath(String nodeOriginLabel, String nodeDestinationLabel) {
+        Path path = null;
+        int indexOrigin = indexOf(nodeOriginLabel);
+        int indexDestination = indexOf(nodeDestinationLabel);
+        if (indexOrigin >= 0 && indexDestination >= 0) {
+            List<Node> nodesBuffer = new LinkedList<>();
+            // the search is skipped when the closure says there is no path
+            boolean reachable = !reachabilityFresh() || this.reachability.isReachable(indexOrigin, indexDestination);
+            if (reachable) {
+                this.pathFinder.findPath(this.adjacency, indexOrigin);
+                reachable = this.pathFinder.getDist(indexDestination) != Integer.MAX_VALUE;
+            }
+            if (reachable) {
+                int index = indexDestination;
+                nodesBuffer.add(this.nodes[index]);
+                while (index != indexOrigin) {
+                    index = this.pathFinder.getPrev(index)[0];
+                    nodesBuffer.add(0, this.nodes[index]);
+                }
+            }
+            path = new Path(nodesBuffer);
+        }
+        return path;
+    }
+
+    /**
+     * Estimates the heap size of this graph (not counting the labels). The
+     * matrix and the closure take the same room whatever the number of nodes
+     * and edges, so they are fixed bytes.
+     */
+    public MemoryFootprint getFootprint() {
+        int maxNodes = this.nodes.length;
+        long edges = 0;
+        for (int i = 0; i < this.size; i++) {
+            for (int j = 0; j < this.size; j++) {
+                if (this.adjacencyMatrix[i][j] && !this.removed[i] && !this.removed[j]) {
+                    edges++;
+                }
+            }
+        }
+        MemoryFootprint result = new MemoryFootprint("SimpleGraph", this.size - this.removedCount, edges,
+                nodeBytes(this.size, this.indexes.size()), 0, fixedBytes(maxNodes));
+        return result.plus(this.pathFinder.getFootprint());
+    }
+
+    /**
+     * Estimates the heap size of a graph with the given maximum number of
+     * nodes once they are all added (see {@link #getFootprint()}).
+     */
+    public static MemoryFootprint estimateFootprint(int maxNodes) {
+        return new MemoryFootprint("SimpleGraph", maxNodes, 0, nodeBytes(maxNodes, maxNodes), 0,
+                fixedBytes(maxNodes));
+    }
+
+    /**
+     * @return the size of the given number of nodes (tombstones included) and
+     * of the index of the given number of labels
+     */
+    private static long nodeBytes(int nodes, int labels) {
+        // a node holds its data and its graph, and the indexes above 127 are
+        // boxed in new objects
+        return nodes * NODE_BYTES + MemoryLayout.hashMapBytes(labels)
+                + Math.max(0, labels - 128) * MemoryLayout.objectBytes(0, 4);
+    }
+
+    /**
+     * @return the size of the arrays allocated for the given maximum number
+     * of nodes
+     */
+    private static long fixedBytes(int maxNodes) {
+        long matrix = MemoryLayout.referenceArrayBytes(maxNodes)
+                + maxNodes * MemoryLayout.arrayBytes(maxNodes, 1);
+        long closure = CLOSURE_BYTES + MemoryLayout.referenceArrayBytes(maxNodes)
+                + maxNodes * MemoryLayout.arrayBytes((maxNodes + 63) >>> 6, 8);
+        return matrix + closure + MemoryLayout.referenceArrayBytes(maxNodes)
+                + 2 * MemoryLayout.arrayBytes(maxNodes, 1) + MemoryLayout.arrayBytes(maxNodes, 4)
+                + INSTANCE_BYTES;
+    }
+
+    @Override
+    public Set<Edge> getEdges() {
+        Set<Edge> edges = new HashSet<>();
+        for (int i = 0; i < this.size; i++) {
+            Node nodeOrigin = this.nodes[i];
+            for (int j = 0; j < this.size; j++) {
+                if (this.adjacencyMatrix[i][j] && !this.removed[i] && !this.removed[j]) {
+                    Node nodeDestination = this.nodes[j];
+                    Edge edge = new Edge(null, nodeOrigin, nodeDestination);
+                    edges.add(edge);
+                }
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public Set<Node> getNodes() {
+        HashSet<Node> setOfNodes = new HashSet<>();
+        for (int i = 0; i < this.size; i++) {
+            if (!this.removed[i]) {
+                setOfNodes.add(this.nodes[i]);
+            }
+        }
+        return setOfNodes;
+    }
+
+    private int indexOf(String nodeLabel) {
+        Integer index = this.indexes.get(nodeLabel);
+        return index != null ? index : -1;
+    }
+
+    private boolean searchAPath(List<Node> nodesBuffer, int from, int to) {
+        boolean found = false;
+        for (int i = 0; !found && i < this.size; i++) {
+            if (adjacencyMatrix[from][i] && !this.removed[i]) {
+                this.edgesRelaxed++;
+                if (i == to) {
+                    nodesBuffer.add(this.nodes[i]);
+                    this.queueOperations++;
+                    this.nodesSettled++;
+                    found = true;
+                } else if (this.reachabilityStale ? !this.visited[i]
+                        : this.reachability.isReachable(i, to) && !nodesBuffer.contains(this.nodes[i])) {
+                    // dead ends (nodes which do not reach the destination) are
+                    // not explored: the closure tells them apart, and without
+                    // it no node is explored twice
+                    this.visited[i] = true;
+                    nodesBuffer.add(this.nodes[i]);
+                    this.queueOperations++;
+                    this.nodesSettled++;
+                    found = searchAPath(nodesBuffer, i, to);
+                    if (!found) {
+                        nodesBuffer.remove(this.nodes[i]);
+                        this.queueOperations++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Adjacency view of the matrix.
+     */
+    private final class MatrixAdjacency implements Adjacency {
+
+        @Override
+        public int size() {
+            return SimpleGraph.this.size;
+        }
+
+        @Override
+        public Cursor cursor() {
+            return new Cursor() {
+                private boolean[] row;
+                private int column;
+
+                @Override
+                public void reset(int node) {
+                    this.row = adjacencyMatrix[node];
+                    this.column = -1;
+                }
+
+                @Override
+                public boolean next() {
+                    do {
+                        this.column++;
+                    } while (this.column < SimpleGraph.this.size
+                            && (!this.row[this.column] || removed[this.column]));
+                    return this.column < SimpleGraph.this.size;
+                }
+
+                @Override
+                public int target() {
+                    return this.column;
+                }
+
+                @Override
+                public int weight() {
+                    return 1;
+                }
+            };
+        }
+    }
+}
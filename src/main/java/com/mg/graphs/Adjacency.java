@@ -0,0 +1,64 @@
+package com.mg.graphs;
+
+/**
+ * Read-only access to the outbound edges of a directed weighted graph whose
+ * nodes are identified by dense int ids in [0, {@link #size()}). Graph models
+ * implement it as views over their own storage ({@link IntGraph}, the
+ * array-based snapshot {@link PathFinder} searches a {@link Graph} on and
+ * {@code com.giordans.graphs.SimpleGraph#adjacency()}), so the search engines
+ * working against it (see {@link AdjacencyPathFinder}) need no copy of the
+ * graph.
+ */
+public interface Adjacency {
+	/**
+	 * @return The number of nodes.
+	 */
+	int size();
+
+	/**
+	 * Creates a cursor over the outbound edges of the nodes. A cursor can be
+	 * reused for any number of nodes, so a search needs a single one, but it
+	 * must not be shared by several threads.
+	 *
+	 * @return The new cursor.
+	 */
+	Cursor cursor();
+
+	/**
+	 * Iterates over the outbound edges of a node, without allocating memory:
+	 *
+	 * <pre>
+	 * cursor.reset(node);
+	 *
+	 * while (cursor.next()) {
+	 * 	... cursor.target() ... cursor.weight() ...
+	 * }
+	 * </pre>
+	 */
+	interface Cursor {
+		/**
+		 * Moves this cursor before the first outbound edge of the given node.
+		 *
+		 * @param node
+		 *            the node id
+		 */
+		void reset(int node);
+
+		/**
+		 * Moves this cursor to the next outbound edge.
+		 *
+		 * @return False if there are no more edges.
+		 */
+		boolean next();
+
+		/**
+		 * @return The destination node id of the current edge.
+		 */
+		int target();
+
+		/**
+		 * @return The weight (at least one) of the current edge.
+		 */
+		int weight();
+	}
+}
@@ -0,0 +1,347 @@
+package com.mg.graphs;
+
+import java.util.List;
+
+/**
+ * Searches the shortest path from a source node to all the other nodes of any
+ * {@link Adjacency}, identifying the nodes by their int ids. It is the engine
+ * behind {@link IntPathFinder}, and it searches the other graph models
+ * through their adjacency views without copying them.
+ */
+public class AdjacencyPathFinder {
+	/**
+	 * Size of a path finder, without its workspace.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(AdjacencyPathFinder.class);
+
+	/**
+	 * Prefix of the operation names reported to the listener.
+	 */
+	private final String name;
+	/**
+	 * Adjacency treated by the last search (null before the first one).
+	 */
+	private Adjacency adjacency;
+	/**
+	 * Distances and predecessors of the last search (reused by every search).
+	 */
+	private final SearchWorkspace workspace;
+	/**
+	 * Counters of the current search.
+	 */
+	private final SearchMonitor monitor;
+
+	/**
+	 * Creates a new path finder.
+	 */
+	public AdjacencyPathFinder() {
+		this("AdjacencyPathFinder");
+	}
+
+	/**
+	 * Creates a new path finder reporting its searches under the given name.
+	 */
+	AdjacencyPathFinder(String name) {
+		this.name = name;
+		this.adjacency = null;
+		this.workspace = new SearchWorkspace();
+		this.monitor = new SearchMonitor();
+	}
+
+	/**
+	 * Sets a listener which receives the counters of every search run by this
+	 * path finder (see {@link PathFinder#setSearchListener(SearchListener)}).
+	 *
+	 * @param listener
+	 *            the listener reference or null to remove the current one
+	 */
+	public void setSearchListener(SearchListener listener) {
+		monitor.setListener(listener);
+	}
+
+	/**
+	 * Estimates the heap size of the search state of this path finder (see
+	 * {@link PathFinder#getFootprint()}).
+	 *
+	 * @return The footprint of this path finder, where the nodes are the
+	 *         capacity of its arrays.
+	 */
+	public MemoryFootprint getFootprint() {
+		// this object and its monitor
+		return workspace.getFootprint("AdjacencyPathFinder").plus(new MemoryFootprint("AdjacencyPathFinder", 0, 0, 0,
+				0, INSTANCE_BYTES + SearchMonitor.INSTANCE_BYTES));
+	}
+
+	/**
+	 * <p>
+	 * Computes the shortest paths from a source node to all the other nodes of
+	 * a directed weighted graph.
+	 * </p>
+	 * <p>
+	 * The info can be retrieved using the following methods:
+	 * </p>
+	 * <ul>
+	 * <li>{@link #getDist(int)}</li>
+	 * <li>{@link #getPrev(int)}</li>
+	 * <li>{@link #getDistances()}</li>
+	 * <li>{@link #getPredecessors()}</li>
+	 * <li>{@link #getSettled()}</li>
+	 * </ul>
+	 *
+	 * @param adjacency
+	 *            the graph reference
+	 * @param source
+	 *            the source node id
+	 *
+	 * @throws NullPointerException
+	 *             if adjacency is null
+	 * @throws IllegalArgumentException
+	 *             if source is not a node id of the graph
+	 */
+	public void findPath(Adjacency adjacency, int source) {
+		findPath(adjacency, source, SearchLimits.NONE);
+	}
+
+	/**
+	 * Computes the shortest paths from a source node to the other nodes of a
+	 * directed weighted graph, within the given limits (see
+	 * {@link PathFinder#findPath(GraphView, Object, SearchLimits)}).
+	 *
+	 * @param adjacency
+	 *            the graph reference
+	 * @param source
+	 *            the source node id
+	 * @param limits
+	 *            the limits of the search
+	 *
+	 * @return How the search ended.
+	 *
+	 * @throws NullPointerException
+	 *             if adjacency is null
+	 * @throws NullPointerException
+	 *             if limits is null
+	 * @throws IllegalArgumentException
+	 *             if source is not a node id of the graph
+	 */
+	public SearchOutcome findPath(Adjacency adjacency, int source, SearchLimits limits) {
+		checkFindPathArgs(adjacency, source, limits);
+		monitor.start();
+
+		SearchOutcome outcome = search(adjacency, source, limits);
+
+		monitor.finish(name + ".findPath");
+
+		return outcome;
+	}
+
+	private void checkFindPathArgs(Adjacency adjacency, int source, SearchLimits limits) {
+		if (adjacency == null) {
+			throw new NullPointerException("adjacency is null");
+		}
+
+		if (limits == null) {
+			throw new NullPointerException("limits is null");
+		}
+
+		if (source < 0 || source >= adjacency.size()) {
+			throw new IllegalArgumentException("source not found");
+		}
+	}
+
+	private SearchOutcome search(Adjacency adjacency, int source, SearchLimits limits) {
+		this.adjacency = adjacency;
+
+		workspace.reset(adjacency.size());
+		workspace.addSource(source, monitor);
+
+		return workspace.search(adjacency, 0, limits, monitor);
+	}
+
+	/**
+	 * @return The distance from source to the given node or
+	 *         {@link Integer#MAX_VALUE} if the given node is unreachable or
+	 *         was not settled by a limited search.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(Adjacency, int)}
+	 * @throws IllegalArgumentException
+	 *             if the given node is not a node id of the treated graph
+	 */
+	public int getDist(int node) {
+		checkNodeCall(node, "getDist");
+
+		return workspace.isSettled(node) ? workspace.getDist(node) : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * @return The ids of the previous nodes in the shortest paths from source.
+	 *         It returns an empty array if the given node is unreachable, equal
+	 *         to source or not settled by a limited search, and it might return
+	 *         more than one node if there are multiple paths.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(Adjacency, int)}
+	 * @throws IllegalArgumentException
+	 *             if the given node is not a node id of the treated graph
+	 */
+	public int[] getPrev(int node) {
+		checkNodeCall(node, "getPrev");
+
+		int first = workspace.getPrev(node);
+
+		if (first < 0 || !workspace.isSettled(node)) {
+			return new int[0];
+		}
+
+		int count = 1;
+
+		for (int entry = workspace.getOverflow(node); entry >= 0; entry = workspace.getOverflowNext(entry)) {
+			count++;
+		}
+
+		int[] result = new int[count];
+
+		result[0] = first;
+		count = 1;
+
+		for (int entry = workspace.getOverflow(node); entry >= 0; entry = workspace.getOverflowNext(entry)) {
+			result[count++] = workspace.getOverflowNode(entry);
+		}
+
+		return result;
+	}
+
+	private void checkNodeCall(int node, String method) {
+		if (adjacency == null) {
+			throw new IllegalStateException("calling " + method + " before calling findPath");
+		}
+
+		if (node < 0 || node >= workspace.getSize()) {
+			throw new IllegalArgumentException("node not found");
+		}
+	}
+
+	/**
+	 * @return The distance from source of every node, indexed by node id, with
+	 *         {@link Integer#MAX_VALUE} for the unreachable (or not settled)
+	 *         nodes.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(Adjacency, int)}
+	 */
+	public int[] getDistances() {
+		if (adjacency == null) {
+			throw new IllegalStateException("calling getDistances before calling findPath");
+		}
+
+		int[] result = new int[workspace.getSize()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = workspace.isSettled(i) ? workspace.getDist(i) : Integer.MAX_VALUE;
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return The id of a previous node in a shortest path from source for
+	 *         every node, indexed by node id, with -1 for source and the
+	 *         unreachable (or not settled) nodes.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(Adjacency, int)}
+	 */
+	public int[] getPredecessors() {
+		if (adjacency == null) {
+			throw new IllegalStateException("calling getPredecessors before calling findPath");
+		}
+
+		int[] result = new int[workspace.getSize()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = workspace.isSettled(i) ? workspace.getPrev(i) : -1;
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return The ids of the nodes settled by the last search, in order of
+	 *         distance from source.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(Adjacency, int)}
+	 */
+	public int[] getSettled() {
+		if (adjacency == null) {
+			throw new IllegalStateException("calling getSettled before calling findPath");
+		}
+
+		int[] result = new int[workspace.getSettledCount()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = workspace.getSettled(i);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gets all the shortest paths from source to destination.
+	 *
+	 * @param adjacency
+	 *            the graph reference
+	 * @param source
+	 *            the source node id
+	 * @param destination
+	 *            the destination node id
+	 *
+	 * @return A list containing all the shortest paths from source to
+	 *         destination. If destination is unreachable then it returns an
+	 *         empty list. Each path consists of an array of node ids, listed in
+	 *         order from source to destination.
+	 *
+	 * @throws NullPointerException
+	 *             if adjacency is null
+	 * @throws IllegalArgumentException
+	 *             if source and destination are equals
+	 * @throws IllegalArgumentException
+	 *             if source is not a node id of the graph
+	 * @throws IllegalArgumentException
+	 *             if destination is not a node id of the graph
+	 */
+	public List<int[]> getPaths(Adjacency adjacency, int source, int destination) {
+		checkGetPathsArgs(adjacency, source, destination);
+		monitor.start();
+		search(adjacency, source, SearchLimits.NONE);
+
+		List<int[]> paths = workspace.getPaths(destination, monitor);
+
+		monitor.finish(name + ".getPaths");
+
+		return paths;
+	}
+
+	private void checkGetPathsArgs(Adjacency adjacency, int source, int destination) {
+		if (adjacency == null) {
+			throw new NullPointerException("adjacency is null");
+		}
+
+		if (source == destination) {
+			throw new IllegalArgumentException("source is equal to destination");
+		}
+
+		if (source < 0 || source >= adjacency.size()) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (destination < 0 || destination >= adjacency.size()) {
+			throw new IllegalArgumentException("destination not found");
+		}
+	}
+}
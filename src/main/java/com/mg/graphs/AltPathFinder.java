@@ -0,0 +1,261 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Searches the shortest path between two nodes of a directed weighted graph
+ * using A* guided by the lower bounds of an ALT preprocessing (see
+ * {@link Landmarks}). Only the nodes which may lie on a shortest path are
+ * explored, so point-to-point queries are usually much faster than a full
+ * search.
+ *
+ * @param <E>
+ *            the type of elements maintained by the preprocessed graph
+ */
+public class AltPathFinder<E> {
+	/**
+	 * The ALT preprocessing.
+	 */
+	private final Landmarks<E> landmarks;
+	/**
+	 * Tentative distance from source of each node.
+	 */
+	private final int[] dist;
+	/**
+	 * Previous node of each node in the shortest path found.
+	 */
+	private final int[] prev;
+	/**
+	 * Lower bound of the distance to destination of each reached node.
+	 */
+	private final int[] bound;
+	/**
+	 * Search in which each node was reached (the other arrays are only valid
+	 * for the nodes reached in the current search).
+	 */
+	private final int[] reached;
+	/**
+	 * Search in which each node was settled.
+	 */
+	private final int[] settled;
+	/**
+	 * Current search number.
+	 */
+	private int epoch;
+	/**
+	 * Queue of reached nodes ordered by distance plus lower bound.
+	 */
+	private final NodeQueue queue;
+	/**
+	 * Cursor over the outbound edges of the preprocessed graph.
+	 */
+	private final Adjacency.Cursor cursor;
+
+	/**
+	 * Creates a new path finder.
+	 *
+	 * @param landmarks
+	 *            the ALT preprocessing of the graph to be searched
+	 *
+	 * @throws NullPointerException
+	 *             if landmarks is null
+	 */
+	public AltPathFinder(Landmarks<E> landmarks) {
+		if (landmarks == null) {
+			throw new NullPointerException("landmarks is null");
+		}
+
+		int size = landmarks.getIndexed().size();
+
+		this.landmarks = landmarks;
+		this.dist = new int[size];
+		this.prev = new int[size];
+		this.bound = new int[size];
+		this.reached = new int[size];
+		this.settled = new int[size];
+		this.epoch = 0;
+		this.queue = new NodeQueue();
+		this.cursor = landmarks.getIndexed().cursor();
+	}
+
+	/**
+	 * Gets the distance from source to destination.
+	 *
+	 * @param source
+	 *            the source node
+	 * @param destination
+	 *            the destination node
+	 *
+	 * @return The distance from source to destination or
+	 *         {@link Integer#MAX_VALUE} if destination is unreachable.
+	 *
+	 * @throws IllegalStateException
+	 *             if the graph was modified after the preprocessing
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if source and destination are equals
+	 * @throws IllegalArgumentException
+	 *             if source does not belong to the graph
+	 * @throws IllegalArgumentException
+	 *             if destination does not belong to the graph
+	 */
+	public int getDist(E source, E destination) {
+		checkQueryArgs(source, destination);
+
+		IndexedGraph<E> indexed = landmarks.getIndexed();
+		int target = indexed.indexOf(destination);
+
+		return search(indexed.indexOf(source), target) ? dist[target] : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Gets a shortest path from source to destination.
+	 *
+	 * @param source
+	 *            the source node
+	 * @param destination
+	 *            the destination node
+	 *
+	 * @return A list with the nodes of a shortest path, listed in order from
+	 *         source to destination. If destination is unreachable then it
+	 *         returns an empty list.
+	 *
+	 * @throws IllegalStateException
+	 *             if the graph was modified after the preprocessing
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if source and destination are equals
+	 * @throws IllegalArgumentException
+	 *             if source does not belong to the graph
+	 * @throws IllegalArgumentException
+	 *             if destination does not belong to the graph
+	 */
+	public List<E> getPath(E source, E destination) {
+		checkQueryArgs(source, destination);
+
+		IndexedGraph<E> indexed = landmarks.getIndexed();
+		int target = indexed.indexOf(destination);
+		List<E> path = new LinkedList<>();
+
+		if (search(indexed.indexOf(source), target)) {
+			for (int node = target; node >= 0; node = prev[node]) {
+				path.add(0, indexed.getNode(node));
+			}
+		}
+
+		return path;
+	}
+
+	private void checkQueryArgs(E source, E destination) {
+		if (!landmarks.isCurrent()) {
+			throw new IllegalStateException("graph modified after the preprocessing");
+		}
+
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (source.equals(destination)) {
+			throw new IllegalArgumentException("source is equal to destination");
+		}
+
+		if (landmarks.getIndexed().indexOf(source) < 0) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (landmarks.getIndexed().indexOf(destination) < 0) {
+			throw new IllegalArgumentException("destination not found");
+		}
+	}
+
+	/**
+	 * Runs an A* search from source until target is settled.
+	 *
+	 * @return True if target was reached.
+	 */
+	private boolean search(int source, int target) {
+		nextEpoch();
+		queue.clear();
+
+		bound[source] = landmarks.lowerBound(source, target);
+
+		if (bound[source] == Integer.MAX_VALUE) {
+			return false;
+		}
+
+		dist[source] = 0;
+		prev[source] = -1;
+		reached[source] = epoch;
+		queue.add(source, bound[source]);
+
+		while (!queue.isEmpty()) {
+			int u = queue.poll();
+
+			if (settled[u] == epoch) {
+				continue;
+			}
+
+			settled[u] = epoch;
+
+			if (u == target) {
+				return true;
+			}
+
+			cursor.reset(u);
+
+			while (cursor.next()) {
+				int v = cursor.target();
+				int alt = dist[u] + cursor.weight();
+
+				if (settled[v] == epoch) {
+					continue;
+				}
+
+				if (reached[v] != epoch) {
+					bound[v] = landmarks.lowerBound(v, target);
+
+					if (bound[v] == Integer.MAX_VALUE) {
+						// v cannot reach target, so it is pruned
+						settled[v] = epoch;
+						continue;
+					}
+				} else if (alt >= dist[v]) {
+					continue;
+				}
+
+				dist[v] = alt;
+				prev[v] = u;
+				reached[v] = epoch;
+				queue.add(v, (int) Math.min((long) alt + bound[v], Integer.MAX_VALUE));
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Starts a new search, invalidating the state of the previous one.
+	 */
+	private void nextEpoch() {
+		epoch++;
+
+		if (epoch == 0) {
+			// the counter wrapped around: clear the stamps once
+			Arrays.fill(reached, 0);
+			Arrays.fill(settled, 0);
+			epoch = 1;
+		}
+	}
+}
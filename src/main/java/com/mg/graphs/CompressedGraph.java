@@ -0,0 +1,464 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compressed read-only copy of a {@link Graph}. The outbound edges of each
+ * node are sorted by target and stored in a byte array as variable-length
+ * integers (7 bits per byte): the first target relative to the node itself
+ * and each following one as the gap from the previous one, so nodes whose
+ * neighbors have close indices take one or two bytes per edge. Optionally,
+ * runs of consecutive targets are stored as intervals (start and length) as
+ * in WebGraph.
+ * <p>
+ * As an {@link Adjacency} (node ids are the indices given by
+ * {@link #indexOf(Object)}), its cursor decodes the edges sequentially, so
+ * {@link AdjacencyPathFinder} runs directly on the compressed form. The
+ * edges of a node are decoded in storage order: intervals first, then the
+ * other targets.
+ * </p>
+ * <p>
+ * The layout of the edges of a node is: degree, number of intervals, then
+ * each interval (start, length minus the minimum length, one weight per
+ * target) and each remaining target (position, weight). Weights are stored
+ * minus one.
+ * </p>
+ *
+ * @param <E>
+ *            the type of elements maintained by the compressed graph
+ */
+public class CompressedGraph<E> implements Adjacency {
+	/**
+	 * Default minimum length of an interval.
+	 */
+	public static final int DEFAULT_MIN_INTERVAL = 4;
+	/**
+	 * Maximum size of the encoded edges, in bytes (the largest array the
+	 * virtual machines allocate).
+	 */
+	public static final int MAX_ENCODED_BYTES = Integer.MAX_VALUE - 8;
+	/**
+	 * Size of a graph, without its arrays and its map.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(CompressedGraph.class);
+
+	/**
+	 * Maps each index to its node.
+	 */
+	private final Object[] nodes;
+	/**
+	 * Maps each node to its index.
+	 */
+	private final Map<E, Integer> indices;
+	/**
+	 * The edges of node i start at bytes[offsets[i]].
+	 */
+	private final int[] offsets;
+	/**
+	 * Encoded edges.
+	 */
+	private final byte[] bytes;
+	/**
+	 * Number of edges.
+	 */
+	private final int edgeCount;
+	/**
+	 * Minimum length of an interval (0 if intervals are not used).
+	 */
+	private final int minInterval;
+
+	/**
+	 * Compresses a graph, with intervals of at least
+	 * {@link #DEFAULT_MIN_INTERVAL} targets.
+	 *
+	 * @param graph
+	 *            the graph reference
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 */
+	public CompressedGraph(GraphView<E> graph) {
+		this(graph, DEFAULT_MIN_INTERVAL);
+	}
+
+	/**
+	 * Compresses a graph.
+	 *
+	 * @param graph
+	 *            the graph reference
+	 * @param minInterval
+	 *            the minimum number of consecutive targets stored as an
+	 *            interval, or 0 to store every target by its gap
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws IllegalArgumentException
+	 *             if minInterval is negative or one
+	 * @throws IllegalArgumentException
+	 *             if the encoded edges exceed {@link #MAX_ENCODED_BYTES}
+	 */
+	public CompressedGraph(GraphView<E> graph, int minInterval) {
+		checkCompressedGraphArgs(graph, minInterval);
+
+		IndexedGraph<E> indexed = graph.compacted();
+		int size = indexed.size();
+		int[] outOffsets = indexed.getOutOffsets();
+		int[] outTargets = indexed.getOutTargets();
+		int[] outWeights = indexed.getOutWeights();
+
+		this.nodes = new Object[size];
+		this.indices = new HashMap<>(size * 4 / 3 + 1);
+		this.offsets = new int[size + 1];
+		this.edgeCount = indexed.edgeCount();
+		this.minInterval = minInterval;
+
+		for (int i = 0; i < size; i++) {
+			nodes[i] = indexed.getNode(i);
+			indices.put(indexed.getNode(i), i);
+		}
+
+		Encoder encoder = new Encoder((int) Math.min(MAX_ENCODED_BYTES, Math.max(16, edgeCount * 2L)));
+		long[] edges = new long[16];
+		int[] intervalStarts = new int[16];
+		int[] intervalLengths = new int[16];
+
+		for (int v = 0; v < size; v++) {
+			int degree = outOffsets[v + 1] - outOffsets[v];
+
+			offsets[v] = encoder.size();
+
+			if (edges.length < degree) {
+				edges = new long[degree];
+				intervalStarts = new int[degree];
+				intervalLengths = new int[degree];
+			}
+
+			// sort by target, keeping each weight with its target
+			for (int e = 0; e < degree; e++) {
+				edges[e] = ((long) outTargets[outOffsets[v] + e] << 32) | outWeights[outOffsets[v] + e];
+			}
+
+			Arrays.sort(edges, 0, degree);
+
+			// find the runs of consecutive targets
+			int intervals = 0;
+
+			for (int e = 0; minInterval > 0 && e < degree;) {
+				int end = e + 1;
+
+				while (end < degree && target(edges[end]) == target(edges[end - 1]) + 1) {
+					end++;
+				}
+
+				if (end - e >= minInterval) {
+					intervalStarts[intervals] = e;
+					intervalLengths[intervals] = end - e;
+					intervals++;
+				}
+
+				e = end;
+			}
+
+			encoder.write(degree);
+
+			if (degree == 0) {
+				continue;
+			}
+
+			encoder.write(intervals);
+
+			int previous = -1;
+
+			for (int k = 0; k < intervals; k++) {
+				int start = intervalStarts[k];
+				int left = target(edges[start]);
+
+				encoder.write(k == 0 ? zigzag(left - v) : left - previous - 1);
+				encoder.write(intervalLengths[k] - minInterval);
+
+				for (int e = start; e < start + intervalLengths[k]; e++) {
+					encoder.write(weight(edges[e]) - 1);
+				}
+
+				previous = target(edges[start + intervalLengths[k] - 1]);
+			}
+
+			// the targets out of the intervals
+			boolean first = true;
+			int k = 0;
+
+			for (int e = 0; e < degree; e++) {
+				if (k < intervals && e == intervalStarts[k]) {
+					e += intervalLengths[k] - 1;
+					k++;
+					continue;
+				}
+
+				int target = target(edges[e]);
+
+				encoder.write(first ? zigzag(target - v) : target - previous - 1);
+				encoder.write(weight(edges[e]) - 1);
+
+				previous = target;
+				first = false;
+			}
+		}
+
+		offsets[size] = encoder.size();
+		bytes = encoder.toArray();
+	}
+
+	private void checkCompressedGraphArgs(GraphView<E> graph, int minInterval) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (minInterval < 0) {
+			throw new IllegalArgumentException("minInterval is negative");
+		}
+
+		if (minInterval == 1) {
+			throw new IllegalArgumentException("minInterval is one");
+		}
+	}
+
+	private static int target(long edge) {
+		return (int) (edge >>> 32);
+	}
+
+	private static int weight(long edge) {
+		return (int) edge;
+	}
+
+	/**
+	 * Maps signed integers to unsigned ones, so small negative values are
+	 * encoded in few bytes.
+	 */
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * @return The number of nodes.
+	 */
+	@Override
+	public int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * @return The number of edges.
+	 */
+	public int edgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * @return The number of bytes taken by the encoded edges and their
+	 *         offsets (the node mapping is not included).
+	 */
+	public long getByteCount() {
+		return bytes.length + 4L * offsets.length;
+	}
+
+	/**
+	 * Estimates the heap size of this graph, including the node mapping (but
+	 * not the nodes).
+	 *
+	 * @return The footprint of this graph.
+	 */
+	public MemoryFootprint getFootprint() {
+		int size = nodes.length;
+		// the indices above 127 are boxed in new objects
+		long nodeBytes = MemoryLayout.referenceArrayBytes(size) + MemoryLayout.hashMapBytes(size, size * 4 / 3 + 1)
+				+ Math.max(0, size - 128) * MemoryLayout.objectBytes(0, 4) + MemoryLayout.arrayBytes(size + 1, 4);
+
+		return new MemoryFootprint("CompressedGraph", size, edgeCount, nodeBytes,
+				MemoryLayout.arrayBytes(bytes.length, 1), INSTANCE_BYTES);
+	}
+
+	/**
+	 * @return The index of the given node or -1 if it does not belong to this
+	 *         graph.
+	 */
+	public int indexOf(E node) {
+		Integer index = indices.get(node);
+
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * @return The node at the given index.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if index is out of range
+	 */
+	@SuppressWarnings("unchecked")
+	public E getNode(int index) {
+		if (index < 0 || index >= nodes.length) {
+			throw new IndexOutOfBoundsException("index out of bounds");
+		}
+
+		return (E) nodes[index];
+	}
+
+	@Override
+	public Cursor cursor() {
+		return new DecodingCursor();
+	}
+
+	/**
+	 * Growable byte array written as variable-length integers.
+	 */
+	private static final class Encoder {
+		private byte[] buffer;
+		private int size;
+
+		Encoder(int capacity) {
+			buffer = new byte[capacity];
+			size = 0;
+		}
+
+		/**
+		 * Writes a value, taken as unsigned, 7 bits per byte from the lowest
+		 * ones (the highest bit of each byte tells whether more follow).
+		 */
+		void write(int value) {
+			if (buffer.length - size < 5) {
+				if (buffer.length == MAX_ENCODED_BYTES) {
+					throw new IllegalArgumentException("graph too large to compress");
+				}
+
+				buffer = Arrays.copyOf(buffer, (int) Math.min(MAX_ENCODED_BYTES, buffer.length * 2L));
+			}
+
+			while ((value & ~0x7F) != 0) {
+				buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+
+			buffer[size++] = (byte) value;
+		}
+
+		int size() {
+			return size;
+		}
+
+		byte[] toArray() {
+			return Arrays.copyOf(buffer, size);
+		}
+	}
+
+	/**
+	 * Cursor decoding the edges of a node.
+	 */
+	private final class DecodingCursor implements Cursor {
+		/**
+		 * Current node.
+		 */
+		private int node;
+		/**
+		 * Position of the next byte to decode.
+		 */
+		private int position;
+		/**
+		 * Edges not decoded yet.
+		 */
+		private int remaining;
+		/**
+		 * Intervals not started yet.
+		 */
+		private int intervals;
+		/**
+		 * Targets left in the current interval.
+		 */
+		private int intervalLeft;
+		/**
+		 * True until the first interval is decoded (its start is relative to
+		 * the node, the others to the end of the previous interval).
+		 */
+		private boolean firstInterval;
+		/**
+		 * True until the first target out of the intervals is decoded.
+		 */
+		private boolean firstResidual;
+		/**
+		 * Current target.
+		 */
+		private int target;
+		private int weight;
+
+		@Override
+		public void reset(int node) {
+			this.node = node;
+			this.position = offsets[node];
+			this.remaining = read();
+			this.intervals = remaining > 0 ? read() : 0;
+			this.intervalLeft = 0;
+			this.firstInterval = true;
+			this.firstResidual = true;
+		}
+
+		@Override
+		public boolean next() {
+			if (intervalLeft == 0 && intervals > 0) {
+				int gap = read();
+
+				target = (firstInterval ? node + unzigzag(gap) : target + gap + 1) - 1;
+				intervalLeft = read() + minInterval;
+				intervals--;
+				firstInterval = false;
+			}
+
+			if (intervalLeft > 0) {
+				target++;
+				intervalLeft--;
+			} else if (remaining > 0) {
+				int gap = read();
+
+				target = firstResidual ? node + unzigzag(gap) : target + gap + 1;
+				firstResidual = false;
+			} else {
+				return false;
+			}
+
+			weight = read() + 1;
+			remaining--;
+
+			return true;
+		}
+
+		/**
+		 * Decodes the next variable-length integer.
+		 */
+		private int read() {
+			int value = 0;
+			int shift = 0;
+			byte b;
+
+			do {
+				b = bytes[position++];
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+
+			return value;
+		}
+
+		@Override
+		public int target() {
+			return target;
+		}
+
+		@Override
+		public int weight() {
+			return weight;
+		}
+	}
+}
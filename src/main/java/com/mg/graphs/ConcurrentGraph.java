@@ -0,0 +1,476 @@
+package com.mg.graphs;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Directed graph with weighted edges which can be modified by many threads
+ * at the same time while other threads search it.
+ * <p>
+ * Writers only synchronize on the node whose outbound edges they modify (the
+ * outbound edges of each node are kept in a copy-on-write array). Every node
+ * and edge is stamped with an increasing sequence number, so a
+ * {@link #snapshot()} is just the current sequence number: it sees every node
+ * and edge added before it and none added after it, and it can be searched
+ * with {@link PathFinder} or any other searcher taking a {@link GraphView}.
+ * </p>
+ *
+ * @param <E>
+ *            the type of elements maintained by this graph
+ */
+public class ConcurrentGraph<E> {
+	/**
+	 * Size of a graph, without its map.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(ConcurrentGraph.class);
+	/**
+	 * Size of the sequence and of the publication lock (see
+	 * {@link #synchronizationBytes()}).
+	 */
+	private static final long SYNCHRONIZATION_BYTES = synchronizationBytes();
+
+	/**
+	 * Maps each node to its entry.
+	 */
+	private final Map<E, NodeEntry<E>> nodes;
+	/**
+	 * Last sequence number given to a node or an edge.
+	 */
+	private final AtomicLong sequence;
+	/**
+	 * Writers hold the shared side while they stamp and publish a node or an
+	 * edge; {@link #snapshot()} briefly holds the exclusive side so no stamp
+	 * lower than the one it reads is left unpublished.
+	 */
+	private final ReadWriteLock publication;
+
+	/**
+	 * Creates an empty graph.
+	 */
+	public ConcurrentGraph() {
+		nodes = new ConcurrentHashMap<>();
+		sequence = new AtomicLong();
+		publication = new ReentrantReadWriteLock();
+	}
+
+	/**
+	 * Adds a node to this graph.
+	 *
+	 * @param node
+	 *            element to be added to this graph
+	 *
+	 * @throws NullPointerException
+	 *             if node is null
+	 * @throws IllegalArgumentException
+	 *             if the graph already contains the given node
+	 */
+	public void addNode(E node) {
+		if (node == null) {
+			throw new NullPointerException("node is null");
+		}
+
+		publication.readLock().lock();
+
+		try {
+			if (nodes.putIfAbsent(node, new NodeEntry<>(sequence.incrementAndGet())) != null) {
+				throw new IllegalArgumentException("already existing node");
+			}
+		} finally {
+			publication.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds an edge to this graph.
+	 *
+	 * @param source
+	 *            source node
+	 * @param destination
+	 *            destination node
+	 * @param weight
+	 *            edge weight
+	 *
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if weight is less than one
+	 * @throws IllegalArgumentException
+	 *             if source is equal to destination (no loops allowed)
+	 * @throws IllegalArgumentException
+	 *             if source does not belong to this graph
+	 * @throws IllegalArgumentException
+	 *             if destination does not belong to this graph
+	 * @throws IllegalArgumentException
+	 *             if this graph already contains an edge with this source and
+	 *             destination
+	 */
+	public void addEdge(E source, E destination, int weight) {
+		NodeEntry<E> entry = checkAddEdgeArgs(source, destination, weight);
+
+		publication.readLock().lock();
+
+		try {
+			synchronized (entry) {
+				SequencedEdge<E>[] edges = entry.edges;
+
+				for (SequencedEdge<E> edge : edges) {
+					if (edge.getDestination().equals(destination)) {
+						throw new IllegalArgumentException("already existing edge");
+					}
+				}
+
+				SequencedEdge<E>[] extended = Arrays.copyOf(edges, edges.length + 1);
+
+				// stamped inside the lock so each array is sorted by stamp
+				extended[edges.length] = new SequencedEdge<>(source, destination, weight,
+						sequence.incrementAndGet());
+				entry.edges = extended;
+			}
+		} finally {
+			publication.readLock().unlock();
+		}
+	}
+
+	private NodeEntry<E> checkAddEdgeArgs(E source, E destination, int weight) {
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (weight < 1) {
+			throw new IllegalArgumentException("weight is less than one");
+		}
+
+		if (source.equals(destination)) {
+			throw new IllegalArgumentException("source is equal to destination");
+		}
+
+		NodeEntry<E> entry = nodes.get(source);
+
+		if (entry == null) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (!nodes.containsKey(destination)) {
+			throw new IllegalArgumentException("destination not found");
+		}
+
+		return entry;
+	}
+
+	/**
+	 * @return True if this graph currently contains the given node.
+	 */
+	public boolean containsNode(E node) {
+		return nodes.containsKey(node);
+	}
+
+	/**
+	 * Estimates the heap size of this graph: the map of the nodes and, for
+	 * each one, its entry and the current array of its outbound edges. The
+	 * nodes are not counted, nor the arrays replaced by additions and still
+	 * held by snapshots (see {@link GraphView#getFootprint()} for the ones of
+	 * a snapshot).
+	 *
+	 * @return The footprint of this graph.
+	 */
+	public MemoryFootprint getFootprint() {
+		// node count, edge count and edge bytes, summed by forEach so the map
+		// does not create (and keep) a view of its values
+		long[] totals = new long[3];
+
+		nodes.forEach((node, entry) -> {
+			SequencedEdge<E>[] edges = entry.edges;
+
+			totals[0]++;
+			totals[1] += edges.length;
+			totals[2] += MemoryLayout.referenceArrayBytes(edges.length) - MemoryLayout.referenceArrayBytes(0)
+					+ edges.length * SequencedEdge.INSTANCE_BYTES;
+		});
+
+		long nodeBytes = MemoryLayout.concurrentHashMapBytes(totals[0])
+				+ totals[0] * (NodeEntry.INSTANCE_BYTES + MemoryLayout.referenceArrayBytes(0));
+		long fixedBytes = INSTANCE_BYTES + SYNCHRONIZATION_BYTES;
+
+		return new MemoryFootprint("ConcurrentGraph", totals[0], totals[1], nodeBytes, totals[2], fixedBytes);
+	}
+
+	/**
+	 * @return The size of an {@link AtomicLong} and of a
+	 *         {@link ReentrantReadWriteLock} with its two sides, its
+	 *         synchronizer and the thread local counting its read holds, taken
+	 *         from the fields of the classes of the running JDK.
+	 */
+	private static long synchronizationBytes() {
+		ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		long bytes = MemoryLayout.instanceBytes(AtomicLong.class) + MemoryLayout.instanceBytes(lock.getClass())
+				+ MemoryLayout.instanceBytes(lock.readLock().getClass())
+				+ MemoryLayout.instanceBytes(lock.writeLock().getClass());
+
+		try {
+			// the synchronizer and its thread local are private classes, found
+			// through the types of the fields holding them
+			Class<?> sync = ReentrantReadWriteLock.class.getDeclaredField("sync").getType();
+			Class<?> readHolds = sync.getDeclaredField("readHolds").getType();
+
+			return bytes + MemoryLayout.instanceBytes(sync) + MemoryLayout.instanceBytes(readHolds);
+		} catch (NoSuchFieldException e) {
+			// a JDK naming them differently still has a queued synchronizer
+			return bytes + MemoryLayout.instanceBytes(AbstractQueuedSynchronizer.class)
+					+ MemoryLayout.instanceBytes(ThreadLocal.class);
+		}
+	}
+
+	/**
+	 * Gets a read-only view of this graph containing every node and edge added
+	 * so far. The view never changes, no matter how this graph is modified
+	 * afterwards, and obtaining it takes constant time (it only waits for the
+	 * additions already in progress to be published).
+	 *
+	 * @return The snapshot.
+	 */
+	public GraphView<E> snapshot() {
+		long stamp;
+
+		publication.writeLock().lock();
+
+		try {
+			stamp = sequence.get();
+		} finally {
+			publication.writeLock().unlock();
+		}
+
+		return new Snapshot<>(nodes, stamp);
+	}
+
+	/**
+	 * Node of a concurrent graph.
+	 */
+	private static final class NodeEntry<E> {
+		private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(NodeEntry.class);
+
+		/**
+		 * Sequence number of the node.
+		 */
+		private final long stamp;
+		/**
+		 * Outbound edges, sorted by sequence number (replaced on every
+		 * addition).
+		 */
+		private volatile SequencedEdge<E>[] edges;
+
+		@SuppressWarnings("unchecked")
+		NodeEntry(long stamp) {
+			this.stamp = stamp;
+			this.edges = (SequencedEdge<E>[]) new SequencedEdge<?>[0];
+		}
+	}
+
+	/**
+	 * Edge stamped with its sequence number.
+	 */
+	private static final class SequencedEdge<E> extends Edge<E> {
+		private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(SequencedEdge.class);
+
+		private final long stamp;
+
+		SequencedEdge(E source, E destination, int weight, long stamp) {
+			super(source, destination, weight);
+			this.stamp = stamp;
+		}
+	}
+
+	/**
+	 * Graph made of the nodes and edges of a concurrent graph whose sequence
+	 * numbers are not greater than a given one.
+	 */
+	private static final class Snapshot<E> extends GraphView<E> {
+		private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(Snapshot.class);
+
+		private final Map<E, NodeEntry<E>> nodes;
+		private final long stamp;
+		/**
+		 * Number of nodes (-1 until it is first requested).
+		 */
+		private int size;
+		/**
+		 * Array-based copy of this snapshot (null until it is first
+		 * requested; threads racing to build it build equal copies).
+		 */
+		private volatile IndexedGraph<E> indexed;
+
+		Snapshot(Map<E, NodeEntry<E>> nodes, long stamp) {
+			this.nodes = nodes;
+			this.stamp = stamp;
+			this.size = -1;
+			this.indexed = null;
+		}
+
+		@Override
+		IndexedGraph<E> indexed() {
+			IndexedGraph<E> result = indexed;
+
+			if (result == null) {
+				result = new IndexedGraph<>(this);
+				indexed = result;
+			}
+
+			return result;
+		}
+
+		@Override
+		IndexedGraph<E> compacted() {
+			// nothing is ever removed from a snapshot
+			return indexed();
+		}
+
+		/**
+		 * Estimates the heap size of this snapshot: the array-based copy, if
+		 * it was built (a search builds it). The nodes and edges are shared
+		 * with the graph, so they are not counted.
+		 */
+		@Override
+		public MemoryFootprint getFootprint() {
+			IndexedGraph<E> result = indexed;
+
+			if (result != null) {
+				return new MemoryFootprint("ConcurrentGraph.Snapshot", result.size(), result.edgeCount(), 0, 0,
+						INSTANCE_BYTES).plus(result.getFootprint());
+			}
+
+			long edgeCount = 0;
+
+			for (E node : getNodes()) {
+				edgeCount += getOutboundEdges(node).size();
+			}
+
+			return new MemoryFootprint("ConcurrentGraph.Snapshot", getNodes().size(), edgeCount, 0, 0,
+					INSTANCE_BYTES);
+		}
+
+		private boolean isVisible(NodeEntry<E> entry) {
+			return entry != null && entry.stamp <= stamp;
+		}
+
+		@Override
+		Set<E> getNodes() {
+			return new AbstractSet<E>() {
+				@Override
+				public boolean contains(Object o) {
+					return isVisible(nodes.get(o));
+				}
+
+				@Override
+				public Iterator<E> iterator() {
+					return new FilteringIterator<>(nodes.entrySet().iterator(), stamp);
+				}
+
+				@Override
+				public int size() {
+					if (size < 0) {
+						int count = 0;
+
+						for (NodeEntry<E> entry : nodes.values()) {
+							if (isVisible(entry)) {
+								count++;
+							}
+						}
+
+						size = count;
+					}
+
+					return size;
+				}
+			};
+		}
+
+		@Override
+		Set<Edge<E>> getOutboundEdges(E node) {
+			NodeEntry<E> entry = nodes.get(node);
+
+			if (!isVisible(entry)) {
+				return null;
+			}
+
+			SequencedEdge<E>[] edges = entry.edges;
+			int count = edges.length;
+
+			while (count > 0 && edges[count - 1].stamp > stamp) {
+				count--;
+			}
+
+			int visible = count;
+
+			return new AbstractSet<Edge<E>>() {
+				@Override
+				public Iterator<Edge<E>> iterator() {
+					return Arrays.<Edge<E>> asList(edges).subList(0, visible).iterator();
+				}
+
+				@Override
+				public int size() {
+					return visible;
+				}
+			};
+		}
+	}
+
+	/**
+	 * Iterates over the nodes of a snapshot.
+	 */
+	private static final class FilteringIterator<E> implements Iterator<E> {
+		private final Iterator<Map.Entry<E, NodeEntry<E>>> entries;
+		private final long stamp;
+		private E next;
+
+		FilteringIterator(Iterator<Map.Entry<E, NodeEntry<E>>> entries, long stamp) {
+			this.entries = entries;
+			this.stamp = stamp;
+			advance();
+		}
+
+		private void advance() {
+			next = null;
+
+			while (next == null && entries.hasNext()) {
+				Map.Entry<E, NodeEntry<E>> entry = entries.next();
+
+				if (entry.getValue().stamp <= stamp) {
+					next = entry.getKey();
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public E next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+
+			E result = next;
+
+			advance();
+
+			return result;
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Distances from many source nodes to many target nodes of a directed
+ * weighted graph, computed in parallel and stored in a primitive matrix (one
+ * row per source, one column per target).
+ * <p>
+ * One search is run per distinct source (repeated sources share it), and each
+ * search stops as soon as every target is settled (see
+ * {@link PathFinder#getDists(GraphView, Object, List)}).
+ * </p>
+ *
+ * @param <E>
+ *            the type of elements maintained by the searched graph
+ */
+public class DistanceTable<E> {
+	/**
+	 * Number of search batches per available processor (more batches than
+	 * processors balance the uneven cost of the searches).
+	 */
+	private static final int BATCHES_PER_PROCESSOR = 4;
+
+	/**
+	 * The source nodes, one per row.
+	 */
+	private final List<E> sources;
+	/**
+	 * The target nodes, one per column.
+	 */
+	private final List<E> targets;
+	/**
+	 * Distance from each source to each target (repeated sources share their
+	 * row).
+	 */
+	private final int[][] distances;
+
+	/**
+	 * Computes the distances from every source to every target.
+	 *
+	 * @param graph
+	 *            the graph reference
+	 * @param sources
+	 *            the source node references (repetitions are allowed)
+	 * @param targets
+	 *            the target node references (repetitions are allowed)
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if sources is null or contains null
+	 * @throws NullPointerException
+	 *             if targets is null or contains null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain a source node
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain a target node
+	 */
+	public DistanceTable(GraphView<E> graph, List<E> sources, List<E> targets) {
+		checkDistanceTableArgs(graph, sources, targets);
+
+		IndexedGraph<E> indexed = graph.indexed();
+		int[] columns = new int[targets.size()];
+
+		this.sources = Collections.unmodifiableList(new ArrayList<>(sources));
+		this.targets = Collections.unmodifiableList(new ArrayList<>(targets));
+		this.distances = new int[sources.size()][];
+
+		for (int j = 0; j < columns.length; j++) {
+			columns[j] = indexed.indexOf(targets.get(j));
+		}
+
+		// merge the rows of repeated sources
+		IntIndexMap rows = new IntIndexMap();
+		int[] distinct = new int[sources.size()];
+		int count = 0;
+
+		for (int i = 0; i < distinct.length; i++) {
+			int source = indexed.indexOf(sources.get(i));
+
+			if (rows.get(source) < 0) {
+				rows.put(source, i);
+				distinct[count++] = i;
+			}
+		}
+
+		// computed once before the workers share it
+		indexed.components();
+
+		int searches = count;
+		int batches = Math.min(searches, Runtime.getRuntime().availableProcessors() * BATCHES_PER_PROCESSOR);
+
+		IntStream.range(0, batches).parallel().forEach((batch) -> {
+			PathFinder<E> pathFinder = new PathFinder<>();
+
+			for (int k = batch; k < searches; k += batches) {
+				int row = distinct[k];
+
+				distances[row] = new int[columns.length];
+				pathFinder.getDists(indexed, indexed.indexOf(sources.get(row)), columns, distances[row]);
+			}
+		});
+
+		for (int i = 0; i < distances.length; i++) {
+			distances[i] = distances[rows.get(indexed.indexOf(sources.get(i)))];
+		}
+	}
+
+	private void checkDistanceTableArgs(GraphView<E> graph, List<E> sources, List<E> targets) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (sources == null) {
+			throw new NullPointerException("sources is null");
+		}
+
+		if (targets == null) {
+			throw new NullPointerException("targets is null");
+		}
+
+		for (E source : sources) {
+			if (source == null) {
+				throw new NullPointerException("source is null");
+			}
+
+			if (!graph.getNodes().contains(source)) {
+				throw new IllegalArgumentException("source not found");
+			}
+		}
+
+		for (E target : targets) {
+			if (target == null) {
+				throw new NullPointerException("target is null");
+			}
+
+			if (!graph.getNodes().contains(target)) {
+				throw new IllegalArgumentException("target not found");
+			}
+		}
+	}
+
+	/**
+	 * @return The source nodes, in row order.
+	 */
+	public List<E> getSources() {
+		return sources;
+	}
+
+	/**
+	 * @return The target nodes, in column order.
+	 */
+	public List<E> getTargets() {
+		return targets;
+	}
+
+	/**
+	 * @param row
+	 *            the index of the source in {@link #getSources()}
+	 * @param column
+	 *            the index of the target in {@link #getTargets()}
+	 *
+	 * @return The distance from the given source to the given target or
+	 *         {@link Integer#MAX_VALUE} if the target is unreachable.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if row or column is out of range
+	 */
+	public int getDist(int row, int column) {
+		if (column < 0 || column >= targets.size()) {
+			throw new IndexOutOfBoundsException("column out of range");
+		}
+
+		return distances[row][column];
+	}
+
+	/**
+	 * @return A copy of the distance matrix, indexed by row and column (see
+	 *         {@link #getDist(int, int)}).
+	 */
+	public int[][] toArray() {
+		int[][] result = new int[distances.length][];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = Arrays.copyOf(distances[i], targets.size());
+		}
+
+		return result;
+	}
+}
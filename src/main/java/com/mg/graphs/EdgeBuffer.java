@@ -0,0 +1,180 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Sink buffering a graph in growable primitive arrays (edge i goes from
+ * {@link #getSource(int)} to {@link #getDestination(int)} with weight
+ * {@link #getWeight(int)}), so it can be replayed or built later without
+ * boxing.
+ */
+public final class EdgeBuffer implements EdgeSink {
+	private int nodes;
+	private boolean nodesAdded;
+	private int[] sources;
+	private int[] destinations;
+	private int[] weights;
+	private int size;
+
+	/**
+	 * Creates an empty buffer.
+	 */
+	public EdgeBuffer() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty buffer with room for the given number of edges.
+	 *
+	 * @param capacity
+	 *            the initial capacity
+	 *
+	 * @throws IllegalArgumentException
+	 *             if capacity is negative
+	 */
+	public EdgeBuffer(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity is negative");
+		}
+
+		sources = new int[capacity];
+		destinations = new int[capacity];
+		weights = new int[capacity];
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if count is negative
+	 * @throws IllegalStateException
+	 *             if the nodes were already added
+	 */
+	@Override
+	public void addNodes(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count is negative");
+		}
+
+		if (nodesAdded) {
+			throw new IllegalStateException("nodes already added");
+		}
+
+		nodes = count;
+		nodesAdded = true;
+	}
+
+	@Override
+	public void addEdge(int source, int destination, int weight) {
+		if (size == sources.length) {
+			int capacity = Math.max(16, size * 2);
+
+			sources = Arrays.copyOf(sources, capacity);
+			destinations = Arrays.copyOf(destinations, capacity);
+			weights = Arrays.copyOf(weights, capacity);
+		}
+
+		sources[size] = source;
+		destinations[size] = destination;
+		weights[size] = weight;
+		size++;
+	}
+
+	/**
+	 * @return The number of nodes (zero until they are added).
+	 */
+	public int getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return The number of edges.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param i
+	 *            the edge index
+	 *
+	 * @return The source of the given edge.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if i is not in [0, size())
+	 */
+	public int getSource(int i) {
+		checkIndex(i);
+
+		return sources[i];
+	}
+
+	/**
+	 * @param i
+	 *            the edge index
+	 *
+	 * @return The destination of the given edge.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if i is not in [0, size())
+	 */
+	public int getDestination(int i) {
+		checkIndex(i);
+
+		return destinations[i];
+	}
+
+	/**
+	 * @param i
+	 *            the edge index
+	 *
+	 * @return The weight of the given edge.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if i is not in [0, size())
+	 */
+	public int getWeight(int i) {
+		checkIndex(i);
+
+		return weights[i];
+	}
+
+	private void checkIndex(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("edge not found");
+		}
+	}
+
+	/**
+	 * @return A copy of the sources of the edges.
+	 */
+	public int[] getSources() {
+		return Arrays.copyOf(sources, size);
+	}
+
+	/**
+	 * @return A copy of the destinations of the edges.
+	 */
+	public int[] getDestinations() {
+		return Arrays.copyOf(destinations, size);
+	}
+
+	/**
+	 * @return A copy of the weights of the edges.
+	 */
+	public int[] getWeights() {
+		return Arrays.copyOf(weights, size);
+	}
+
+	/**
+	 * Builds a graph with the buffered nodes and edges (see
+	 * {@link GraphBuilder#build(int, int[], int[], int[])}).
+	 *
+	 * @return The new graph.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the buffered edges break the rules of
+	 *             {@link GraphBuilder#build(int, int[], int[], int[])}
+	 */
+	public Graph<Integer> build() {
+		return GraphBuilder.build(nodes, getSources(), getDestinations(), getWeights());
+	}
+}
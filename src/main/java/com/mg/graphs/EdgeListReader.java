@@ -0,0 +1,90 @@
+package com.mg.graphs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the files written by {@link EdgeListWriter}, streaming their nodes and
+ * edges into a sink.
+ */
+public final class EdgeListReader {
+	private EdgeListReader() {
+	}
+
+	/**
+	 * Reads a graph from a file.
+	 *
+	 * @param path
+	 *            the file path
+	 * @param sink
+	 *            the sink receiving the nodes and edges
+	 *
+	 * @throws NullPointerException
+	 *             if path is null
+	 * @throws NullPointerException
+	 *             if sink is null
+	 * @throws IOException
+	 *             if the file cannot be read or it is malformed
+	 */
+	public static void read(Path path, EdgeSink sink) throws IOException {
+		if (path == null) {
+			throw new NullPointerException("path is null");
+		}
+
+		if (sink == null) {
+			throw new NullPointerException("sink is null");
+		}
+
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+			String line = reader.readLine();
+
+			if (line == null) {
+				throw new IOException("missing node count");
+			}
+
+			sink.addNodes(parse(line, 0, line.length()));
+
+			while ((line = reader.readLine()) != null) {
+				int first = line.indexOf(' ');
+				int second = line.indexOf(' ', first + 1);
+
+				if (first < 0 || second < 0) {
+					throw new IOException("malformed edge: " + line);
+				}
+
+				sink.addEdge(parse(line, 0, first), parse(line, first + 1, second),
+						parse(line, second + 1, line.length()));
+			}
+		}
+	}
+
+	/**
+	 * Parses a non negative int without creating substrings.
+	 */
+	private static int parse(String line, int start, int end) throws IOException {
+		if (start == end || end - start > 10) {
+			throw new IOException("malformed number: " + line);
+		}
+
+		long value = 0;
+
+		for (int i = start; i < end; i++) {
+			char c = line.charAt(i);
+
+			if (c < '0' || c > '9') {
+				throw new IOException("malformed number: " + line);
+			}
+
+			value = value * 10 + (c - '0');
+		}
+
+		if (value > Integer.MAX_VALUE) {
+			throw new IOException("malformed number: " + line);
+		}
+
+		return (int) value;
+	}
+}
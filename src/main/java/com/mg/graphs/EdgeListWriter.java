@@ -0,0 +1,74 @@
+package com.mg.graphs;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sink writing a graph to a text file: the number of nodes in the first line
+ * and then one edge per line (source, destination and weight separated by
+ * spaces). It can be read back with {@link EdgeListReader}.
+ */
+public class EdgeListWriter implements EdgeSink, Closeable {
+	private final BufferedWriter writer;
+
+	/**
+	 * Creates (or truncates) the given file.
+	 *
+	 * @param path
+	 *            the file path
+	 *
+	 * @throws NullPointerException
+	 *             if path is null
+	 * @throws IOException
+	 *             if the file cannot be created
+	 */
+	public EdgeListWriter(Path path) throws IOException {
+		if (path == null) {
+			throw new NullPointerException("path is null");
+		}
+
+		writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * @throws UncheckedIOException
+	 *             if the file cannot be written
+	 */
+	@Override
+	public void addNodes(int count) {
+		try {
+			writer.write(Integer.toString(count));
+			writer.newLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @throws UncheckedIOException
+	 *             if the file cannot be written
+	 */
+	@Override
+	public void addEdge(int source, int destination, int weight) {
+		try {
+			writer.write(Integer.toString(source));
+			writer.write(' ');
+			writer.write(Integer.toString(destination));
+			writer.write(' ');
+			writer.write(Integer.toString(weight));
+			writer.newLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+}
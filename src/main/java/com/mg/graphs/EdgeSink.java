@@ -0,0 +1,88 @@
+package com.mg.graphs;
+
+/**
+ * Receives a graph one node count and one edge at a time, so generated or
+ * loaded graphs can be streamed into their destination (see
+ * {@link GraphGenerators} and {@link EdgeListReader}). Nodes are the ints in
+ * [0, count).
+ */
+public interface EdgeSink {
+	/**
+	 * Adds the nodes 0, 1, ..., count - 1. It is called once, before any edge
+	 * is added.
+	 *
+	 * @param count
+	 *            the number of nodes
+	 */
+	void addNodes(int count);
+
+	/**
+	 * Adds an edge (edges are never repeated and never loops).
+	 *
+	 * @param source
+	 *            source node
+	 * @param destination
+	 *            destination node
+	 * @param weight
+	 *            edge weight (at least one)
+	 */
+	void addEdge(int source, int destination, int weight);
+
+	/**
+	 * @param graph
+	 *            the graph reference
+	 *
+	 * @return A sink adding the nodes and edges to the given graph.
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 */
+	static EdgeSink of(Graph<Integer> graph) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		return new EdgeSink() {
+			@Override
+			public void addNodes(int count) {
+				for (int node = 0; node < count; node++) {
+					graph.addNode(node);
+				}
+			}
+
+			@Override
+			public void addEdge(int source, int destination, int weight) {
+				graph.addEdge(source, destination, weight);
+			}
+		};
+	}
+
+	/**
+	 * @param graph
+	 *            the graph reference
+	 *
+	 * @return A sink adding the nodes and edges to the given graph.
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 */
+	static EdgeSink of(IntGraph graph) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		return new EdgeSink() {
+			@Override
+			public void addNodes(int count) {
+				for (int node = 0; node < count; node++) {
+					graph.addNode(node);
+				}
+			}
+
+			@Override
+			public void addEdge(int source, int destination, int weight) {
+				graph.addEdge(source, destination, weight);
+			}
+		};
+	}
+}
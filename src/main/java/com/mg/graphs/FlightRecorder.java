@@ -0,0 +1,81 @@
+package com.mg.graphs;
+
+import jdk.jfr.EventType;
+
+/**
+ * Publishes {@link PathSearchEvent}s when the JDK Flight Recorder is present.
+ * Java 8 runtimes before 8u262 (and some non-OpenJDK builds) lack jdk.jfr, so
+ * no other class of this package refers to it: the searchers keep their event
+ * as an {@link Object} and only call here once {@link #AVAILABLE} is true.
+ */
+final class FlightRecorder {
+	/**
+	 * Whether jdk.jfr can be loaded (checked once).
+	 */
+	static final boolean AVAILABLE = isAvailable("jdk.jfr.Event");
+
+	private FlightRecorder() {
+	}
+
+	/**
+	 * Checks whether a class can be loaded by the loader of this package.
+	 *
+	 * @param className
+	 *            the binary name of the class
+	 *
+	 * @return True if the class can be loaded.
+	 */
+	static boolean isAvailable(String className) {
+		try {
+			Class.forName(className, false, FlightRecorder.class.getClassLoader());
+
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Begins an event timing a search, if a running recording enables it.
+	 * Must only be called when {@link #AVAILABLE} is true.
+	 *
+	 * @return The event to pass to
+	 *         {@link #commit(Object, String, long, long, long, long, long)} or
+	 *         null if it is disabled (nothing is allocated then).
+	 */
+	static Object begin() {
+		if (!Registration.TYPE.isEnabled()) {
+			return null;
+		}
+
+		PathSearchEvent event = new PathSearchEvent();
+
+		event.begin();
+
+		return event;
+	}
+
+	/**
+	 * Commits an event returned by {@link #begin()}.
+	 */
+	static void commit(Object started, String operation, long nodesSettled, long edgesRelaxed,
+			long queueOperations, long predecessorTies, long pathsEnumerated) {
+		PathSearchEvent event = (PathSearchEvent) started;
+
+		event.operation = operation;
+		event.nodesSettled = nodesSettled;
+		event.edgesRelaxed = edgesRelaxed;
+		event.queueOperations = queueOperations;
+		event.predecessorTies = predecessorTies;
+		event.pathsEnumerated = pathsEnumerated;
+		event.commit();
+	}
+
+	/**
+	 * Holds the registered event type, initialized on the first search run
+	 * with jdk.jfr available.
+	 */
+	private static final class Registration {
+		static final EventType TYPE = EventType.getEventType(PathSearchEvent.class);
+	}
+}
@@ -1,129 +1,574 @@
-package com.mg.graphs;
-
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-
-/**
- * Directed graph with weighted edges.
- * 
- * @param <E>
- *            the type of elements maintained by this graph
- */
-public class Graph<E> {
-	/**
-	 * Maps each node to its outbound edges.
-	 */
-	private Map<E, Set<Edge<E>>> edges;
-
-	/**
-	 * Creates an empty graph.
-	 */
-	public Graph() {
-		edges = new HashMap<>();
-	}
-
-	/**
-	 * Adds a node to this graph.
-	 * 
-	 * @param node
-	 *            element to be added to this graph
-	 * 
-	 * @throws NullPointerException
-	 *             if node is null
-	 * @throws IllegalArgumentException
-	 *             if the graph already contains the given node
-	 */
-	public void addNode(E node) {
-		checkAddNodeArgs(node);
-
-		edges.put(node, new HashSet<>());
-	}
-
-	private void checkAddNodeArgs(E node) {
-		if (node == null) {
-			throw new NullPointerException("node is null");
-		}
-
-		if (edges.containsKey(node)) {
-			throw new IllegalArgumentException("already existing node");
-		}
-	}
-
-	/**
-	 * Adds an edge to this graph.
-	 * 
-	 * @param source
-	 *            source node
-	 * @param destination
-	 *            destination node
-	 * @param weight
-	 *            edge weight
-	 * 
-	 * @throws NullPointerException
-	 *             if source is null
-	 * @throws NullPointerException
-	 *             if destination is null
-	 * @throws IllegalArgumentException
-	 *             if weight is less than one
-	 * @throws IllegalArgumentException
-	 *             if source is equal to destination (no loops allowed)
-	 * @throws IllegalArgumentException
-	 *             if source does not belong to this graph
-	 * @throws IllegalArgumentException
-	 *             if destination does not belong to this graph
-	 * @throws IllegalArgumentException
-	 *             if this graph already contains an edge with this source and
-	 *             destination
-	 */
-	public void addEdge(E source, E destination, int weight) {
-		checkAddEdgeArgs(source, destination, weight);
-
-		edges.get(source).add(new Edge<E>(source, destination, weight));
-	}
-
-	private void checkAddEdgeArgs(E source, E destination, int weight) {
-		if (source == null) {
-			throw new NullPointerException("source is null");
-		}
-
-		if (destination == null) {
-			throw new NullPointerException("destination is null");
-		}
-
-		if (weight < 1) {
-			throw new IllegalArgumentException("weight is less than one");
-		}
-
-		if (source.equals(destination)) {
-			throw new IllegalArgumentException("source is equal to destination");
-		}
-
-		if (!edges.containsKey(source)) {
-			throw new IllegalArgumentException("source not found");
-		}
-
-		if (!edges.containsKey(destination)) {
-			throw new IllegalArgumentException("destination not found");
-		}
-
-		if (edges.get(source).stream().filter((edge) -> edge.getDestination().equals(destination)).count() > 0) {
-			throw new IllegalArgumentException("already existing edge");
-		}
-	}
-
-	/**
-	 * Gets all the nodes of this graph.
-	 */
-	Set<E> getNodes() {
-		return edges.keySet();
-	}
-
-	/**
-	 * Gets all the outbound edges for a given node.
-	 */
-	Set<Edge<E>> getOutboundEdges(E node) {
-		return edges.get(node);
-	}
-}
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Directed graph with weighted edges.
+ * <p>
+ * Removing a node or an edge keeps the array-based snapshot searched by
+ * {@link PathFinder}: the removed entries become tombstones which the
+ * searches skip. Once they exceed {@link #COMPACTION_THRESHOLD} of the
+ * snapshot, a compacted snapshot is built in the background while the
+ * searches go on with the current one, and it replaces it (with the removals
+ * made meanwhile reapplied) at the next operation after it is ready.
+ * </p>
+ * 
+ * @param <E>
+ *            the type of elements maintained by this graph
+ */
+public class Graph<E> extends GraphView<E> {
+	/**
+	 * Size of a graph, without its maps and its snapshot.
+	 */
+	static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(Graph.class);
+
+	/**
+	 * Share of removed nodes and edges in the snapshot which triggers its
+	 * compaction.
+	 */
+	public static final double COMPACTION_THRESHOLD = 0.25;
+
+	/**
+	 * Maps each node to its outbound edges (null while a graph built by
+	 * {@link GraphBuilder} is only held by its snapshot).
+	 */
+	private Map<E, Set<Edge<E>>> edges;
+	/**
+	 * Maps each node to its inbound edges (null until they are first
+	 * requested, then kept up to date by every modification).
+	 */
+	private Map<E, Set<Edge<E>>> inboundEdges;
+	/**
+	 * Array-based snapshot of this graph (null until it is requested and
+	 * after every modification).
+	 */
+	private IndexedGraph<E> indexed;
+	/**
+	 * Compaction of the snapshot running in the background (null if none).
+	 */
+	private CompletableFuture<IndexedGraph<E>> compaction;
+	/**
+	 * Removals made since the running compaction started, to be reapplied to
+	 * its result.
+	 */
+	private final List<Removal<E>> removals;
+
+	/**
+	 * Creates an empty graph.
+	 */
+	public Graph() {
+		edges = new HashMap<>();
+		inboundEdges = null;
+		indexed = null;
+		compaction = null;
+		removals = new ArrayList<>();
+	}
+
+	/**
+	 * Creates a graph held by the given snapshot (see {@link GraphBuilder}).
+	 * Searches run on the snapshot, and the maps of the edges are only
+	 * created by the first call which needs them.
+	 */
+	Graph(IndexedGraph<E> indexed) {
+		this.edges = null;
+		this.inboundEdges = null;
+		this.indexed = indexed;
+		this.compaction = null;
+		this.removals = new ArrayList<>();
+	}
+
+	/**
+	 * Adds a node to this graph.
+	 * 
+	 * @param node
+	 *            element to be added to this graph
+	 * 
+	 * @throws NullPointerException
+	 *             if node is null
+	 * @throws IllegalArgumentException
+	 *             if the graph already contains the given node
+	 */
+	public void addNode(E node) {
+		checkAddNodeArgs(node);
+
+		edges().put(node, new HashSet<>());
+
+		if (inboundEdges != null) {
+			inboundEdges.put(node, new HashSet<>());
+		}
+
+		invalidate();
+	}
+
+	private void checkAddNodeArgs(E node) {
+		if (node == null) {
+			throw new NullPointerException("node is null");
+		}
+
+		if (getNodes().contains(node)) {
+			throw new IllegalArgumentException("already existing node");
+		}
+	}
+
+	/**
+	 * Adds an edge to this graph.
+	 * 
+	 * @param source
+	 *            source node
+	 * @param destination
+	 *            destination node
+	 * @param weight
+	 *            edge weight
+	 * 
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if weight is less than one
+	 * @throws IllegalArgumentException
+	 *             if source is equal to destination (no loops allowed)
+	 * @throws IllegalArgumentException
+	 *             if source does not belong to this graph
+	 * @throws IllegalArgumentException
+	 *             if destination does not belong to this graph
+	 * @throws IllegalArgumentException
+	 *             if this graph already contains an edge with this source and
+	 *             destination
+	 */
+	public void addEdge(E source, E destination, int weight) {
+		checkAddEdgeArgs(source, destination, weight);
+
+		Edge<E> edge = new Edge<E>(source, destination, weight);
+
+		edges().get(source).add(edge);
+
+		if (inboundEdges != null) {
+			inboundEdges.get(destination).add(edge);
+		}
+
+		invalidate();
+	}
+
+	private void checkAddEdgeArgs(E source, E destination, int weight) {
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (weight < 1) {
+			throw new IllegalArgumentException("weight is less than one");
+		}
+
+		if (source.equals(destination)) {
+			throw new IllegalArgumentException("source is equal to destination");
+		}
+
+		if (!getNodes().contains(source)) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (!getNodes().contains(destination)) {
+			throw new IllegalArgumentException("destination not found");
+		}
+
+		if (edges().get(source).stream().filter((edge) -> edge.getDestination().equals(destination)).count() > 0) {
+			throw new IllegalArgumentException("already existing edge");
+		}
+	}
+
+	/**
+	 * Removes a node and its edges from this graph. The first removal builds
+	 * the inbound edges (see {@link #getInboundEdges(Object)}), and then it
+	 * takes time proportional to the degree of the node.
+	 * 
+	 * @param node
+	 *            element to be removed from this graph
+	 * 
+	 * @throws NullPointerException
+	 *             if node is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the given node
+	 */
+	public void removeNode(E node) {
+		checkRemoveNodeArgs(node);
+
+		Set<Edge<E>> inbound = getInboundEdges(node);
+
+		for (Edge<E> edge : edges().get(node)) {
+			inboundEdges.get(edge.getDestination()).remove(edge);
+		}
+
+		for (Edge<E> edge : inbound) {
+			edges.get(edge.getSource()).remove(edge);
+		}
+
+		edges.remove(node);
+		inboundEdges.remove(node);
+
+		if (indexed != null) {
+			pollCompaction();
+			indexed = indexed.withoutNode(indexed.indexOf(node));
+			removed(new Removal<>(node, null));
+		}
+	}
+
+	private void checkRemoveNodeArgs(E node) {
+		if (node == null) {
+			throw new NullPointerException("node is null");
+		}
+
+		if (!getNodes().contains(node)) {
+			throw new IllegalArgumentException("node not found");
+		}
+	}
+
+	/**
+	 * Removes an edge from this graph, in time proportional to the degrees of
+	 * its ends.
+	 * 
+	 * @param source
+	 *            source node
+	 * @param destination
+	 *            destination node
+	 * 
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if source does not belong to this graph
+	 * @throws IllegalArgumentException
+	 *             if destination does not belong to this graph
+	 * @throws IllegalArgumentException
+	 *             if this graph does not contain an edge with this source and
+	 *             destination
+	 */
+	public void removeEdge(E source, E destination) {
+		Edge<E> edge = checkRemoveEdgeArgs(source, destination);
+
+		edges.get(source).remove(edge);
+
+		if (inboundEdges != null) {
+			inboundEdges.get(destination).remove(edge);
+		}
+
+		if (indexed != null) {
+			pollCompaction();
+			indexed = indexed.withoutEdge(indexed.indexOf(source), indexed.indexOf(destination));
+			removed(new Removal<>(source, destination));
+		}
+	}
+
+	private Edge<E> checkRemoveEdgeArgs(E source, E destination) {
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (!getNodes().contains(source)) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (!getNodes().contains(destination)) {
+			throw new IllegalArgumentException("destination not found");
+		}
+
+		for (Edge<E> edge : edges().get(source)) {
+			if (edge.getDestination().equals(destination)) {
+				return edge;
+			}
+		}
+
+		throw new IllegalArgumentException("edge not found");
+	}
+
+	/**
+	 * Records a removal applied to the snapshot, and starts a compaction if
+	 * there is too much garbage.
+	 */
+	private void removed(Removal<E> removal) {
+		if (compaction != null) {
+			removals.add(removal);
+		} else if (indexed.getGarbageRatio() > COMPACTION_THRESHOLD) {
+			IndexedGraph<E> snapshot = indexed;
+
+			compaction = CompletableFuture.supplyAsync(snapshot::compact);
+		}
+	}
+
+	/**
+	 * Replaces the snapshot by the result of the background compaction if it
+	 * is ready, reapplying the removals made since it started.
+	 */
+	private void pollCompaction() {
+		CompletableFuture<IndexedGraph<E>> task = compaction;
+
+		if (task == null || !task.isDone()) {
+			return;
+		}
+
+		compaction = null;
+
+		if (!task.isCompletedExceptionally()) {
+			IndexedGraph<E> result = task.join();
+
+			for (Removal<E> removal : removals) {
+				result = removal.destination == null ? result.withoutNode(result.indexOf(removal.source))
+						: result.withoutEdge(result.indexOf(removal.source), result.indexOf(removal.destination));
+			}
+
+			indexed = result;
+		}
+
+		removals.clear();
+	}
+
+	/**
+	 * Discards the snapshot and its compaction after an addition.
+	 */
+	private void invalidate() {
+		indexed = null;
+		compaction = null;
+		removals.clear();
+	}
+
+	/**
+	 * Compacts the snapshot now, without waiting for the background
+	 * compaction, so it has no tombstones left.
+	 */
+	public void compact() {
+		compacted();
+	}
+
+	/**
+	 * @return The share of the snapshot taken by removed nodes and edges,
+	 *         which triggers the compaction above
+	 *         {@link #COMPACTION_THRESHOLD} (0 if there is no snapshot).
+	 */
+	double getGarbageRatio() {
+		pollCompaction();
+
+		return indexed != null ? indexed.getGarbageRatio() : 0;
+	}
+
+	/**
+	 * Estimates the heap size of this graph: the maps of the outbound edges,
+	 * the inbound ones if they were built, and the array-based snapshot if it
+	 * is cached (a search builds it). The nodes are not counted, and the maps
+	 * are sized as if they were grown by additions.
+	 * 
+	 * @return The footprint of this graph.
+	 */
+	@Override
+	public MemoryFootprint getFootprint() {
+		long nodeBytes = 0;
+		long edgeBytes = 0;
+		long edgeCount = 0;
+
+		if (edges != null) {
+			nodeBytes += MemoryLayout.hashMapBytes(edges.size());
+
+			for (Set<Edge<E>> outbound : edges.values()) {
+				nodeBytes += MemoryLayout.hashSetBytes(0);
+				edgeBytes += MemoryLayout.hashSetBytes(outbound.size()) - MemoryLayout.hashSetBytes(0)
+						+ outbound.size() * Edge.INSTANCE_BYTES;
+				edgeCount += outbound.size();
+			}
+		} else {
+			edgeCount = indexed.edgeCount();
+		}
+
+		if (inboundEdges != null) {
+			nodeBytes += MemoryLayout.hashMapBytes(inboundEdges.size());
+
+			for (Set<Edge<E>> inbound : inboundEdges.values()) {
+				nodeBytes += MemoryLayout.hashSetBytes(0);
+				edgeBytes += MemoryLayout.hashSetBytes(inbound.size()) - MemoryLayout.hashSetBytes(0);
+			}
+		}
+
+		// this object and the list of the removals
+		long fixedBytes = INSTANCE_BYTES + MemoryLayout.objectBytes(1, 8);
+		MemoryFootprint result = new MemoryFootprint("Graph", getNodes().size(), edgeCount, nodeBytes, edgeBytes,
+				fixedBytes);
+
+		return indexed != null ? result.plus(indexed.getFootprint()) : result;
+	}
+
+	/**
+	 * Estimates the heap size of a graph with the given number of nodes and
+	 * edges, built by additions and searched (see {@link #getFootprint()}),
+	 * assuming the edges are spread evenly among the nodes and not counting
+	 * the inbound edges. See {@link GraphBuilder#estimateFootprint(int, long)}
+	 * for a graph built in bulk.
+	 * 
+	 * @param nodes
+	 *            the number of nodes
+	 * @param edges
+	 *            the number of edges
+	 * 
+	 * @return The estimated footprint.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if nodes or edges is negative
+	 */
+	public static MemoryFootprint estimateFootprint(int nodes, long edges) {
+		checkEstimateFootprintArgs(nodes, edges);
+
+		long nodeBytes = MemoryLayout.hashMapBytes(nodes) + nodes * MemoryLayout.hashSetBytes(0);
+		long edgeBytes = edges * Edge.INSTANCE_BYTES;
+
+		if (nodes > 0) {
+			long degree = edges / nodes;
+			long higher = edges % nodes;
+
+			// higher nodes have one more edge than the others
+			edgeBytes += (nodes - higher) * (MemoryLayout.hashSetBytes(degree) - MemoryLayout.hashSetBytes(0))
+					+ higher * (MemoryLayout.hashSetBytes(degree + 1) - MemoryLayout.hashSetBytes(0));
+		}
+
+		long fixedBytes = INSTANCE_BYTES + MemoryLayout.objectBytes(1, 8);
+
+		return new MemoryFootprint("Graph", nodes, edges, nodeBytes, edgeBytes, fixedBytes)
+				.plus(IndexedGraph.estimateFootprint(nodes, edges));
+	}
+
+	static void checkEstimateFootprintArgs(int nodes, long edges) {
+		if (nodes < 0) {
+			throw new IllegalArgumentException("nodes is negative");
+		}
+
+		if (edges < 0) {
+			throw new IllegalArgumentException("edges is negative");
+		}
+	}
+
+	/**
+	 * Gets the map of the outbound edges, creating it from the snapshot if
+	 * this graph was built in bulk.
+	 */
+	private Map<E, Set<Edge<E>>> edges() {
+		if (edges == null) {
+			IndexedGraph<E> snapshot = indexed;
+			int[] offsets = snapshot.getOutOffsets();
+			int[] targets = snapshot.getOutTargets();
+			int[] weights = snapshot.getOutWeights();
+			Map<E, Set<Edge<E>>> result = new HashMap<>(snapshot.size() * 4 / 3 + 1);
+
+			for (int i = 0; i < snapshot.size(); i++) {
+				E node = snapshot.getNode(i);
+				Set<Edge<E>> outbound = new HashSet<>((offsets[i + 1] - offsets[i]) * 4 / 3 + 1);
+
+				for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+					outbound.add(new Edge<>(node, snapshot.getNode(targets[e]), weights[e]));
+				}
+
+				result.put(node, outbound);
+			}
+
+			edges = result;
+		}
+
+		return edges;
+	}
+
+	@Override
+	Set<E> getNodes() {
+		return edges != null ? edges.keySet() : indexed.getNodes();
+	}
+
+	@Override
+	Set<Edge<E>> getOutboundEdges(E node) {
+		return edges().get(node);
+	}
+
+	/**
+	 * Gets all the inbound edges for a given node. The reverse adjacency is
+	 * built on the first call (in time proportional to the size of the
+	 * graph) and then maintained by every modification, so graphs which are
+	 * never searched backwards do not pay for it.
+	 */
+	Set<Edge<E>> getInboundEdges(E node) {
+		if (inboundEdges == null) {
+			Map<E, Set<Edge<E>>> result = new HashMap<>();
+
+			for (E each : getNodes()) {
+				result.put(each, new HashSet<>());
+			}
+
+			for (E each : getNodes()) {
+				for (Edge<E> edge : getOutboundEdges(each)) {
+					result.get(edge.getDestination()).add(edge);
+				}
+			}
+
+			inboundEdges = result;
+		}
+
+		return inboundEdges.get(node);
+	}
+
+	/**
+	 * Gets an array-based snapshot of this graph, whose cursors skip the nodes
+	 * and edges removed since it was built. The snapshot is cached until the
+	 * next modification (a removal derives the next one in constant time).
+	 */
+	@Override
+	IndexedGraph<E> indexed() {
+		pollCompaction();
+
+		IndexedGraph<E> result = indexed;
+
+		if (result == null) {
+			result = new IndexedGraph<>(this);
+			indexed = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gets an array-based snapshot of this graph without tombstones, for the
+	 * code reading its arrays directly. If nodes or edges were removed since
+	 * the last compaction, the snapshot is compacted first.
+	 */
+	@Override
+	IndexedGraph<E> compacted() {
+		IndexedGraph<E> result = indexed();
+
+		if (!result.isCompact()) {
+			result = result.compact();
+			indexed = result;
+			compaction = null;
+			removals.clear();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Node (with a null destination) or edge removed from a graph.
+	 */
+	private static final class Removal<E> {
+		private final E source;
+		private final E destination;
+
+		Removal(E source, E destination) {
+			this.source = source;
+			this.destination = destination;
+		}
+	}
+}
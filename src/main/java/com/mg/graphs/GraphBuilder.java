@@ -0,0 +1,393 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a {@link Graph} from many edges at once, much faster than
+ * {@link Graph#addEdge(Object, Object, int)} (which looks up both nodes and
+ * scans the outbound edges of the source for every edge).
+ * <p>
+ * The edges are only buffered until {@link #build()}, which interns the nodes
+ * in parallel, validates every edge in bulk, buckets the edges by source and
+ * sorts each bucket by target in parallel, dropping the repeated edges (the
+ * lightest one is kept). The result is held by its array-based snapshot, so
+ * it can be searched right away and the maps of a graph are only created if
+ * it is modified afterwards.
+ * </p>
+ *
+ * <pre>
+ * GraphBuilder&lt;String&gt; builder = new GraphBuilder&lt;&gt;();
+ *
+ * builder.addEdge("a", "b", 3);
+ * ...
+ * Graph&lt;String&gt; graph = builder.build();
+ * </pre>
+ *
+ * @param <E>
+ *            the type of elements maintained by the built graph
+ */
+public class GraphBuilder<E> {
+	/**
+	 * Nodes added by {@link #addNode(Object)}.
+	 */
+	private Object[] nodes;
+	private int nodeCount;
+	/**
+	 * Buffered edges.
+	 */
+	private Object[] sources;
+	private Object[] destinations;
+	private int[] weights;
+	private int edgeCount;
+
+	/**
+	 * Creates an empty builder.
+	 */
+	public GraphBuilder() {
+		nodes = new Object[16];
+		nodeCount = 0;
+		sources = new Object[16];
+		destinations = new Object[16];
+		weights = new int[16];
+		edgeCount = 0;
+	}
+
+	/**
+	 * Adds a node to the graph (the nodes of the edges are added anyway, so
+	 * this is only needed for the nodes without edges). Repeated nodes are
+	 * merged.
+	 *
+	 * @param node
+	 *            element to be added to the graph
+	 *
+	 * @throws NullPointerException
+	 *             if node is null
+	 */
+	public void addNode(E node) {
+		if (node == null) {
+			throw new NullPointerException("node is null");
+		}
+
+		if (nodeCount == nodes.length) {
+			nodes = Arrays.copyOf(nodes, nodeCount * 2);
+		}
+
+		nodes[nodeCount++] = node;
+	}
+
+	/**
+	 * Adds an edge to the graph, adding its nodes if needed. The rules of
+	 * {@link Graph#addEdge(Object, Object, int)} are checked by
+	 * {@link #build()}, except that repeated edges are merged.
+	 *
+	 * @param source
+	 *            source node
+	 * @param destination
+	 *            destination node
+	 * @param weight
+	 *            edge weight
+	 *
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 */
+	public void addEdge(E source, E destination, int weight) {
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (edgeCount == weights.length) {
+			sources = Arrays.copyOf(sources, edgeCount * 2);
+			destinations = Arrays.copyOf(destinations, edgeCount * 2);
+			weights = Arrays.copyOf(weights, edgeCount * 2);
+		}
+
+		sources[edgeCount] = source;
+		destinations[edgeCount] = destination;
+		weights[edgeCount] = weight;
+		edgeCount++;
+	}
+
+	/**
+	 * Builds a graph with the added nodes and edges (the builder can still be
+	 * used afterwards).
+	 *
+	 * @return The new graph.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the weight of an edge is less than one
+	 * @throws IllegalArgumentException
+	 *             if the source of an edge is equal to its destination (no
+	 *             loops allowed)
+	 */
+	public Graph<E> build() {
+		// intern the nodes: the added ones in order, then the others in the
+		// order of their first occurrence in the edges, so the ids do not
+		// depend on the scheduling of the workers
+		ConcurrentHashMap<Object, Integer> ids = new ConcurrentHashMap<>(Math.max(16, nodeCount * 4 / 3 + 1));
+		int added = 0;
+
+		for (int i = 0; i < nodeCount; i++) {
+			if (ids.putIfAbsent(nodes[i], added) == null) {
+				added++;
+			}
+		}
+
+		// find the first occurrence of each other node in parallel (two per
+		// edge, the source first), then number them in that order
+		ConcurrentHashMap<Object, Long> first = new ConcurrentHashMap<>();
+
+		IntStream.range(0, edgeCount).parallel().forEach((i) -> {
+			if (!ids.containsKey(sources[i])) {
+				first.merge(sources[i], (long) i << 1, Math::min);
+			}
+
+			if (!ids.containsKey(destinations[i])) {
+				first.merge(destinations[i], ((long) i << 1) | 1, Math::min);
+			}
+		});
+
+		long[] occurrences = first.values().stream().mapToLong(Long::longValue).toArray();
+
+		Arrays.parallelSort(occurrences);
+
+		Object[] result = new Object[added + occurrences.length];
+		int base = added;
+
+		ids.forEach((node, id) -> result[id] = node);
+		IntStream.range(0, occurrences.length).parallel().forEach((k) -> {
+			int i = (int) (occurrences[k] >>> 1);
+			Object node = (occurrences[k] & 1) == 0 ? sources[i] : destinations[i];
+
+			result[base + k] = node;
+			ids.put(node, base + k);
+		});
+
+		int[] sourceIds = new int[edgeCount];
+		int[] destinationIds = new int[edgeCount];
+
+		IntStream.range(0, edgeCount).parallel().forEach((i) -> {
+			sourceIds[i] = ids.get(sources[i]);
+			destinationIds[i] = ids.get(destinations[i]);
+		});
+
+		return build(result, sourceIds, destinationIds, Arrays.copyOf(weights, edgeCount));
+	}
+
+	/**
+	 * Builds a graph whose nodes are the ints in [0, nodes) from edges given
+	 * as primitive arrays (edge i goes from sources[i] to destinations[i] with
+	 * weight weights[i]). Repeated edges are merged, keeping the lightest one.
+	 *
+	 * @param nodes
+	 *            the number of nodes
+	 * @param sources
+	 *            the source of each edge
+	 * @param destinations
+	 *            the destination of each edge
+	 * @param weights
+	 *            the weight of each edge
+	 *
+	 * @return The new graph.
+	 *
+	 * @throws NullPointerException
+	 *             if sources, destinations or weights is null
+	 * @throws IllegalArgumentException
+	 *             if nodes is negative or the arrays have different lengths
+	 * @throws IllegalArgumentException
+	 *             if the weight of an edge is less than one
+	 * @throws IllegalArgumentException
+	 *             if the source of an edge is equal to its destination (no
+	 *             loops allowed)
+	 * @throws IllegalArgumentException
+	 *             if the source or the destination of an edge is not in [0,
+	 *             nodes)
+	 */
+	public static Graph<Integer> build(int nodes, int[] sources, int[] destinations, int[] weights) {
+		checkBuildArgs(nodes, sources, destinations, weights);
+
+		Object[] result = new Object[nodes];
+
+		Arrays.parallelSetAll(result, Integer::valueOf);
+
+		return build(result, sources, destinations, weights);
+	}
+
+	private static void checkBuildArgs(int nodes, int[] sources, int[] destinations, int[] weights) {
+		if (sources == null) {
+			throw new NullPointerException("sources is null");
+		}
+
+		if (destinations == null) {
+			throw new NullPointerException("destinations is null");
+		}
+
+		if (weights == null) {
+			throw new NullPointerException("weights is null");
+		}
+
+		if (nodes < 0) {
+			throw new IllegalArgumentException("nodes is negative");
+		}
+
+		if (sources.length != destinations.length || sources.length != weights.length) {
+			throw new IllegalArgumentException("arrays of different lengths");
+		}
+	}
+
+	/**
+	 * Builds a graph from the nodes and edges a generator streams into a sink
+	 * (see {@link GraphGenerators}), buffering them in an {@link EdgeBuffer}.
+	 *
+	 * @param generator
+	 *            the generator, called once with the sink
+	 *
+	 * @return The new graph.
+	 *
+	 * @throws NullPointerException
+	 *             if generator is null
+	 * @throws IllegalArgumentException
+	 *             if the generated edges break the rules of
+	 *             {@link #build(int, int[], int[], int[])}
+	 */
+	public static Graph<Integer> build(Consumer<EdgeSink> generator) {
+		if (generator == null) {
+			throw new NullPointerException("generator is null");
+		}
+
+		EdgeBuffer buffer = new EdgeBuffer();
+
+		generator.accept(buffer);
+
+		return buffer.build();
+	}
+
+	/**
+	 * Estimates the heap size of a graph built in bulk with the given number of
+	 * nodes and edges, which is held by its array-based snapshot until it is
+	 * modified (see {@link Graph#estimateFootprint(int, long)} for a graph
+	 * built by additions). The nodes are not counted.
+	 *
+	 * @param nodes
+	 *            the number of nodes
+	 * @param edges
+	 *            the number of edges
+	 *
+	 * @return The estimated footprint.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if nodes or edges is negative
+	 */
+	public static MemoryFootprint estimateFootprint(int nodes, long edges) {
+		Graph.checkEstimateFootprintArgs(nodes, edges);
+
+		return new MemoryFootprint("GraphBuilder", nodes, edges, 0, 0, Graph.INSTANCE_BYTES
+				+ MemoryLayout.objectBytes(1, 8)).plus(IndexedGraph.estimateFootprint(nodes, edges));
+	}
+
+	/**
+	 * Validates the edges, then sorts them into the compressed sparse row form
+	 * of the snapshot.
+	 */
+	private static <E> Graph<E> build(Object[] nodes, int[] sources, int[] destinations, int[] weights) {
+		int size = nodes.length;
+		int edges = sources.length;
+
+		validate(size, sources, destinations, weights);
+
+		// bucket the edges by source: count, then place each one (target and
+		// weight packed in a long, so sorting a bucket sorts by target first)
+		AtomicIntegerArray counts = new AtomicIntegerArray(size + 1);
+
+		IntStream.range(0, edges).parallel().forEach((i) -> counts.incrementAndGet(sources[i] + 1));
+
+		int[] offsets = new int[size + 1];
+
+		for (int i = 0; i < size; i++) {
+			offsets[i + 1] = offsets[i] + counts.get(i + 1);
+		}
+
+		AtomicIntegerArray positions = new AtomicIntegerArray(offsets);
+		long[] packed = new long[edges];
+
+		IntStream.range(0, edges).parallel().forEach((i) -> {
+			packed[positions.getAndIncrement(sources[i])] = ((long) destinations[i] << 32) | weights[i];
+		});
+
+		// sort each bucket and count its distinct targets (the first edge to
+		// each target is the lightest)
+		int[] distinct = new int[size + 1];
+
+		IntStream.range(0, size).parallel().forEach((v) -> {
+			Arrays.sort(packed, offsets[v], offsets[v + 1]);
+
+			int count = 0;
+
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				if (e == offsets[v] || (packed[e] >>> 32) != (packed[e - 1] >>> 32)) {
+					count++;
+				}
+			}
+
+			distinct[v + 1] = count;
+		});
+
+		for (int i = 0; i < size; i++) {
+			distinct[i + 1] += distinct[i];
+		}
+
+		int[] targets = new int[distinct[size]];
+		int[] result = new int[distinct[size]];
+
+		IntStream.range(0, size).parallel().forEach((v) -> {
+			int out = distinct[v];
+
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				if (e == offsets[v] || (packed[e] >>> 32) != (packed[e - 1] >>> 32)) {
+					targets[out] = (int) (packed[e] >>> 32);
+					result[out] = (int) packed[e];
+					out++;
+				}
+			}
+		});
+
+		return new Graph<>(new IndexedGraph<>(nodes, distinct, targets, result));
+	}
+
+	/**
+	 * Checks every edge in parallel, reporting the first invalid one.
+	 */
+	private static void validate(int size, int[] sources, int[] destinations, int[] weights) {
+		int invalid = IntStream.range(0, sources.length).parallel()
+				.filter((i) -> weights[i] < 1 || sources[i] == destinations[i] || sources[i] < 0
+						|| sources[i] >= size || destinations[i] < 0 || destinations[i] >= size)
+				.findFirst().orElse(-1);
+
+		if (invalid < 0) {
+			return;
+		}
+
+		if (weights[invalid] < 1) {
+			throw new IllegalArgumentException("weight is less than one");
+		}
+
+		if (sources[invalid] == destinations[invalid]) {
+			throw new IllegalArgumentException("source is equal to destination");
+		}
+
+		if (sources[invalid] < 0 || sources[invalid] >= size) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		throw new IllegalArgumentException("destination not found");
+	}
+}
@@ -0,0 +1,537 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generators of synthetic graphs for load and scale tests. Each one
+ * streams its nodes and edges into an {@link EdgeSink} (a graph or a file)
+ * while they are generated, without keeping an edge list, and the same
+ * arguments and seed always produce the same edges in the same order.
+ * <p>
+ * The generated graphs have no loops nor repeated edges. Unless stated
+ * otherwise, weights are uniform in [1, {@link #MAX_WEIGHT}].
+ * </p>
+ */
+public final class GraphGenerators {
+	/**
+	 * Maximum weight of the random weights.
+	 */
+	public static final int MAX_WEIGHT = 10;
+	/**
+	 * Default R-MAT quadrant probabilities (Graph500).
+	 */
+	public static final double RMAT_A = 0.57;
+	public static final double RMAT_B = 0.19;
+	public static final double RMAT_C = 0.19;
+
+	/**
+	 * Fraction of the missing links of a road network.
+	 */
+	private static final double ROAD_MISSING = 0.05;
+	/**
+	 * Fraction of the cells with a diagonal.
+	 */
+	private static final double ROAD_DIAGONAL = 0.2;
+	/**
+	 * Maximum displacement of a node from its grid point (less than half a
+	 * cell, so the links do not cross).
+	 */
+	private static final double ROAD_JITTER = 0.3;
+	/**
+	 * Weight of a link as long as a cell side.
+	 */
+	private static final int ROAD_SCALE = 100;
+
+	private GraphGenerators() {
+	}
+
+	/**
+	 * Generates a grid with edges in both directions (same weight) between
+	 * horizontal and vertical neighbors. Node r * columns + c is the one in row
+	 * r and column c.
+	 *
+	 * @param rows
+	 *            the number of rows
+	 * @param columns
+	 *            the number of columns
+	 * @param seed
+	 *            the seed of the weights
+	 * @param sink
+	 *            the sink receiving the graph
+	 *
+	 * @throws NullPointerException
+	 *             if sink is null
+	 * @throws IllegalArgumentException
+	 *             if rows or columns is not positive or there are more than
+	 *             {@link Integer#MAX_VALUE} nodes
+	 */
+	public static void grid(int rows, int columns, long seed, EdgeSink sink) {
+		checkGridArgs(rows, columns, sink);
+
+		SplittableRandom random = new SplittableRandom(seed);
+
+		sink.addNodes(rows * columns);
+
+		for (int r = 0; r < rows; r++) {
+			for (int c = 0; c < columns; c++) {
+				int node = r * columns + c;
+
+				if (c + 1 < columns) {
+					addBoth(sink, node, node + 1, weight(random));
+				}
+
+				if (r + 1 < rows) {
+					addBoth(sink, node, node + columns, weight(random));
+				}
+			}
+		}
+	}
+
+	private static void checkGridArgs(int rows, int columns, EdgeSink sink) {
+		if (sink == null) {
+			throw new NullPointerException("sink is null");
+		}
+
+		if (rows <= 0) {
+			throw new IllegalArgumentException("rows is not positive");
+		}
+
+		if (columns <= 0) {
+			throw new IllegalArgumentException("columns is not positive");
+		}
+
+		if ((long) rows * columns > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("too many nodes");
+		}
+	}
+
+	/**
+	 * Generates an Erdos-Renyi graph G(n, p): each of the n * (n - 1)
+	 * directed edges exists with probability p = averageDegree / (n - 1). The
+	 * gaps between consecutive edges are drawn from the geometric
+	 * distribution, so the cost is proportional to the number of edges rather
+	 * than to n * n. Edges are generated by increasing source.
+	 *
+	 * @param nodes
+	 *            the number of nodes
+	 * @param averageDegree
+	 *            the expected out-degree of a node
+	 * @param seed
+	 *            the seed of the graph
+	 * @param sink
+	 *            the sink receiving the graph
+	 *
+	 * @throws NullPointerException
+	 *             if sink is null
+	 * @throws IllegalArgumentException
+	 *             if nodes is not positive
+	 * @throws IllegalArgumentException
+	 *             if averageDegree is negative or greater than nodes - 1
+	 */
+	public static void erdosRenyi(int nodes, double averageDegree, long seed, EdgeSink sink) {
+		checkErdosRenyiArgs(nodes, averageDegree, sink);
+
+		SplittableRandom random = new SplittableRandom(seed);
+
+		sink.addNodes(nodes);
+
+		if (nodes == 1 || averageDegree == 0) {
+			return;
+		}
+
+		double p = averageDegree / (nodes - 1);
+		double log = Math.log(1 - p);
+		long total = (long) nodes * (nodes - 1);
+		long index = -1;
+
+		while (true) {
+			// number of missing edges before the next one
+			double skip = p < 1 ? Math.floor(Math.log(1 - random.nextDouble()) / log) : 0;
+
+			if (skip >= total - index - 1) {
+				return;
+			}
+
+			index += 1 + (long) skip;
+
+			int source = (int) (index / (nodes - 1));
+			int offset = (int) (index % (nodes - 1));
+
+			// skip the loop
+			sink.addEdge(source, offset < source ? offset : offset + 1, weight(random));
+		}
+	}
+
+	private static void checkErdosRenyiArgs(int nodes, double averageDegree, EdgeSink sink) {
+		if (sink == null) {
+			throw new NullPointerException("sink is null");
+		}
+
+		if (nodes <= 0) {
+			throw new IllegalArgumentException("nodes is not positive");
+		}
+
+		if (!(averageDegree >= 0)) {
+			throw new IllegalArgumentException("averageDegree is negative");
+		}
+
+		if (averageDegree > nodes - 1) {
+			throw new IllegalArgumentException("averageDegree is greater than nodes - 1");
+		}
+	}
+
+	/**
+	 * Generates an R-MAT graph with the default quadrant probabilities
+	 * ({@link #RMAT_A}, {@link #RMAT_B}, {@link #RMAT_C}).
+	 *
+	 * @see #rmat(int, long, double, double, double, long, EdgeSink)
+	 */
+	public static void rmat(int scale, long edges, long seed, EdgeSink sink) {
+		rmat(scale, edges, RMAT_A, RMAT_B, RMAT_C, seed, sink);
+	}
+
+	/**
+	 * <p>
+	 * Generates an R-MAT (recursive matrix, a Kronecker graph) with 2^scale
+	 * nodes: each edge picks one quadrant of the adjacency matrix per bit of
+	 * the node ids, with probabilities a, b, c and d = 1 - a - b - c, which
+	 * gives the skewed degrees and communities of real networks.
+	 * </p>
+	 * <p>
+	 * The bits of the source and the destination of an edge factorize, so
+	 * instead of throwing the edges one by one the generator visits the
+	 * sources in order, draws the out-degree of each one from the Poisson
+	 * distribution with the expected value and then its destinations. Only
+	 * the destinations of the current source are kept, to drop the repeated
+	 * ones and the loops as the original generator does, so a little less
+	 * than the requested number of edges is generated.
+	 * </p>
+	 *
+	 * @param scale
+	 *            the base 2 logarithm of the number of nodes
+	 * @param edges
+	 *            the expected number of edges before dropping the repeated
+	 *            ones and the loops
+	 * @param a
+	 *            probability of the upper left quadrant
+	 * @param b
+	 *            probability of the upper right quadrant
+	 * @param c
+	 *            probability of the lower left quadrant
+	 * @param seed
+	 *            the seed of the graph
+	 * @param sink
+	 *            the sink receiving the graph
+	 *
+	 * @throws NullPointerException
+	 *             if sink is null
+	 * @throws IllegalArgumentException
+	 *             if scale is not in [1, 30]
+	 * @throws IllegalArgumentException
+	 *             if edges is negative
+	 * @throws IllegalArgumentException
+	 *             if a, b or c is not positive or their sum is not lower than
+	 *             one
+	 */
+	public static void rmat(int scale, long edges, double a, double b, double c, long seed, EdgeSink sink) {
+		checkRmatArgs(scale, edges, a, b, c, sink);
+
+		SplittableRandom random = new SplittableRandom(seed);
+		int nodes = 1 << scale;
+		double d = 1 - a - b - c;
+		// probability of a one bit in the destination given the source bit
+		double right = b / (a + b);
+		double lower = d / (c + d);
+		int[] targets = new int[16];
+
+		sink.addNodes(nodes);
+
+		for (int source = 0; source < nodes; source++) {
+			double p = 1;
+
+			for (int bit = 0; bit < scale; bit++) {
+				p *= ((source >>> bit) & 1) == 0 ? a + b : c + d;
+			}
+
+			int degree = poisson(edges * p, random);
+
+			if (targets.length < degree) {
+				targets = new int[Math.max(degree, targets.length * 2)];
+			}
+
+			for (int k = 0; k < degree; k++) {
+				int target = 0;
+
+				for (int bit = scale - 1; bit >= 0; bit--) {
+					double one = ((source >>> bit) & 1) == 0 ? right : lower;
+
+					target = (target << 1) | (random.nextDouble() < one ? 1 : 0);
+				}
+
+				targets[k] = target;
+			}
+
+			Arrays.sort(targets, 0, degree);
+
+			for (int k = 0; k < degree; k++) {
+				// the weight is drawn even if the edge is dropped
+				int weight = weight(random);
+
+				if (targets[k] != source && (k == 0 || targets[k] != targets[k - 1])) {
+					sink.addEdge(source, targets[k], weight);
+				}
+			}
+		}
+	}
+
+	private static void checkRmatArgs(int scale, long edges, double a, double b, double c, EdgeSink sink) {
+		if (sink == null) {
+			throw new NullPointerException("sink is null");
+		}
+
+		if (scale < 1 || scale > 30) {
+			throw new IllegalArgumentException("scale out of range");
+		}
+
+		if (edges < 0) {
+			throw new IllegalArgumentException("edges is negative");
+		}
+
+		if (!(a > 0) || !(b > 0) || !(c > 0)) {
+			throw new IllegalArgumentException("quadrant probability is not positive");
+		}
+
+		if (!(a + b + c < 1)) {
+			throw new IllegalArgumentException("quadrant probabilities sum is not lower than one");
+		}
+	}
+
+	/**
+	 * Draws a Poisson distributed number (by the product of uniforms for small
+	 * means and by the normal approximation for the others).
+	 */
+	private static int poisson(double mean, SplittableRandom random) {
+		if (mean < 30) {
+			double limit = Math.exp(-mean);
+			double product = random.nextDouble();
+			int count = 0;
+
+			while (product > limit) {
+				product *= random.nextDouble();
+				count++;
+			}
+
+			return count;
+		}
+
+		// Box-Muller transform
+		double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+		long value = Math.round(mean + Math.sqrt(mean) * gaussian);
+
+		return (int) Math.max(0, Math.min(value, Integer.MAX_VALUE - 8));
+	}
+
+	/**
+	 * Generates a Barabasi-Albert graph: it starts with a clique of degree + 1
+	 * nodes, and each following node is linked to degree distinct previous
+	 * nodes chosen with probability proportional to their degree (preferential
+	 * attachment), which gives a power-law degree distribution. Links are
+	 * edges in both directions with the same weight.
+	 * <p>
+	 * Sampling by degree keeps both endpoints of every link in an int array,
+	 * so it takes 4 bytes per generated edge.
+	 * </p>
+	 *
+	 * @param nodes
+	 *            the number of nodes
+	 * @param degree
+	 *            the number of links of each new node
+	 * @param seed
+	 *            the seed of the graph
+	 * @param sink
+	 *            the sink receiving the graph
+	 *
+	 * @throws NullPointerException
+	 *             if sink is null
+	 * @throws IllegalArgumentException
+	 *             if degree is not positive
+	 * @throws IllegalArgumentException
+	 *             if nodes is not greater than degree
+	 * @throws IllegalArgumentException
+	 *             if the graph has too many edges for the endpoint array
+	 */
+	public static void barabasiAlbert(int nodes, int degree, long seed, EdgeSink sink) {
+		checkBarabasiAlbertArgs(nodes, degree, sink);
+
+		SplittableRandom random = new SplittableRandom(seed);
+		int[] endpoints = new int[2 * degree * nodes];
+		int count = 0;
+		int[] chosen = new int[degree];
+
+		sink.addNodes(nodes);
+
+		for (int node = 1; node <= degree; node++) {
+			for (int other = 0; other < node; other++) {
+				addBoth(sink, node, other, weight(random));
+				endpoints[count++] = node;
+				endpoints[count++] = other;
+			}
+		}
+
+		for (int node = degree + 1; node < nodes; node++) {
+			for (int k = 0; k < degree; k++) {
+				int other;
+
+				do {
+					other = endpoints[random.nextInt(count)];
+				} while (contains(chosen, k, other));
+
+				chosen[k] = other;
+			}
+
+			for (int k = 0; k < degree; k++) {
+				addBoth(sink, node, chosen[k], weight(random));
+				endpoints[count++] = node;
+				endpoints[count++] = chosen[k];
+			}
+		}
+	}
+
+	private static void checkBarabasiAlbertArgs(int nodes, int degree, EdgeSink sink) {
+		if (sink == null) {
+			throw new NullPointerException("sink is null");
+		}
+
+		if (degree <= 0) {
+			throw new IllegalArgumentException("degree is not positive");
+		}
+
+		if (nodes <= degree) {
+			throw new IllegalArgumentException("nodes is not greater than degree");
+		}
+
+		if (2L * degree * nodes > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("too many edges");
+		}
+	}
+
+	private static boolean contains(int[] array, int length, int value) {
+		for (int i = 0; i < length; i++) {
+			if (array[i] == value) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * Generates a planar graph resembling a road network: the nodes are the
+	 * points of a grid moved at random within their cell, most neighbors are
+	 * linked (5% of the links are missing), and one cell in five has one of
+	 * its diagonals. Links are edges in both directions weighted by the
+	 * Euclidean length of the link (100 per cell side), so the graph has low
+	 * degrees, a large diameter and meaningful coordinates (see
+	 * {@link #roadX(int, long)} and {@link #roadY(int, long)}) as road
+	 * networks do.
+	 * </p>
+	 * <p>
+	 * Positions and links are hashes of the node ids and the seed, so nothing
+	 * is stored. Node r * columns + c is the one in row r and column c.
+	 * </p>
+	 *
+	 * @param rows
+	 *            the number of rows
+	 * @param columns
+	 *            the number of columns
+	 * @param seed
+	 *            the seed of the graph
+	 * @param sink
+	 *            the sink receiving the graph
+	 *
+	 * @throws NullPointerException
+	 *             if sink is null
+	 * @throws IllegalArgumentException
+	 *             if rows or columns is not positive or there are more than
+	 *             {@link Integer#MAX_VALUE} nodes
+	 */
+	public static void roadNetwork(int rows, int columns, long seed, EdgeSink sink) {
+		checkGridArgs(rows, columns, sink);
+
+		sink.addNodes(rows * columns);
+
+		for (int r = 0; r < rows; r++) {
+			for (int c = 0; c < columns; c++) {
+				int node = r * columns + c;
+
+				if (c + 1 < columns && uniform(seed, node, 2) >= ROAD_MISSING) {
+					addRoad(sink, node, node + 1, 1, 0, seed);
+				}
+
+				if (r + 1 < rows && uniform(seed, node, 3) >= ROAD_MISSING) {
+					addRoad(sink, node, node + columns, 0, 1, seed);
+				}
+
+				if (c + 1 < columns && r + 1 < rows && uniform(seed, node, 4) < ROAD_DIAGONAL) {
+					if (uniform(seed, node, 5) < 0.5) {
+						addRoad(sink, node, node + columns + 1, 1, 1, seed);
+					} else {
+						addRoad(sink, node + 1, node + columns, -1, 1, seed);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The displacement of the given node from its column in a road
+	 *         network generated with the given seed, in [-0.3, 0.3] cells.
+	 */
+	public static double roadX(int node, long seed) {
+		return (uniform(seed, node, 0) * 2 - 1) * ROAD_JITTER;
+	}
+
+	/**
+	 * @return The displacement of the given node from its row in a road
+	 *         network generated with the given seed, in [-0.3, 0.3] cells.
+	 */
+	public static double roadY(int node, long seed) {
+		return (uniform(seed, node, 1) * 2 - 1) * ROAD_JITTER;
+	}
+
+	/**
+	 * Links two nodes the given number of columns and rows apart.
+	 */
+	private static void addRoad(EdgeSink sink, int node, int other, int columns, int rows, long seed) {
+		double dx = columns + roadX(other, seed) - roadX(node, seed);
+		double dy = rows + roadY(other, seed) - roadY(node, seed);
+		int weight = (int) Math.max(1, Math.round(Math.sqrt(dx * dx + dy * dy) * ROAD_SCALE));
+
+		addBoth(sink, node, other, weight);
+	}
+
+	/**
+	 * @return A uniform number in [0, 1) derived from the seed, the node and
+	 *         the salt (SplitMix64 finalizer).
+	 */
+	private static double uniform(long seed, int node, int salt) {
+		long z = seed + 0x9E3779B97F4A7C15L * (((long) node << 3) + salt + 1);
+
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		z = z ^ (z >>> 31);
+
+		return (z >>> 11) * 0x1.0p-53;
+	}
+
+	private static int weight(SplittableRandom random) {
+		return 1 + random.nextInt(MAX_WEIGHT);
+	}
+
+	private static void addBoth(EdgeSink sink, int node, int other, int weight) {
+		sink.addEdge(node, other, weight);
+		sink.addEdge(other, node, weight);
+	}
+}
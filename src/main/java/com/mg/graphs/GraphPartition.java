@@ -0,0 +1,390 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Split of the nodes of a {@link Graph} into balanced parts with few edges
+ * between them, so each part can be searched by its own worker (see
+ * {@link PartitionedPathFinder}).
+ * <p>
+ * The parts are grown by breadth-first search (ignoring the direction of the
+ * edges) from seeds far from each other, one node at a time per part, until
+ * every part holds n / parts nodes (rounded up). Then the boundary nodes are
+ * moved greedily to the neighboring part holding most of their edges, while
+ * the parts stay within {@link #IMBALANCE} of the balanced size (above and
+ * below), which removes most of the cut edges left by the growth.
+ * </p>
+ *
+ * @param <E>
+ *            the type of elements maintained by the partitioned graph
+ */
+public class GraphPartition<E> {
+	/**
+	 * Maximum deviation of a part from the balanced size during the
+	 * refinement.
+	 */
+	public static final double IMBALANCE = 0.03;
+	/**
+	 * Number of refinement passes.
+	 */
+	private static final int REFINEMENT_PASSES = 4;
+
+	/**
+	 * Snapshot of the partitioned graph.
+	 */
+	private final IndexedGraph<E> indexed;
+	/**
+	 * Arrays of the snapshot, to walk the neighbors of a node in place.
+	 */
+	private final int[] outOffsets;
+	private final int[] outTargets;
+	private final int[] inOffsets;
+	private final int[] inSources;
+	/**
+	 * Part of each node index.
+	 */
+	private final int[] part;
+	/**
+	 * Number of nodes of each part.
+	 */
+	private final int[] sizes;
+	/**
+	 * Number of edges between different parts.
+	 */
+	private final int cutEdges;
+
+	/**
+	 * Partitions a graph.
+	 *
+	 * @param graph
+	 *            the graph reference
+	 * @param parts
+	 *            the number of parts
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws IllegalArgumentException
+	 *             if parts is not positive
+	 * @throws IllegalArgumentException
+	 *             if parts is greater than the number of nodes of a non-empty
+	 *             graph
+	 */
+	public GraphPartition(GraphView<E> graph, int parts) {
+		checkGraphPartitionArgs(graph, parts);
+
+		this.indexed = graph.compacted();
+		this.outOffsets = indexed.getOutOffsets();
+		this.outTargets = indexed.getOutTargets();
+		this.inOffsets = indexed.getInOffsets();
+		this.inSources = indexed.getInSources();
+		this.part = new int[indexed.size()];
+		this.sizes = new int[parts];
+
+		int capacity = (indexed.size() + parts - 1) / parts;
+
+		grow(seeds(parts), capacity);
+		refine((int) Math.floor(capacity * (1 - IMBALANCE)), (int) Math.ceil(capacity * (1 + IMBALANCE)));
+
+		int count = 0;
+
+		for (int v = 0; v < part.length; v++) {
+			for (int e = outOffsets[v]; e < outOffsets[v + 1]; e++) {
+				if (part[outTargets[e]] != part[v]) {
+					count++;
+				}
+			}
+		}
+
+		this.cutEdges = count;
+	}
+
+	private void checkGraphPartitionArgs(GraphView<E> graph, int parts) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (parts <= 0) {
+			throw new IllegalArgumentException("parts is not positive");
+		}
+
+		int size = graph.getNodes().size();
+
+		if (size > 0 && parts > size) {
+			throw new IllegalArgumentException("parts is greater than the number of nodes");
+		}
+	}
+
+	/**
+	 * Chooses the seeds farthest (in hops) from the previous ones, the
+	 * unreachable nodes first.
+	 */
+	private int[] seeds(int parts) {
+		int size = indexed.size();
+		int[] seeds = new int[Math.min(parts, size)];
+		int[] hops = new int[size];
+		int[] queue = new int[size];
+
+		Arrays.fill(hops, Integer.MAX_VALUE);
+
+		for (int k = 0; k < seeds.length; k++) {
+			int seed = 0;
+
+			for (int v = 1; v < size; v++) {
+				if (hops[v] > hops[seed]) {
+					seed = v;
+				}
+			}
+
+			seeds[k] = seed;
+			hops[seed] = 0;
+			queue[0] = seed;
+
+			for (int head = 0, tail = 1; head < tail; head++) {
+				int v = queue[head];
+
+				for (int i = 0, degree = degree(v); i < degree; i++) {
+					int w = neighbor(v, i);
+
+					if (hops[w] > hops[v] + 1) {
+						hops[w] = hops[v] + 1;
+						queue[tail++] = w;
+					}
+				}
+			}
+		}
+
+		return seeds;
+	}
+
+	/**
+	 * Grows the parts from their seeds in turn, a node each, until every node
+	 * belongs to a part.
+	 */
+	private void grow(int[] seeds, int capacity) {
+		int size = indexed.size();
+		int parts = sizes.length;
+		int[][] queues = new int[parts][];
+		int[] heads = new int[parts];
+		int[] tails = new int[parts];
+		int assigned = 0;
+		// every node before it is assigned
+		int unassigned = 0;
+
+		Arrays.fill(part, -1);
+
+		for (int p = 0; p < parts; p++) {
+			queues[p] = new int[16];
+		}
+
+		for (int p = 0; p < seeds.length; p++) {
+			queues[p][tails[p]++] = seeds[p];
+		}
+
+		while (assigned < size) {
+			boolean progress = false;
+
+			for (int p = 0; p < parts && assigned < size; p++) {
+				if (sizes[p] == capacity) {
+					continue;
+				}
+
+				// claim the next unassigned node of the frontier
+				while (heads[p] < tails[p]) {
+					int v = queues[p][heads[p]++];
+
+					if (part[v] >= 0) {
+						continue;
+					}
+
+					part[v] = p;
+					sizes[p]++;
+					assigned++;
+					progress = true;
+
+					for (int i = 0, degree = degree(v); i < degree; i++) {
+						int w = neighbor(v, i);
+
+						if (part[w] < 0) {
+							if (tails[p] == queues[p].length) {
+								queues[p] = Arrays.copyOf(queues[p], tails[p] * 2);
+							}
+
+							queues[p][tails[p]++] = w;
+						}
+					}
+
+					break;
+				}
+			}
+
+			if (!progress) {
+				// the frontiers are exhausted (disconnected graph): reseed the
+				// smallest part with an unassigned node
+				int smallest = 0;
+
+				for (int p = 1; p < parts; p++) {
+					if (sizes[p] < sizes[smallest]) {
+						smallest = p;
+					}
+				}
+
+				while (part[unassigned] >= 0) {
+					unassigned++;
+				}
+
+				heads[smallest] = 0;
+				tails[smallest] = 1;
+				queues[smallest][0] = unassigned;
+			}
+		}
+	}
+
+	/**
+	 * Moves the boundary nodes to the neighboring part with most of their
+	 * edges, as long as it reduces the cut and keeps the parts within the
+	 * given sizes.
+	 */
+	private void refine(int minSize, int maxSize) {
+		int[] links = new int[sizes.length];
+
+		for (int pass = 0; pass < REFINEMENT_PASSES; pass++) {
+			boolean moved = false;
+
+			for (int v = 0; v < part.length; v++) {
+				int own = part[v];
+				int best = own;
+				int degree = degree(v);
+
+				for (int i = 0; i < degree; i++) {
+					links[part[neighbor(v, i)]]++;
+				}
+
+				if (sizes[own] > Math.max(1, minSize)) {
+					for (int i = 0; i < degree; i++) {
+						int p = part[neighbor(v, i)];
+
+						if (links[p] > links[best] && sizes[p] < maxSize) {
+							best = p;
+						}
+					}
+				}
+
+				for (int i = 0; i < degree; i++) {
+					links[part[neighbor(v, i)]] = 0;
+				}
+
+				if (best != own) {
+					part[v] = best;
+					sizes[own]--;
+					sizes[best]++;
+					moved = true;
+				}
+			}
+
+			if (!moved) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @return The number of outbound and inbound neighbors of the given node
+	 *         index (the ones linked both ways count twice, which weights them
+	 *         as two edges).
+	 */
+	private int degree(int v) {
+		return outOffsets[v + 1] - outOffsets[v] + inOffsets[v + 1] - inOffsets[v];
+	}
+
+	/**
+	 * @return The i-th neighbor of the given node index, the outbound ones
+	 *         first, read in place from the arrays of the snapshot.
+	 */
+	private int neighbor(int v, int i) {
+		int out = outOffsets[v + 1] - outOffsets[v];
+
+		return i < out ? outTargets[outOffsets[v] + i] : inSources[inOffsets[v] + i - out];
+	}
+
+	/**
+	 * @return The number of parts.
+	 */
+	public int getParts() {
+		return sizes.length;
+	}
+
+	/**
+	 * @return The part of the given node, in [0, {@link #getParts()}).
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the given node
+	 */
+	public int getPart(E node) {
+		int index = indexed.indexOf(node);
+
+		if (index < 0) {
+			throw new IllegalArgumentException("node not found");
+		}
+
+		return part[index];
+	}
+
+	/**
+	 * @return The number of nodes of the given part.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if part is out of range
+	 */
+	public int getSize(int part) {
+		return sizes[part];
+	}
+
+	/**
+	 * @return The number of edges whose source and destination are in
+	 *         different parts.
+	 */
+	public int getCutEdgeCount() {
+		return cutEdges;
+	}
+
+	/**
+	 * @return True if the given node is the source or the destination of an
+	 *         edge between different parts.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the given node
+	 */
+	public boolean isBoundary(E node) {
+		int index = indexed.indexOf(node);
+
+		if (index < 0) {
+			throw new IllegalArgumentException("node not found");
+		}
+
+		return isBoundaryIndex(index);
+	}
+
+	boolean isBoundaryIndex(int index) {
+		for (int i = 0, degree = degree(index); i < degree; i++) {
+			if (part[neighbor(index, i)] != part[index]) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return The snapshot of the partitioned graph.
+	 */
+	IndexedGraph<E> getIndexed() {
+		return indexed;
+	}
+
+	/**
+	 * @return The part of the given node index.
+	 */
+	int partOf(int index) {
+		return part[index];
+	}
+}
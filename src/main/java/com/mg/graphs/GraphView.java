@@ -0,0 +1,56 @@
+package com.mg.graphs;
+
+import java.util.Set;
+
+/**
+ * Read-only directed graph with weighted edges, as taken by the searchers:
+ * either a {@link Graph} or an immutable {@link ConcurrentGraph#snapshot()}.
+ *
+ * @param <E>
+ *            the type of elements maintained by this graph
+ */
+public abstract class GraphView<E> {
+	/**
+	 * Only the graphs of this package can be viewed.
+	 */
+	GraphView() {
+	}
+
+	/**
+	 * Gets all the nodes of this graph.
+	 */
+	abstract Set<E> getNodes();
+
+	/**
+	 * Gets all the outbound edges for a given node (null if this graph does
+	 * not contain it).
+	 */
+	abstract Set<Edge<E>> getOutboundEdges(E node);
+
+	/**
+	 * Gets an array-based snapshot of this graph, whose cursors skip the
+	 * nodes and edges removed since it was built.
+	 */
+	abstract IndexedGraph<E> indexed();
+
+	/**
+	 * Gets an array-based snapshot of this graph without tombstones, for the
+	 * code reading its arrays directly.
+	 */
+	abstract IndexedGraph<E> compacted();
+
+	/**
+	 * Estimates the heap size of this graph (the nodes are not counted).
+	 *
+	 * @return The footprint of this graph.
+	 */
+	public abstract MemoryFootprint getFootprint();
+
+	/**
+	 * Gets the strongly connected components of this graph, numbered in
+	 * reverse topological order.
+	 */
+	StronglyConnectedComponents components() {
+		return compacted().components();
+	}
+}
@@ -0,0 +1,686 @@
+package com.mg.graphs;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable array-based snapshot of a {@link Graph}. Each node is mapped to a
+ * dense index in [0, size) and the outbound and inbound edges are stored in
+ * compressed sparse row form, so searches can run on primitive arrays. As an
+ * {@link Adjacency} its node ids are the indices and its edges the outbound
+ * ones (see {@link #inbound()} for the other direction).
+ * <p>
+ * Removing a node or an edge does not rebuild the arrays: it derives a new
+ * snapshot sharing them, where the removed entries are tombstones skipped by
+ * the cursors and {@link #indexOf(Object)}, until {@link #compact()} copies
+ * the remaining ones into fresh arrays. The tombstones are stamped with an
+ * increasing number, so the older snapshots derived from the same arrays are
+ * not affected by the later removals.
+ * </p>
+ *
+ * @param <E>
+ *            the type of elements maintained by the indexed graph
+ */
+class IndexedGraph<E> implements Adjacency {
+	/**
+	 * Size of a snapshot, without its arrays and its map.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(IndexedGraph.class);
+	/**
+	 * Maps each index to its node.
+	 */
+	private final Object[] nodes;
+	/**
+	 * Maps each node to its index.
+	 */
+	private final Map<E, Integer> indices;
+	/**
+	 * Outbound edges of node i are stored in [outOffsets[i], outOffsets[i + 1]).
+	 */
+	private final int[] outOffsets;
+	private final int[] outTargets;
+	private final int[] outWeights;
+	/**
+	 * Inbound edges of node i are stored in [inOffsets[i], inOffsets[i + 1]).
+	 */
+	private final int[] inOffsets;
+	private final int[] inSources;
+	private final int[] inWeights;
+	/**
+	 * Strongly connected components (null until they are first requested).
+	 */
+	private volatile StronglyConnectedComponents components;
+	/**
+	 * View of the inbound edges.
+	 */
+	private final Adjacency inbound;
+	/**
+	 * Removals applied to the arrays (null if there are none), shared by
+	 * every snapshot derived from them.
+	 */
+	private final Tombstones tombstones;
+	/**
+	 * Last stamp of the removals seen by this snapshot.
+	 */
+	private final int stamp;
+	/**
+	 * Number of removed nodes and edges (an estimate, see
+	 * {@link #getGarbageRatio()}).
+	 */
+	private final int garbage;
+	/**
+	 * Snapshot without removals whose arrays are shared by this one.
+	 */
+	private final IndexedGraph<E> base;
+
+	/**
+	 * Creates a snapshot of the given graph.
+	 *
+	 * @param graph
+	 *            the graph reference
+	 */
+	IndexedGraph(GraphView<E> graph) {
+		Set<E> keys = graph.getNodes();
+		int size = keys.size();
+
+		nodes = new Object[size];
+		indices = new HashMap<>(size * 4 / 3 + 1);
+
+		int index = 0;
+
+		for (E node : keys) {
+			nodes[index] = node;
+			indices.put(node, index);
+			index++;
+		}
+
+		outOffsets = new int[size + 1];
+		inOffsets = new int[size + 1];
+
+		for (int i = 0; i < size; i++) {
+			for (Edge<E> edge : graph.getOutboundEdges(getNode(i))) {
+				outOffsets[i + 1]++;
+				inOffsets[indices.get(edge.getDestination()) + 1]++;
+			}
+		}
+
+		for (int i = 0; i < size; i++) {
+			outOffsets[i + 1] += outOffsets[i];
+			inOffsets[i + 1] += inOffsets[i];
+		}
+
+		int edgeCount = outOffsets[size];
+
+		outTargets = new int[edgeCount];
+		outWeights = new int[edgeCount];
+		inSources = new int[edgeCount];
+		inWeights = new int[edgeCount];
+
+		int[] inNext = new int[size];
+
+		System.arraycopy(inOffsets, 0, inNext, 0, size);
+
+		for (int i = 0; i < size; i++) {
+			int out = outOffsets[i];
+
+			for (Edge<E> edge : graph.getOutboundEdges(getNode(i))) {
+				int destination = indices.get(edge.getDestination());
+				int in = inNext[destination]++;
+
+				outTargets[out] = destination;
+				outWeights[out] = edge.getWeight();
+				inSources[in] = i;
+				inWeights[in] = edge.getWeight();
+				out++;
+			}
+		}
+
+		inbound = inboundView();
+		tombstones = null;
+		stamp = 0;
+		garbage = 0;
+		base = this;
+	}
+
+	/**
+	 * Creates a snapshot from the outbound edges in compressed sparse row form
+	 * (see {@link GraphBuilder}), computing the inbound ones.
+	 *
+	 * @param nodes
+	 *            the node at each index
+	 * @param outOffsets
+	 *            the outbound edges of node i are stored in [outOffsets[i],
+	 *            outOffsets[i + 1])
+	 * @param outTargets
+	 *            the target index of each edge
+	 * @param outWeights
+	 *            the weight of each edge
+	 */
+	@SuppressWarnings("unchecked")
+	IndexedGraph(Object[] nodes, int[] outOffsets, int[] outTargets, int[] outWeights) {
+		int size = nodes.length;
+
+		this.nodes = nodes;
+		this.indices = new HashMap<>(size * 4 / 3 + 1);
+		this.outOffsets = outOffsets;
+		this.outTargets = outTargets;
+		this.outWeights = outWeights;
+
+		for (int i = 0; i < size; i++) {
+			indices.put((E) nodes[i], i);
+		}
+
+		inOffsets = new int[size + 1];
+
+		for (int target : outTargets) {
+			inOffsets[target + 1]++;
+		}
+
+		for (int i = 0; i < size; i++) {
+			inOffsets[i + 1] += inOffsets[i];
+		}
+
+		inSources = new int[outTargets.length];
+		inWeights = new int[outTargets.length];
+
+		int[] inNext = new int[size];
+
+		System.arraycopy(inOffsets, 0, inNext, 0, size);
+
+		for (int i = 0; i < size; i++) {
+			for (int out = outOffsets[i]; out < outOffsets[i + 1]; out++) {
+				int in = inNext[outTargets[out]]++;
+
+				inSources[in] = i;
+				inWeights[in] = outWeights[out];
+			}
+		}
+
+		inbound = inboundView();
+		tombstones = null;
+		stamp = 0;
+		garbage = 0;
+		base = this;
+	}
+
+	/**
+	 * Derives a snapshot from the given one, seeing the removals up to the
+	 * given stamp.
+	 */
+	private IndexedGraph(IndexedGraph<E> previous, Tombstones tombstones, int stamp, int garbage) {
+		this.nodes = previous.nodes;
+		this.indices = previous.indices;
+		this.outOffsets = previous.outOffsets;
+		this.outTargets = previous.outTargets;
+		this.outWeights = previous.outWeights;
+		this.inOffsets = previous.inOffsets;
+		this.inSources = previous.inSources;
+		this.inWeights = previous.inWeights;
+		this.tombstones = tombstones;
+		this.stamp = stamp;
+		this.garbage = garbage;
+		this.base = previous.base;
+		this.inbound = inboundView();
+	}
+
+	private Adjacency inboundView() {
+		return new Adjacency() {
+			@Override
+			public int size() {
+				return nodes.length;
+			}
+
+			@Override
+			public Cursor cursor() {
+				if (tombstones != null) {
+					return new LiveRowCursor(inOffsets, inSources, inWeights, tombstones.inEdges, tombstones.nodes,
+							stamp);
+				}
+
+				return new RowCursor(inOffsets, inSources, inWeights);
+			}
+		};
+	}
+
+	/**
+	 * @return The number of nodes.
+	 */
+	@Override
+	public int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * @return The number of edges (including the removed ones until
+	 *         {@link #compact()}).
+	 */
+	int edgeCount() {
+		return outTargets.length;
+	}
+
+	/**
+	 * @return The index of the given node or -1 if it does not belong to the
+	 *         indexed graph.
+	 */
+	int indexOf(E node) {
+		Integer index = indices.get(node);
+
+		return index != null && !isRemoved(tombstones != null ? tombstones.nodes : null, index) ? index : -1;
+	}
+
+	/**
+	 * @return True if the entry at the given position of the given stamps was
+	 *         removed as of this snapshot.
+	 */
+	private boolean isRemoved(int[] stamps, int position) {
+		return stamps != null && stamps[position] != 0 && stamps[position] <= stamp;
+	}
+
+	/**
+	 * @return The nodes of the indexed graph (read-only, including the
+	 *         removed ones until {@link #compact()}).
+	 */
+	Set<E> getNodes() {
+		return Collections.unmodifiableSet(indices.keySet());
+	}
+
+	/**
+	 * @return The node at the given index.
+	 */
+	@SuppressWarnings("unchecked")
+	E getNode(int index) {
+		return (E) nodes[index];
+	}
+
+	@Override
+	public Cursor cursor() {
+		if (tombstones != null) {
+			return new LiveRowCursor(outOffsets, outTargets, outWeights, tombstones.outEdges, tombstones.nodes, stamp);
+		}
+
+		return new RowCursor(outOffsets, outTargets, outWeights);
+	}
+
+	/**
+	 * @return The inbound edges as an {@link Adjacency} (the targets of its
+	 *         edges are the sources of the inbound edges).
+	 */
+	Adjacency inbound() {
+		return inbound;
+	}
+
+	int[] getOutOffsets() {
+		return outOffsets;
+	}
+
+	int[] getOutTargets() {
+		return outTargets;
+	}
+
+	int[] getOutWeights() {
+		return outWeights;
+	}
+
+	int[] getInOffsets() {
+		return inOffsets;
+	}
+
+	int[] getInSources() {
+		return inSources;
+	}
+
+	int[] getInWeights() {
+		return inWeights;
+	}
+
+	/**
+	 * Derives a snapshot without the edge between the given indices, in time
+	 * proportional to the degrees of its ends. This snapshot is not modified.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if there is no such edge
+	 */
+	IndexedGraph<E> withoutEdge(int source, int destination) {
+		int out = find(outOffsets, outTargets, tombstones != null ? tombstones.outEdges : null, source, destination);
+		int in = find(inOffsets, inSources, tombstones != null ? tombstones.inEdges : null, destination, source);
+
+		if (out < 0 || in < 0) {
+			throw new IllegalArgumentException("edge not found");
+		}
+
+		Tombstones result = tombstones();
+
+		result.outEdges[out] = result.stamp;
+		result.inEdges[in] = result.stamp;
+
+		return new IndexedGraph<>(this, result, result.stamp, garbage + 1);
+	}
+
+	/**
+	 * @return The position of the live edge from the given node to the given
+	 *         neighbor in the given rows, or -1 if there is none.
+	 */
+	private int find(int[] offsets, int[] neighbors, int[] stamps, int node, int neighbor) {
+		for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+			if (neighbors[e] == neighbor && !isRemoved(stamps, e)) {
+				return e;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Derives a snapshot without the given node index and its edges, in
+	 * constant time (the cursors skip the edges whose other end was removed).
+	 * This snapshot is not modified.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the node was already removed
+	 */
+	IndexedGraph<E> withoutNode(int node) {
+		if (isRemoved(tombstones != null ? tombstones.nodes : null, node)) {
+			throw new IllegalArgumentException("node not found");
+		}
+
+		Tombstones result = tombstones();
+
+		result.nodes[node] = result.stamp;
+
+		int edges = outOffsets[node + 1] - outOffsets[node] + inOffsets[node + 1] - inOffsets[node];
+
+		return new IndexedGraph<>(this, result, result.stamp, garbage + 1 + edges);
+	}
+
+	/**
+	 * Gets the tombstones of the arrays, creating them on the first removal,
+	 * with a new stamp.
+	 */
+	private Tombstones tombstones() {
+		Tombstones result = tombstones != null ? tombstones : new Tombstones(nodes.length, outTargets.length);
+
+		if (result.stamp != stamp) {
+			// the arrays were already derived beyond this snapshot
+			throw new IllegalStateException("snapshot is not the latest one");
+		}
+
+		result.stamp++;
+
+		return result;
+	}
+
+	/**
+	 * @return The share of the entries of the arrays which belong to removed
+	 *         nodes or edges, in [0, 1]. The edges of a removed node are
+	 *         counted even if they were removed before, so it may be slightly
+	 *         overestimated.
+	 */
+	double getGarbageRatio() {
+		int entries = nodes.length + outTargets.length;
+
+		return entries > 0 ? Math.min(1, (double) garbage / entries) : 0;
+	}
+
+	/**
+	 * @return True if this snapshot has no removed nodes or edges.
+	 */
+	boolean isCompact() {
+		return stamp == 0;
+	}
+
+	/**
+	 * Copies the nodes and edges which were not removed into a new snapshot
+	 * without tombstones (the node indices change). It only reads the arrays,
+	 * so it can run in another thread while further snapshots are derived.
+	 *
+	 * @return The new snapshot, or this one if it is already compact.
+	 */
+	IndexedGraph<E> compact() {
+		if (isCompact()) {
+			return this;
+		}
+
+		int[] removedNodes = tombstones.nodes;
+		int[] removedEdges = tombstones.outEdges;
+		int[] renumbered = new int[nodes.length];
+		int size = 0;
+		int edges = 0;
+
+		for (int v = 0; v < nodes.length; v++) {
+			renumbered[v] = isRemoved(removedNodes, v) ? -1 : size++;
+		}
+
+		for (int v = 0; v < nodes.length; v++) {
+			if (renumbered[v] >= 0) {
+				for (int e = outOffsets[v]; e < outOffsets[v + 1]; e++) {
+					if (!isRemoved(removedEdges, e) && renumbered[outTargets[e]] >= 0) {
+						edges++;
+					}
+				}
+			}
+		}
+
+		Object[] compactNodes = new Object[size];
+		int[] offsets = new int[size + 1];
+		int[] targets = new int[edges];
+		int[] weights = new int[edges];
+		int edge = 0;
+
+		for (int v = 0; v < nodes.length; v++) {
+			int w = renumbered[v];
+
+			if (w >= 0) {
+				compactNodes[w] = nodes[v];
+
+				for (int e = outOffsets[v]; e < outOffsets[v + 1]; e++) {
+					if (!isRemoved(removedEdges, e) && renumbered[outTargets[e]] >= 0) {
+						targets[edge] = renumbered[outTargets[e]];
+						weights[edge] = outWeights[e];
+						edge++;
+					}
+				}
+
+				offsets[w + 1] = edge;
+			}
+		}
+
+		return new IndexedGraph<>(compactNodes, offsets, targets, weights);
+	}
+
+	/**
+	 * @return The estimated footprint of this snapshot, including its
+	 *         tombstones and its strongly connected components if they were
+	 *         computed.
+	 */
+	MemoryFootprint getFootprint() {
+		MemoryFootprint estimate = estimateFootprint(nodes.length, outTargets.length);
+		long nodeBytes = estimate.getNodeBytes();
+		long edgeBytes = estimate.getEdgeBytes();
+
+		if (tombstones != null) {
+			nodeBytes += MemoryLayout.arrayBytes(nodes.length, 4);
+			edgeBytes += 2 * MemoryLayout.arrayBytes(outTargets.length, 4);
+		}
+
+		StronglyConnectedComponents computed = base.components;
+
+		if (computed != null) {
+			nodeBytes += computed.getBytes();
+		}
+
+		return new MemoryFootprint("IndexedGraph", nodes.length, outTargets.length, nodeBytes, edgeBytes,
+				estimate.getFixedBytes());
+	}
+
+	/**
+	 * @return The estimated footprint of a snapshot with the given number of
+	 *         nodes and edges.
+	 */
+	static MemoryFootprint estimateFootprint(int size, long edgeCount) {
+		// the indices above 127 are boxed in new objects
+		long boxes = Math.max(0, size - 128) * MemoryLayout.objectBytes(0, 4);
+		long nodeBytes = MemoryLayout.referenceArrayBytes(size)
+				+ MemoryLayout.hashMapBytes(size, size * 4 / 3 + 1) + boxes
+				+ 2 * MemoryLayout.arrayBytes(size + 1, 4);
+		long edgeBytes = 4 * MemoryLayout.arrayBytes(edgeCount, 4);
+		// this object and the inbound view
+		long fixedBytes = INSTANCE_BYTES + MemoryLayout.objectBytes(1, 0);
+
+		return new MemoryFootprint("IndexedGraph", size, edgeCount, nodeBytes, edgeBytes, fixedBytes);
+	}
+
+	/**
+	 * @return The strongly connected components, computed on the first call.
+	 *         With removals, they are the ones of the snapshot before the
+	 *         removals: removing only breaks paths, so what they prove
+	 *         unreachable stays unreachable, but nodes they report as
+	 *         reachable may no longer be.
+	 */
+	StronglyConnectedComponents components() {
+		if (base != this) {
+			return base.components();
+		}
+
+		StronglyConnectedComponents result = components;
+
+		if (result == null) {
+			result = new StronglyConnectedComponents(this);
+			components = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Stamps of the removals applied to the arrays of a snapshot.
+	 */
+	private static final class Tombstones {
+		/**
+		 * Stamp of the removal of each node index (0 if it was not removed).
+		 */
+		private final int[] nodes;
+		/**
+		 * Stamp of the removal of each outbound and inbound edge position.
+		 */
+		private final int[] outEdges;
+		private final int[] inEdges;
+		/**
+		 * Last stamp given.
+		 */
+		private int stamp;
+
+		Tombstones(int size, int edgeCount) {
+			this.nodes = new int[size];
+			this.outEdges = new int[edgeCount];
+			this.inEdges = new int[edgeCount];
+			this.stamp = 0;
+		}
+	}
+
+	/**
+	 * Cursor over the rows of a compressed sparse row adjacency.
+	 */
+	private static final class RowCursor implements Cursor {
+		private final int[] offsets;
+		private final int[] targets;
+		private final int[] weights;
+		/**
+		 * Current edge.
+		 */
+		private int edge;
+		/**
+		 * End of the current row.
+		 */
+		private int end;
+
+		RowCursor(int[] offsets, int[] targets, int[] weights) {
+			this.offsets = offsets;
+			this.targets = targets;
+			this.weights = weights;
+		}
+
+		@Override
+		public void reset(int node) {
+			edge = offsets[node] - 1;
+			end = offsets[node + 1];
+		}
+
+		@Override
+		public boolean next() {
+			return ++edge < end;
+		}
+
+		@Override
+		public int target() {
+			return targets[edge];
+		}
+
+		@Override
+		public int weight() {
+			return weights[edge];
+		}
+	}
+
+	/**
+	 * Cursor over the rows of a compressed sparse row adjacency skipping the
+	 * edges removed as of a stamp, and the ones whose target was removed.
+	 */
+	private static final class LiveRowCursor implements Cursor {
+		private final int[] offsets;
+		private final int[] targets;
+		private final int[] weights;
+		private final int[] removedEdges;
+		private final int[] removedNodes;
+		private final int stamp;
+		/**
+		 * Current edge.
+		 */
+		private int edge;
+		/**
+		 * End of the current row.
+		 */
+		private int end;
+
+		LiveRowCursor(int[] offsets, int[] targets, int[] weights, int[] removedEdges, int[] removedNodes,
+				int stamp) {
+			this.offsets = offsets;
+			this.targets = targets;
+			this.weights = weights;
+			this.removedEdges = removedEdges;
+			this.removedNodes = removedNodes;
+			this.stamp = stamp;
+		}
+
+		@Override
+		public void reset(int node) {
+			edge = offsets[node] - 1;
+			end = offsets[node + 1];
+		}
+
+		@Override
+		public boolean next() {
+			while (++edge < end) {
+				int removed = removedEdges[edge];
+				int targetRemoved = removedNodes[targets[edge]];
+
+				if ((removed == 0 || removed > stamp) && (targetRemoved == 0 || targetRemoved > stamp)) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		@Override
+		public int target() {
+			return targets[edge];
+		}
+
+		@Override
+		public int weight() {
+			return weights[edge];
+		}
+	}
+}
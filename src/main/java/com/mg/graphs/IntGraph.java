@@ -0,0 +1,339 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Directed graph with weighted edges whose nodes are primitive int ids. It
+ * mirrors {@link Graph} but stores the adjacency in primitive arrays, so no
+ * boxing takes place when it is built or searched (see
+ * {@link IntPathFinder}).
+ * <p>
+ * Each node is also given a dense index in [0, {@link #size()}) following the
+ * insertion order, which is the index used by the arrays returned by
+ * {@link IntPathFinder}, and the node id of this graph as an
+ * {@link Adjacency}.
+ * </p>
+ */
+public class IntGraph implements Adjacency {
+	/**
+	 * Size of a graph, without its map and its arrays.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(IntGraph.class);
+	/**
+	 * Maps each node id to its index.
+	 */
+	private final IntIndexMap indices;
+	/**
+	 * Maps each index to its node id.
+	 */
+	private int[] nodes;
+	/**
+	 * Destination indices of the outbound edges of each node.
+	 */
+	private int[][] targets;
+	/**
+	 * Weights of the outbound edges of each node.
+	 */
+	private int[][] weights;
+	/**
+	 * Number of outbound edges of each node.
+	 */
+	private int[] degrees;
+	/**
+	 * Number of nodes.
+	 */
+	private int size;
+	/**
+	 * Number of edges.
+	 */
+	private long edgeCount;
+
+	/**
+	 * Creates an empty graph.
+	 */
+	public IntGraph() {
+		indices = new IntIndexMap();
+		nodes = new int[16];
+		targets = new int[16][];
+		weights = new int[16][];
+		degrees = new int[16];
+		size = 0;
+		edgeCount = 0;
+	}
+
+	/**
+	 * Adds a node to this graph.
+	 *
+	 * @param node
+	 *            id of the node to be added to this graph
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the graph already contains the given node
+	 */
+	public void addNode(int node) {
+		checkAddNodeArgs(node);
+
+		if (size == nodes.length) {
+			int capacity = size * 2;
+
+			nodes = Arrays.copyOf(nodes, capacity);
+			targets = Arrays.copyOf(targets, capacity);
+			weights = Arrays.copyOf(weights, capacity);
+			degrees = Arrays.copyOf(degrees, capacity);
+		}
+
+		indices.put(node, size);
+		nodes[size] = node;
+		targets[size] = EMPTY;
+		weights[size] = EMPTY;
+		size++;
+	}
+
+	private void checkAddNodeArgs(int node) {
+		if (indices.get(node) >= 0) {
+			throw new IllegalArgumentException("already existing node");
+		}
+	}
+
+	/**
+	 * Adds an edge to this graph.
+	 *
+	 * @param source
+	 *            source node id
+	 * @param destination
+	 *            destination node id
+	 * @param weight
+	 *            edge weight
+	 *
+	 * @throws IllegalArgumentException
+	 *             if weight is less than one
+	 * @throws IllegalArgumentException
+	 *             if source is equal to destination (no loops allowed)
+	 * @throws IllegalArgumentException
+	 *             if source does not belong to this graph
+	 * @throws IllegalArgumentException
+	 *             if destination does not belong to this graph
+	 * @throws IllegalArgumentException
+	 *             if this graph already contains an edge with this source and
+	 *             destination
+	 */
+	public void addEdge(int source, int destination, int weight) {
+		checkAddEdgeArgs(source, destination, weight);
+
+		int from = indices.get(source);
+		int degree = degrees[from];
+
+		if (degree == targets[from].length) {
+			int capacity = Math.max(4, degree * 2);
+
+			targets[from] = Arrays.copyOf(targets[from], capacity);
+			weights[from] = Arrays.copyOf(weights[from], capacity);
+		}
+
+		targets[from][degree] = indices.get(destination);
+		weights[from][degree] = weight;
+		degrees[from]++;
+		edgeCount++;
+	}
+
+	private void checkAddEdgeArgs(int source, int destination, int weight) {
+		if (weight < 1) {
+			throw new IllegalArgumentException("weight is less than one");
+		}
+
+		if (source == destination) {
+			throw new IllegalArgumentException("source is equal to destination");
+		}
+
+		int from = indices.get(source);
+		int to = indices.get(destination);
+
+		if (from < 0) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (to < 0) {
+			throw new IllegalArgumentException("destination not found");
+		}
+
+		for (int i = 0; i < degrees[from]; i++) {
+			if (targets[from][i] == to) {
+				throw new IllegalArgumentException("already existing edge");
+			}
+		}
+	}
+
+	/**
+	 * @return The number of nodes of this graph.
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return The number of edges of this graph.
+	 */
+	public long edgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * Estimates the heap size of this graph from the lengths of its arrays.
+	 *
+	 * @return The footprint of this graph.
+	 */
+	public MemoryFootprint getFootprint() {
+		long nodeBytes = indices.getBytes() + 2 * MemoryLayout.arrayBytes(nodes.length, 4)
+				+ 2 * MemoryLayout.referenceArrayBytes(targets.length);
+		long edgeBytes = 0;
+
+		for (int i = 0; i < size; i++) {
+			if (targets[i] != EMPTY) {
+				edgeBytes += MemoryLayout.arrayBytes(targets[i].length, 4)
+						+ MemoryLayout.arrayBytes(weights[i].length, 4);
+			}
+		}
+
+		return new MemoryFootprint("IntGraph", size, edgeCount, nodeBytes, edgeBytes, INSTANCE_BYTES);
+	}
+
+	/**
+	 * Estimates the heap size of a graph with the given number of nodes and
+	 * edges, assuming the edges are spread evenly among the nodes.
+	 *
+	 * @param nodes
+	 *            the number of nodes
+	 * @param edges
+	 *            the number of edges
+	 *
+	 * @return The estimated footprint.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if nodes or edges is negative
+	 */
+	public static MemoryFootprint estimateFootprint(int nodes, long edges) {
+		Graph.checkEstimateFootprintArgs(nodes, edges);
+
+		long capacity = 16;
+
+		while (capacity < nodes) {
+			capacity *= 2;
+		}
+
+		long nodeBytes = IntIndexMap.estimateBytes(nodes) + 2 * MemoryLayout.arrayBytes(capacity, 4)
+				+ 2 * MemoryLayout.referenceArrayBytes(capacity);
+		long edgeBytes = 0;
+
+		if (nodes > 0) {
+			long degree = edges / nodes;
+			long higher = edges % nodes;
+
+			// higher nodes have one more edge than the others
+			edgeBytes = (nodes - higher) * rowBytes(degree) + higher * rowBytes(degree + 1);
+		}
+
+		return new MemoryFootprint("IntGraph", nodes, edges, nodeBytes, edgeBytes, INSTANCE_BYTES);
+	}
+
+	/**
+	 * @return The size of the targets and weights of a node with the given
+	 *         degree.
+	 */
+	private static long rowBytes(long degree) {
+		if (degree == 0) {
+			return 0;
+		}
+
+		long capacity = 4;
+
+		while (capacity < degree) {
+			capacity *= 2;
+		}
+
+		return 2 * MemoryLayout.arrayBytes(capacity, 4);
+	}
+
+	/**
+	 * @return True if this graph contains the given node.
+	 */
+	public boolean containsNode(int node) {
+		return indices.get(node) >= 0;
+	}
+
+	/**
+	 * @return The index of the given node or -1 if it does not belong to this
+	 *         graph.
+	 */
+	public int indexOf(int node) {
+		return indices.get(node);
+	}
+
+	/**
+	 * @return The id of the node at the given index.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if index is not in [0, size())
+	 */
+	public int getNode(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index out of bounds");
+		}
+
+		return nodes[index];
+	}
+
+	/**
+	 * Creates a cursor over the outbound edges of the nodes, identified by
+	 * index. It reads this graph in place, so it sees the edges added after
+	 * its creation.
+	 */
+	@Override
+	public Cursor cursor() {
+		return new IndexCursor();
+	}
+
+	/**
+	 * Shared adjacency of nodes without outbound edges.
+	 */
+	private static final int[] EMPTY = new int[0];
+
+	/**
+	 * Cursor over the outbound edges of a node.
+	 */
+	private final class IndexCursor implements Cursor {
+		private int[] nodeTargets;
+		private int[] nodeWeights;
+		/**
+		 * Current edge.
+		 */
+		private int edge;
+		/**
+		 * Number of edges of the current node.
+		 */
+		private int degree;
+
+		@Override
+		public void reset(int node) {
+			nodeTargets = targets[node];
+			nodeWeights = weights[node];
+			degree = degrees[node];
+			edge = -1;
+		}
+
+		@Override
+		public boolean next() {
+			return ++edge < degree;
+		}
+
+		@Override
+		public int target() {
+			return nodeTargets[edge];
+		}
+
+		@Override
+		public int weight() {
+			return nodeWeights[edge];
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from int keys to non negative int values, used to
+ * map node ids to dense indices without boxing.
+ */
+class IntIndexMap {
+	/**
+	 * Value stored in empty slots.
+	 */
+	private static final int EMPTY = -1;
+	/**
+	 * Size of a map, without its arrays.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(IntIndexMap.class);
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+
+	/**
+	 * Creates an empty map.
+	 */
+	IntIndexMap() {
+		keys = new int[16];
+		values = new int[16];
+		size = 0;
+
+		Arrays.fill(values, EMPTY);
+	}
+
+	/**
+	 * @return The value mapped to the given key or -1 if there is none.
+	 */
+	int get(int key) {
+		int mask = keys.length - 1;
+
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			if (values[slot] == EMPTY || keys[slot] == key) {
+				return values[slot];
+			}
+		}
+	}
+
+	/**
+	 * Maps the given key to the given (non negative) value.
+	 */
+	void put(int key, int value) {
+		if ((size + 1) * 4 > keys.length * 3) {
+			grow();
+		}
+
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+
+		while (values[slot] != EMPTY && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+
+		if (values[slot] == EMPTY) {
+			size++;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return The size of this map (see {@link MemoryLayout}).
+	 */
+	long getBytes() {
+		return INSTANCE_BYTES + 2 * MemoryLayout.arrayBytes(keys.length, 4);
+	}
+
+	/**
+	 * @return The size of a map holding the given number of entries.
+	 */
+	static long estimateBytes(int entries) {
+		long capacity = 16;
+
+		while (entries * 4L > capacity * 3) {
+			capacity *= 2;
+		}
+
+		return INSTANCE_BYTES + 2 * MemoryLayout.arrayBytes(capacity, 4);
+	}
+
+	private void grow() {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+
+		keys = new int[oldKeys.length * 2];
+		values = new int[oldValues.length * 2];
+		size = 0;
+
+		Arrays.fill(values, EMPTY);
+
+		for (int slot = 0; slot < oldKeys.length; slot++) {
+			if (oldValues[slot] != EMPTY) {
+				put(oldKeys[slot], oldValues[slot]);
+			}
+		}
+	}
+
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+
+		return h ^ (h >>> 16);
+	}
+}
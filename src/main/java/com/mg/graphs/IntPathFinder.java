@@ -0,0 +1,224 @@
+package com.mg.graphs;
+
+import java.util.List;
+
+/**
+ * Searches the shortest path from a source node to all the other nodes of an
+ * {@link IntGraph}. It mirrors {@link PathFinder}, but keeps the distances and
+ * predecessors in primitive arrays indexed by node index (it runs an
+ * {@link AdjacencyPathFinder} on the graph, translating the node ids).
+ */
+public class IntPathFinder {
+	/**
+	 * Graph treated by the last search (null before the first one).
+	 */
+	private IntGraph graph;
+	/**
+	 * Search engine, working on node indices.
+	 */
+	private final AdjacencyPathFinder finder;
+
+	/**
+	 * Creates a new path finder.
+	 */
+	public IntPathFinder() {
+		graph = null;
+		finder = new AdjacencyPathFinder("IntPathFinder");
+	}
+
+	/**
+	 * Sets a listener which receives the counters of every search run by this
+	 * path finder (see {@link PathFinder#setSearchListener(SearchListener)}).
+	 *
+	 * @param listener
+	 *            the listener reference or null to remove the current one
+	 */
+	public void setSearchListener(SearchListener listener) {
+		finder.setSearchListener(listener);
+	}
+
+	/**
+	 * <p>
+	 * Computes the shortest paths from a source node to all the other nodes of
+	 * a directed weighted graph.
+	 * </p>
+	 * <p>
+	 * The info can be retrieved using the following methods:
+	 * </p>
+	 * <ul>
+	 * <li>{@link #getDist(int)}</li>
+	 * <li>{@link #getPrev(int)}</li>
+	 * <li>{@link #getDistances()}</li>
+	 * <li>{@link #getPredecessors()}</li>
+	 * </ul>
+	 *
+	 * @param graph
+	 *            the graph reference
+	 * @param source
+	 *            the source node id
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the source node
+	 */
+	public void findPath(IntGraph graph, int source) {
+		checkFindPathArgs(graph, source);
+
+		this.graph = graph;
+		finder.findPath(graph, graph.indexOf(source));
+	}
+
+	private void checkFindPathArgs(IntGraph graph, int source) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (!graph.containsNode(source)) {
+			throw new IllegalArgumentException("source not found");
+		}
+	}
+
+	/**
+	 * @return The distance from source to the given node or
+	 *         {@link Integer#MAX_VALUE} if the given node is unreachable.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(IntGraph, int)}
+	 * @throws IllegalArgumentException
+	 *             if the given node does not belong to the treated graph
+	 */
+	public int getDist(int node) {
+		return finder.getDist(checkNodeCall(node, "getDist"));
+	}
+
+	/**
+	 * @return The ids of the previous nodes in the shortest paths from source.
+	 *         It returns an empty array if the given node is unreachable or
+	 *         equal to source, and it might return more than one node if there
+	 *         are multiple paths.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(IntGraph, int)}
+	 * @throws IllegalArgumentException
+	 *             if the given node does not belong to the treated graph
+	 */
+	public int[] getPrev(int node) {
+		int[] result = finder.getPrev(checkNodeCall(node, "getPrev"));
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = graph.getNode(result[i]);
+		}
+
+		return result;
+	}
+
+	private int checkNodeCall(int node, String method) {
+		if (graph == null) {
+			throw new IllegalStateException("calling " + method + " before calling findPath");
+		}
+
+		int index = graph.indexOf(node);
+
+		if (index < 0) {
+			throw new IllegalArgumentException("node not found");
+		}
+
+		return index;
+	}
+
+	/**
+	 * @return The distance from source of every node, indexed by node index
+	 *         (see {@link IntGraph#indexOf(int)}), with
+	 *         {@link Integer#MAX_VALUE} for the unreachable nodes.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(IntGraph, int)}
+	 */
+	public int[] getDistances() {
+		if (graph == null) {
+			throw new IllegalStateException("calling getDistances before calling findPath");
+		}
+
+		return finder.getDistances();
+	}
+
+	/**
+	 * @return The index of a previous node in a shortest path from source for
+	 *         every node, indexed by node index (see
+	 *         {@link IntGraph#indexOf(int)}), with -1 for source and the
+	 *         unreachable nodes.
+	 *
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(IntGraph, int)}
+	 */
+	public int[] getPredecessors() {
+		if (graph == null) {
+			throw new IllegalStateException("calling getPredecessors before calling findPath");
+		}
+
+		return finder.getPredecessors();
+	}
+
+	/**
+	 * Gets all the shortest paths from source to destination.
+	 *
+	 * @param graph
+	 *            the given graph
+	 * @param source
+	 *            the source node id
+	 * @param destination
+	 *            the destination node id
+	 *
+	 * @return A list containing all the shortest paths from source to
+	 *         destination. If destination is unreachable then it returns an
+	 *         empty list. Each path consists of an array of node ids, listed in
+	 *         order from source to destination.
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws IllegalArgumentException
+	 *             if source and destination are equals
+	 * @throws IllegalArgumentException
+	 *             if source does not belong to the given graph
+	 * @throws IllegalArgumentException
+	 *             if destination does not belong to the given graph
+	 */
+	public List<int[]> getPaths(IntGraph graph, int source, int destination) {
+		checkGetPathsArgs(graph, source, destination);
+
+		this.graph = graph;
+
+		List<int[]> paths = finder.getPaths(graph, graph.indexOf(source), graph.indexOf(destination));
+
+		for (int[] path : paths) {
+			for (int i = 0; i < path.length; i++) {
+				path[i] = graph.getNode(path[i]);
+			}
+		}
+
+		return paths;
+	}
+
+	private void checkGetPathsArgs(IntGraph graph, int source, int destination) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (source == destination) {
+			throw new IllegalArgumentException("source is equal to destination");
+		}
+
+		if (!graph.containsNode(source)) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (!graph.containsNode(destination)) {
+			throw new IllegalArgumentException("destination not found");
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.mg.graphs;
+
+/**
+ * Strategies used to select the landmarks of an ALT preprocessing.
+ */
+public enum LandmarkSelection {
+	/**
+	 * Each landmark is the node which is farthest from the landmarks already
+	 * selected (unreachable nodes are considered the farthest ones).
+	 */
+	FARTHEST,
+	/**
+	 * Each landmark is a leaf of a shortest path tree grown from a random
+	 * root, chosen in the subtree whose nodes have the worst lower bounds with
+	 * the landmarks already selected (the "avoid" heuristic).
+	 */
+	AVOID
+}
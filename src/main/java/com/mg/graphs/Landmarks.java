@@ -0,0 +1,417 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * ALT (A*, landmarks and triangle inequality) preprocessing of a directed
+ * weighted graph. A few landmark nodes are selected and the distances from
+ * each landmark to every node (forward) and from every node to each landmark
+ * (backward) are stored, so lower bounds of the distance between any two
+ * nodes can be computed without coordinates.
+ *
+ * @param <E>
+ *            the type of elements maintained by the given graph
+ */
+public class Landmarks<E> {
+	/**
+	 * The preprocessed graph.
+	 */
+	private final GraphView<E> graph;
+	/**
+	 * Snapshot of the preprocessed graph.
+	 */
+	private final IndexedGraph<E> indexed;
+	/**
+	 * Indices of the landmarks.
+	 */
+	private final int[] landmarks;
+	/**
+	 * Distance from each landmark to each node, stored node by node (i.e., the
+	 * distance from the i-th landmark to node v is at v * count + i).
+	 */
+	private final int[] forward;
+	/**
+	 * Distance from each node to each landmark, stored node by node.
+	 */
+	private final int[] backward;
+
+	/**
+	 * Preprocesses a graph. The landmarks are selected sequentially and then
+	 * the distances to the landmarks are computed in parallel.
+	 *
+	 * @param graph
+	 *            the graph reference
+	 * @param count
+	 *            the number of landmarks
+	 * @param selection
+	 *            the landmark selection strategy
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if selection is null
+	 * @throws IllegalArgumentException
+	 *             if count is less than one
+	 * @throws IllegalArgumentException
+	 *             if count is greater than the number of nodes of the graph
+	 */
+	public Landmarks(GraphView<E> graph, int count, LandmarkSelection selection) {
+		checkLandmarksArgs(graph, count, selection);
+
+		this.graph = graph;
+		this.indexed = graph.compacted();
+		this.landmarks = new int[count];
+
+		int[][] forwardRows = new int[count][];
+
+		if (selection == LandmarkSelection.FARTHEST) {
+			selectFarthest(forwardRows);
+		} else {
+			selectAvoid(forwardRows);
+		}
+
+		int[][] backwardRows = new int[count][];
+
+		IntStream.range(0, count).parallel().forEach((i) -> backwardRows[i] = search(indexed.getInOffsets(),
+				indexed.getInSources(), indexed.getInWeights(), landmarks[i], null, null));
+
+		int size = indexed.size();
+
+		forward = new int[size * count];
+		backward = new int[size * count];
+
+		IntStream.range(0, size).parallel().forEach((v) -> {
+			for (int i = 0; i < count; i++) {
+				forward[v * count + i] = forwardRows[i][v];
+				backward[v * count + i] = backwardRows[i][v];
+			}
+		});
+	}
+
+	private void checkLandmarksArgs(GraphView<E> graph, int count, LandmarkSelection selection) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (selection == null) {
+			throw new NullPointerException("selection is null");
+		}
+
+		if (count < 1) {
+			throw new IllegalArgumentException("count is less than one");
+		}
+
+		if (count > graph.getNodes().size()) {
+			throw new IllegalArgumentException("count is greater than the number of nodes");
+		}
+	}
+
+	private void selectFarthest(int[][] forwardRows) {
+		long[] minDist = new long[indexed.size()];
+
+		Arrays.fill(minDist, Long.MAX_VALUE);
+
+		// the first landmark is the farthest node from an arbitrary one
+		int[] dist = searchForward(0, null, null);
+		int landmark = farthest(dist);
+
+		for (int i = 0; i < landmarks.length; i++) {
+			landmarks[i] = landmark;
+			forwardRows[i] = searchForward(landmark, null, null);
+
+			for (int v = 0; v < minDist.length; v++) {
+				if (forwardRows[i][v] != Integer.MAX_VALUE) {
+					minDist[v] = Math.min(minDist[v], forwardRows[i][v]);
+				}
+			}
+
+			minDist[landmark] = -1;
+			landmark = argMax(minDist);
+		}
+	}
+
+	private void selectAvoid(int[][] forwardRows) {
+		int size = indexed.size();
+		Random random = new Random(size);
+		boolean[] selected = new boolean[size];
+		long[] minDist = new long[size];
+		int[] parent = new int[size];
+		int[] order = new int[size];
+		long[] subtree = new long[size];
+		int[] bestChild = new int[size];
+
+		Arrays.fill(minDist, Long.MAX_VALUE);
+
+		for (int i = 0; i < landmarks.length; i++) {
+			int landmark = -1;
+
+			if (i == 0) {
+				landmark = farthest(searchForward(random.nextInt(size), null, null));
+			} else {
+				int root = random.nextInt(size);
+				int[] dist = searchForward(root, parent, order);
+
+				Arrays.fill(subtree, 0);
+				Arrays.fill(bestChild, -1);
+
+				// weight each node with the gap between its distance from root
+				// and the best lower bound, then accumulate the subtrees
+				// bottom-up (subtrees containing a landmark are discarded)
+				for (int k = order.length - 1; k >= 0; k--) {
+					int v = order[k];
+
+					if (v < 0) {
+						continue;
+					}
+
+					if (selected[v]) {
+						subtree[v] = -1;
+					} else if (subtree[v] >= 0) {
+						subtree[v] += dist[v] - lowerBound(forwardRows, i, root, v);
+					}
+
+					int p = parent[v];
+
+					if (p >= 0 && subtree[p] >= 0) {
+						if (subtree[v] < 0) {
+							subtree[p] = -1;
+						} else {
+							subtree[p] += subtree[v];
+
+							if (bestChild[p] < 0 || subtree[bestChild[p]] < subtree[v]) {
+								bestChild[p] = v;
+							}
+						}
+					}
+				}
+
+				long best = 0;
+
+				for (int v = 0; v < size; v++) {
+					if (subtree[v] > best) {
+						best = subtree[v];
+						landmark = v;
+					}
+				}
+
+				if (landmark >= 0) {
+					while (bestChild[landmark] >= 0) {
+						landmark = bestChild[landmark];
+					}
+				} else {
+					// nothing left to avoid, fall back to the farthest node
+					landmark = argMax(minDist);
+				}
+			}
+
+			selected[landmark] = true;
+			landmarks[i] = landmark;
+			forwardRows[i] = searchForward(landmark, null, null);
+
+			for (int v = 0; v < size; v++) {
+				if (forwardRows[i][v] != Integer.MAX_VALUE) {
+					minDist[v] = Math.min(minDist[v], forwardRows[i][v]);
+				}
+			}
+
+			minDist[landmark] = -1;
+		}
+	}
+
+	/**
+	 * @return The best lower bound of the distance from root to v given by the
+	 *         first count landmarks.
+	 */
+	private static int lowerBound(int[][] forwardRows, int count, int root, int v) {
+		int bound = 0;
+
+		for (int i = 0; i < count; i++) {
+			int fromRoot = forwardRows[i][root];
+			int fromV = forwardRows[i][v];
+
+			if (fromRoot != Integer.MAX_VALUE && fromV != Integer.MAX_VALUE) {
+				bound = Math.max(bound, fromV - fromRoot);
+			}
+		}
+
+		return bound;
+	}
+
+	/**
+	 * @return The farthest node in dist (unreachable nodes first).
+	 */
+	private static int farthest(int[] dist) {
+		int result = 0;
+
+		for (int v = 1; v < dist.length; v++) {
+			if (dist[v] > dist[result]) {
+				result = v;
+			}
+		}
+
+		return result;
+	}
+
+	private static int argMax(long[] values) {
+		int result = 0;
+
+		for (int v = 1; v < values.length; v++) {
+			if (values[v] > values[result]) {
+				result = v;
+			}
+		}
+
+		return result;
+	}
+
+	private int[] searchForward(int source, int[] parent, int[] order) {
+		return search(indexed.getOutOffsets(), indexed.getOutTargets(), indexed.getOutWeights(), source, parent,
+				order);
+	}
+
+	/**
+	 * Runs a plain Dijkstra search over an adjacency in compressed sparse row
+	 * form.
+	 *
+	 * @param parent
+	 *            if not null, it is filled with the parent of each node in the
+	 *            shortest path tree (-1 for the source and unreachable nodes)
+	 * @param order
+	 *            if not null, it is filled with the nodes in the order they
+	 *            were settled (-1 for the unused tail)
+	 *
+	 * @return The distance from source to each node.
+	 */
+	private static int[] search(int[] offsets, int[] targets, int[] weights, int source, int[] parent,
+			int[] order) {
+		int[] dist = new int[offsets.length - 1];
+		boolean[] settled = new boolean[dist.length];
+		NodeQueue queue = new NodeQueue();
+		int settledCount = 0;
+
+		Arrays.fill(dist, Integer.MAX_VALUE);
+
+		if (parent != null) {
+			Arrays.fill(parent, -1);
+		}
+
+		if (order != null) {
+			Arrays.fill(order, -1);
+		}
+
+		dist[source] = 0;
+		queue.add(source, 0);
+
+		while (!queue.isEmpty()) {
+			int u = queue.poll();
+
+			if (settled[u]) {
+				continue;
+			}
+
+			settled[u] = true;
+
+			if (order != null) {
+				order[settledCount] = u;
+			}
+
+			settledCount++;
+
+			for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+				int v = targets[e];
+				int alt = dist[u] + weights[e];
+
+				if (alt < dist[v]) {
+					dist[v] = alt;
+					queue.add(v, alt);
+
+					if (parent != null) {
+						parent[v] = u;
+					}
+				}
+			}
+		}
+
+		return dist;
+	}
+
+	/**
+	 * @return The landmark nodes.
+	 */
+	public List<E> getLandmarks() {
+		List<E> result = new ArrayList<>(landmarks.length);
+
+		for (int landmark : landmarks) {
+			result.add(indexed.getNode(landmark));
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * @return The preprocessed graph.
+	 */
+	GraphView<E> getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return The snapshot the distances were computed on.
+	 */
+	IndexedGraph<E> getIndexed() {
+		return indexed;
+	}
+
+	/**
+	 * @return True if the preprocessed graph has not been modified since the
+	 *         preprocessing.
+	 */
+	boolean isCurrent() {
+		return graph.indexed() == indexed;
+	}
+
+	/**
+	 * Computes a lower bound of the distance from v to t, using the triangle
+	 * inequality on every landmark L: d(v, t) &gt;= d(L, t) - d(L, v) and d(v,
+	 * t) &gt;= d(v, L) - d(t, L).
+	 *
+	 * @return The lower bound or {@link Integer#MAX_VALUE} if t is proved to
+	 *         be unreachable from v.
+	 */
+	int lowerBound(int v, int t) {
+		int count = landmarks.length;
+		int bound = 0;
+
+		for (int i = 0; i < count; i++) {
+			int fromLandmarkToT = forward[t * count + i];
+			int fromLandmarkToV = forward[v * count + i];
+			int fromVToLandmark = backward[v * count + i];
+			int fromTToLandmark = backward[t * count + i];
+
+			if (fromLandmarkToT == Integer.MAX_VALUE) {
+				if (fromLandmarkToV != Integer.MAX_VALUE) {
+					// otherwise the landmark would reach t through v
+					return Integer.MAX_VALUE;
+				}
+			} else if (fromLandmarkToV != Integer.MAX_VALUE) {
+				bound = Math.max(bound, fromLandmarkToT - fromLandmarkToV);
+			}
+
+			if (fromVToLandmark == Integer.MAX_VALUE) {
+				if (fromTToLandmark != Integer.MAX_VALUE) {
+					// otherwise v would reach the landmark through t
+					return Integer.MAX_VALUE;
+				}
+			} else if (fromTToLandmark != Integer.MAX_VALUE) {
+				bound = Math.max(bound, fromVToLandmark - fromTToLandmark);
+			}
+		}
+
+		return bound;
+	}
+}
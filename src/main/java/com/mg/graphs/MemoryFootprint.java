@@ -0,0 +1,123 @@
+package com.mg.graphs;
+
+/**
+ * Estimated heap size of a graph representation or of a search, split into
+ * the bytes which grow with the nodes, the bytes which grow with the edges
+ * and the fixed rest (see {@link MemoryLayout}). The nodes themselves (the
+ * elements held by a {@link Graph}, the labels of a
+ * {@link com.giordans.graphs.SimpleGraph}) are not counted, since they are
+ * owned by the caller.
+ * <p>
+ * The footprints of different representations of the same graph can be
+ * compared to choose one, and {@link #getBytesPerNode()} and
+ * {@link #getBytesPerEdge()} extrapolate a footprint to a larger graph.
+ * </p>
+ */
+public final class MemoryFootprint {
+	/**
+	 * Name of the representation.
+	 */
+	private final String representation;
+	/**
+	 * Number of nodes and edges.
+	 */
+	private final long nodes;
+	private final long edges;
+	/**
+	 * Bytes growing with the nodes, with the edges, and neither.
+	 */
+	private final long nodeBytes;
+	private final long edgeBytes;
+	private final long fixedBytes;
+
+	/**
+	 * Creates a new footprint.
+	 */
+	public MemoryFootprint(String representation, long nodes, long edges, long nodeBytes, long edgeBytes,
+			long fixedBytes) {
+		this.representation = representation;
+		this.nodes = nodes;
+		this.edges = edges;
+		this.nodeBytes = nodeBytes;
+		this.edgeBytes = edgeBytes;
+		this.fixedBytes = fixedBytes;
+	}
+
+	/**
+	 * @return The footprint of this structure and the given one held with it
+	 *         (for the same nodes and edges), under the name of this one.
+	 */
+	public MemoryFootprint plus(MemoryFootprint other) {
+		return new MemoryFootprint(representation, nodes, edges, nodeBytes + other.nodeBytes,
+				edgeBytes + other.edgeBytes, fixedBytes + other.fixedBytes);
+	}
+
+	/**
+	 * @return The name of the representation.
+	 */
+	public String getRepresentation() {
+		return representation;
+	}
+
+	/**
+	 * @return The number of nodes.
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return The number of edges.
+	 */
+	public long getEdges() {
+		return edges;
+	}
+
+	/**
+	 * @return The bytes growing with the number of nodes.
+	 */
+	public long getNodeBytes() {
+		return nodeBytes;
+	}
+
+	/**
+	 * @return The bytes growing with the number of edges.
+	 */
+	public long getEdgeBytes() {
+		return edgeBytes;
+	}
+
+	/**
+	 * @return The bytes which do not depend on the number of nodes and edges.
+	 */
+	public long getFixedBytes() {
+		return fixedBytes;
+	}
+
+	/**
+	 * @return The total number of bytes.
+	 */
+	public long getTotalBytes() {
+		return nodeBytes + edgeBytes + fixedBytes;
+	}
+
+	/**
+	 * @return The mean number of bytes per node (0 without nodes).
+	 */
+	public double getBytesPerNode() {
+		return nodes > 0 ? (double) nodeBytes / nodes : 0;
+	}
+
+	/**
+	 * @return The mean number of bytes per edge (0 without edges).
+	 */
+	public double getBytesPerEdge() {
+		return edges > 0 ? (double) edgeBytes / edges : 0;
+	}
+
+	@Override
+	public String toString() {
+		return "MemoryFootprint [representation=" + representation + ", nodes=" + nodes + ", edges=" + edges
+				+ ", nodeBytes=" + nodeBytes + ", edgeBytes=" + edgeBytes + ", fixedBytes=" + fixedBytes + "]";
+	}
+}
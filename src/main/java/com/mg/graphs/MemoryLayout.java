@@ -0,0 +1,225 @@
+package com.mg.graphs;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * Sizes of objects and arrays on the heap of the running virtual machine,
+ * used to estimate the memory footprint of the graphs and searches (see
+ * {@link MemoryFootprint}).
+ * <p>
+ * The sizes follow the layout of HotSpot on 64-bit platforms: a header of 12
+ * bytes (16 without compressed class pointers), references of 4 bytes (8
+ * without compressed references), arrays with an extra 4 bytes for their
+ * length, and every object padded to a multiple of 8 bytes. The options are
+ * read from the virtual machine when possible, and otherwise guessed from
+ * the maximum heap size (compressed references are the default below 32 GB).
+ * </p>
+ */
+public final class MemoryLayout {
+	/**
+	 * Alignment of the objects.
+	 */
+	private static final int ALIGNMENT = 8;
+	/**
+	 * Size of a reference.
+	 */
+	private static final int REFERENCE_BYTES;
+	/**
+	 * Size of the header of an object.
+	 */
+	private static final int HEADER_BYTES;
+
+	static {
+		boolean compressedReferences = Runtime.getRuntime().maxMemory() < 32L << 30;
+		boolean compressedClasses = compressedReferences;
+
+		try {
+			HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+
+			compressedReferences = Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue());
+			compressedClasses = Boolean.parseBoolean(bean.getVMOption("UseCompressedClassPointers").getValue());
+		} catch (RuntimeException | LinkageError e) {
+			// not a HotSpot virtual machine: keep the guess
+		}
+
+		REFERENCE_BYTES = compressedReferences ? 4 : 8;
+		HEADER_BYTES = compressedClasses ? 12 : 16;
+	}
+
+	private MemoryLayout() {
+	}
+
+	/**
+	 * @return The size of a reference.
+	 */
+	public static int referenceBytes() {
+		return REFERENCE_BYTES;
+	}
+
+	/**
+	 * @return The size of an object with the given fields.
+	 *
+	 * @param references
+	 *            the number of reference fields
+	 * @param primitiveBytes
+	 *            the total size of the primitive fields
+	 */
+	public static long objectBytes(int references, int primitiveBytes) {
+		return align(HEADER_BYTES + (long) references * REFERENCE_BYTES + primitiveBytes);
+	}
+
+	/**
+	 * @return The size of an instance of the given class, from its instance
+	 *         fields and the inherited ones (not counting the referenced
+	 *         objects), so the footprints follow the fields as they change.
+	 *
+	 * @param type
+	 *            the class reference
+	 *
+	 * @throws NullPointerException
+	 *             if type is null
+	 */
+	public static long instanceBytes(Class<?> type) {
+		if (type == null) {
+			throw new NullPointerException("type is null");
+		}
+
+		int references = 0;
+		int primitiveBytes = 0;
+
+		for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers())) {
+					Class<?> fieldType = field.getType();
+
+					if (!fieldType.isPrimitive()) {
+						references++;
+					} else if (fieldType == long.class || fieldType == double.class) {
+						primitiveBytes += 8;
+					} else if (fieldType == int.class || fieldType == float.class) {
+						primitiveBytes += 4;
+					} else if (fieldType == short.class || fieldType == char.class) {
+						primitiveBytes += 2;
+					} else {
+						primitiveBytes += 1;
+					}
+				}
+			}
+		}
+
+		return objectBytes(references, primitiveBytes);
+	}
+
+	/**
+	 * @return The size of an array of primitives.
+	 *
+	 * @param length
+	 *            the length of the array
+	 * @param elementBytes
+	 *            the size of an element
+	 */
+	public static long arrayBytes(long length, int elementBytes) {
+		return align(HEADER_BYTES + 4 + length * elementBytes);
+	}
+
+	/**
+	 * @return The size of an array of references (not counting the referenced
+	 *         objects).
+	 *
+	 * @param length
+	 *            the length of the array
+	 */
+	public static long referenceArrayBytes(long length) {
+		return arrayBytes(length, REFERENCE_BYTES);
+	}
+
+	/**
+	 * @return The size of a {@link java.util.HashMap} (or of the map behind a
+	 *         {@link java.util.HashSet}) grown by insertions to the given
+	 *         number of entries, not counting the keys and values.
+	 *
+	 * @param entries
+	 *            the number of entries
+	 */
+	public static long hashMapBytes(long entries) {
+		return hashMapBytes(entries, 16);
+	}
+
+	/**
+	 * @return The size of a {@link java.util.HashMap} created with the given
+	 *         initial capacity and holding the given number of entries, not
+	 *         counting the keys and values. The table is only allocated by
+	 *         the first insertion.
+	 *
+	 * @param entries
+	 *            the number of entries
+	 * @param initialCapacity
+	 *            the initial capacity given to the constructor
+	 */
+	public static long hashMapBytes(long entries, int initialCapacity) {
+		// keySet, values, table and entrySet, then size, modCount, threshold
+		// and loadFactor
+		long bytes = objectBytes(4, 16);
+
+		if (entries > 0) {
+			long capacity = initialCapacity > 1 ? Integer.highestOneBit(initialCapacity - 1) << 1 : 1;
+
+			while (entries > capacity * 3 / 4) {
+				capacity <<= 1;
+			}
+
+			// a node holds the hash, the key, the value and the next node
+			bytes += referenceArrayBytes(capacity) + entries * objectBytes(3, 4);
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * @return The size of a {@link ConcurrentHashMap} grown by insertions to
+	 *         the given number of entries, not counting the keys and values
+	 *         (nor the counter cells added under contention).
+	 *
+	 * @param entries
+	 *            the number of entries
+	 */
+	public static long concurrentHashMapBytes(long entries) {
+		long bytes = instanceBytes(ConcurrentHashMap.class);
+
+		if (entries > 0) {
+			long capacity = 16;
+
+			// it grows as soon as it is three quarters full
+			while (entries >= capacity * 3 / 4) {
+				capacity <<= 1;
+			}
+
+			bytes += referenceArrayBytes(capacity) + entries * objectBytes(3, 4);
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * @return The size of a {@link java.util.HashSet} grown by insertions to
+	 *         the given number of elements, not counting the elements.
+	 *
+	 * @param elements
+	 *            the number of elements
+	 */
+	public static long hashSetBytes(long elements) {
+		return objectBytes(1, 0) + hashMapBytes(elements);
+	}
+
+	/**
+	 * @return The given size rounded up to the alignment of the objects.
+	 */
+	private static long align(long bytes) {
+		return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+}
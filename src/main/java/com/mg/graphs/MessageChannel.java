@@ -0,0 +1,35 @@
+package com.mg.graphs;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Local message channel between threads: messages are received in the order
+ * they were sent. It stands for the network link between the coordinator and
+ * the workers of a {@link PartitionedPathFinder}, so the messages carry plain
+ * data only.
+ *
+ * @param <M>
+ *            the type of the messages
+ */
+final class MessageChannel<M> {
+	private final BlockingQueue<M> queue;
+
+	MessageChannel() {
+		queue = new LinkedBlockingQueue<>();
+	}
+
+	/**
+	 * Sends a message (without waiting for it to be received).
+	 */
+	void send(M message) {
+		queue.add(message);
+	}
+
+	/**
+	 * Waits for the next message.
+	 */
+	M receive() throws InterruptedException {
+		return queue.take();
+	}
+}
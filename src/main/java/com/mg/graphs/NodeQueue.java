@@ -0,0 +1,113 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of node indices ordered by an integer priority. Both values
+ * are packed into a single long, so no objects are allocated per entry.
+ * Decrease-key is not supported: a node is simply added again and callers
+ * skip the stale entries when they are polled.
+ */
+class NodeQueue {
+	/**
+	 * Size of a queue, without its heap.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(NodeQueue.class);
+	/**
+	 * Heap entries (priority in the high half, node in the low half).
+	 */
+	private long[] heap;
+	/**
+	 * Number of entries.
+	 */
+	private int size;
+
+	/**
+	 * Creates an empty queue.
+	 */
+	NodeQueue() {
+		heap = new long[16];
+		size = 0;
+	}
+
+	/**
+	 * @return The size of this queue (see {@link MemoryLayout}).
+	 */
+	long getBytes() {
+		return INSTANCE_BYTES + MemoryLayout.arrayBytes(heap.length, 8);
+	}
+
+	/**
+	 * Adds a node with the given (non negative) priority.
+	 */
+	void add(int node, int priority) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, size * 2);
+		}
+
+		long entry = ((long) priority << 32) | node;
+		int i = size++;
+
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+
+			if (heap[parent] <= entry) {
+				break;
+			}
+
+			heap[i] = heap[parent];
+			i = parent;
+		}
+
+		heap[i] = entry;
+	}
+
+	/**
+	 * @return The priority of the head entry.
+	 */
+	int peekPriority() {
+		return (int) (heap[0] >>> 32);
+	}
+
+	/**
+	 * Removes the head entry.
+	 *
+	 * @return The node of the removed entry.
+	 */
+	int poll() {
+		long head = heap[0];
+		long last = heap[--size];
+		int i = 0;
+		int half = size >>> 1;
+
+		while (i < half) {
+			int child = 2 * i + 1;
+
+			if (child + 1 < size && heap[child + 1] < heap[child]) {
+				child++;
+			}
+
+			if (last <= heap[child]) {
+				break;
+			}
+
+			heap[i] = heap[child];
+			i = child;
+		}
+
+		heap[i] = last;
+
+		return (int) head;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all the entries (the backing array is kept for reuse).
+	 */
+	void clear() {
+		size = 0;
+	}
+}
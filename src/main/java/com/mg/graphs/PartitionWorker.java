@@ -0,0 +1,197 @@
+package com.mg.graphs;
+
+/**
+ * Worker owning one part of a partitioned graph (see
+ * {@link PartitionedPathFinder}): the nodes of the part, identified by their
+ * global ids, and the edges between them. Once started it only communicates
+ * through messages, answering each request with the distances inside its
+ * part between a node and the boundary nodes of the part.
+ */
+final class PartitionWorker implements Runnable {
+	/**
+	 * Kinds of requests.
+	 */
+	enum Kind {
+		/**
+		 * Distances from a node to the boundary nodes (and to a target).
+		 */
+		FORWARD,
+		/**
+		 * Distances from the boundary nodes to a node.
+		 */
+		BACKWARD,
+		/**
+		 * Distances between every pair of boundary nodes.
+		 */
+		TABLE,
+		/**
+		 * Stops the worker.
+		 */
+		STOP
+	}
+
+	/**
+	 * Request sent to a worker.
+	 */
+	static final class Request {
+		/**
+		 * Id of the query the request belongs to, echoed by the response.
+		 */
+		final long query;
+		final Kind kind;
+		/**
+		 * Global id of the node (-1 if none).
+		 */
+		final int node;
+		/**
+		 * Global id of the target of a forward request (-1 if none).
+		 */
+		final int target;
+		final MessageChannel<Response> replyTo;
+
+		Request(long query, Kind kind, int node, int target, MessageChannel<Response> replyTo) {
+			this.query = query;
+			this.kind = kind;
+			this.node = node;
+			this.target = target;
+			this.replyTo = replyTo;
+		}
+	}
+
+	/**
+	 * Response of a worker.
+	 */
+	static final class Response {
+		/**
+		 * Id of the query of the request.
+		 */
+		final long query;
+		final Kind kind;
+		final int part;
+		/**
+		 * Distances to or from the boundary nodes, in the order of the
+		 * boundary ids of the part (for a table, one row per boundary node).
+		 */
+		final int[] distances;
+		/**
+		 * Distance to the target of a forward request.
+		 */
+		final int target;
+		/**
+		 * Failure message (null if the request succeeded).
+		 */
+		final String error;
+
+		Response(long query, Kind kind, int part, int[] distances, int target, String error) {
+			this.query = query;
+			this.kind = kind;
+			this.part = part;
+			this.distances = distances;
+			this.target = target;
+			this.error = error;
+		}
+	}
+
+	private final int part;
+	/**
+	 * Edges of the part, its nodes identified by their global ids.
+	 */
+	private final IndexedGraph<Integer> graph;
+	/**
+	 * Local indices of the boundary nodes.
+	 */
+	private final int[] boundary;
+	private final MessageChannel<Request> inbox;
+	private final AdjacencyPathFinder pathFinder;
+
+	/**
+	 * Creates a worker.
+	 *
+	 * @param part
+	 *            the part number
+	 * @param graph
+	 *            the edges of the part
+	 * @param boundary
+	 *            the global ids of the boundary nodes of the part
+	 * @param inbox
+	 *            the channel of the requests
+	 */
+	PartitionWorker(int part, IndexedGraph<Integer> graph, int[] boundary, MessageChannel<Request> inbox) {
+		this.part = part;
+		this.graph = graph;
+		this.boundary = new int[boundary.length];
+		this.inbox = inbox;
+		this.pathFinder = new AdjacencyPathFinder("PartitionWorker");
+
+		for (int i = 0; i < boundary.length; i++) {
+			this.boundary[i] = graph.indexOf(boundary[i]);
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				Request request = inbox.receive();
+
+				if (request.kind == Kind.STOP) {
+					return;
+				}
+
+				Response response;
+
+				try {
+					response = handle(request);
+				} catch (RuntimeException e) {
+					response = new Response(request.query, request.kind, part, null, Integer.MAX_VALUE,
+							String.valueOf(e));
+				}
+
+				request.replyTo.send(response);
+			}
+		} catch (InterruptedException e) {
+			// stopped
+		}
+	}
+
+	private Response handle(Request request) {
+		switch (request.kind) {
+		case FORWARD: {
+			pathFinder.findPath(graph, graph.indexOf(request.node));
+
+			int target = request.target >= 0 ? pathFinder.getDist(graph.indexOf(request.target)) : Integer.MAX_VALUE;
+
+			return new Response(request.query, Kind.FORWARD, part, boundaryDistances(), target, null);
+		}
+		case BACKWARD:
+			pathFinder.findPath(graph.inbound(), graph.indexOf(request.node));
+
+			return new Response(request.query, Kind.BACKWARD, part, boundaryDistances(), Integer.MAX_VALUE, null);
+		case TABLE: {
+			int[] table = new int[boundary.length * boundary.length];
+
+			for (int i = 0; i < boundary.length; i++) {
+				pathFinder.findPath(graph, boundary[i]);
+				System.arraycopy(boundaryDistances(), 0, table, i * boundary.length, boundary.length);
+			}
+
+			return new Response(request.query, Kind.TABLE, part, table, Integer.MAX_VALUE, null);
+		}
+		default:
+			throw new IllegalArgumentException("unexpected request " + request.kind);
+		}
+	}
+
+	/**
+	 * @return The distances of the last search to the boundary nodes.
+	 */
+	private int[] boundaryDistances() {
+		int[] result = new int[boundary.length];
+
+		for (int i = 0; i < boundary.length; i++) {
+			result[i] = pathFinder.getDist(boundary[i]);
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,444 @@
+package com.mg.graphs;
+
+/**
+ * Answers point-to-point distance queries on a graph split into parts (see
+ * {@link GraphPartition}), each owned by a worker which only communicates
+ * through messages, as the shards of a graph spread across processes would.
+ * The workers run in threads of this process.
+ * <p>
+ * On creation, each worker computes the distances inside its part between
+ * its boundary nodes (the ends of the edges between parts). With the edges
+ * between parts they form the overlay graph, kept by the coordinator. A query
+ * from s to t then asks the worker of s for the distances from s to its
+ * boundary nodes and the worker of t for the distances from its boundary
+ * nodes to t, both at the same time, and joins them with a search on the
+ * overlay (plus the distance inside the part when s and t share it). Every
+ * shortest path leaves the part of s through one of its boundary nodes and
+ * enters the part of t through another, and in between it goes from boundary
+ * node to boundary node, so the result is exact.
+ * </p>
+ * <p>
+ * Like {@link PathFinder}, an instance must not be shared by several
+ * threads. {@link #close()} stops the workers.
+ * </p>
+ *
+ * @param <E>
+ *            the type of elements maintained by the searched graph
+ */
+public class PartitionedPathFinder<E> {
+	private final GraphPartition<E> partition;
+	/**
+	 * Snapshot of the searched graph (node ids are its indices).
+	 */
+	private final IndexedGraph<E> indexed;
+	/**
+	 * Global ids of the boundary nodes of each part.
+	 */
+	private final int[][] boundary;
+	/**
+	 * Overlay id of each boundary node (-1 for the other nodes).
+	 */
+	private final int[] overlayIds;
+	/**
+	 * Distances between boundary nodes inside their part, and the edges
+	 * between parts.
+	 */
+	private final IndexedGraph<Integer> overlay;
+	/**
+	 * Channels of the requests to each worker.
+	 */
+	private final MessageChannel<PartitionWorker.Request>[] inboxes;
+	/**
+	 * Channel of the responses of the workers.
+	 */
+	private final MessageChannel<PartitionWorker.Response> replies;
+	/**
+	 * Id of the last query sent to the workers (the responses to an earlier
+	 * one, left over by a failure, are discarded).
+	 */
+	private long query;
+	private final SearchWorkspace workspace;
+	private final SearchMonitor monitor;
+	private boolean closed;
+
+	/**
+	 * Partitions a graph and starts a worker per part.
+	 *
+	 * @param graph
+	 *            the graph reference
+	 * @param parts
+	 *            the number of parts
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws IllegalArgumentException
+	 *             if parts is not positive or greater than the number of
+	 *             nodes of a non-empty graph
+	 */
+	public PartitionedPathFinder(GraphView<E> graph, int parts) {
+		this(new GraphPartition<>(graph, parts));
+	}
+
+	/**
+	 * Starts a worker per part of the given partition and computes the
+	 * overlay.
+	 *
+	 * @param partition
+	 *            the partition reference
+	 *
+	 * @throws NullPointerException
+	 *             if partition is null
+	 * @throws IllegalStateException
+	 *             if a worker failed (the workers are stopped)
+	 */
+	public PartitionedPathFinder(GraphPartition<E> partition) {
+		if (partition == null) {
+			throw new NullPointerException("partition is null");
+		}
+
+		int parts = partition.getParts();
+		@SuppressWarnings("unchecked")
+		MessageChannel<PartitionWorker.Request>[] inboxes =
+				(MessageChannel<PartitionWorker.Request>[]) new MessageChannel<?>[parts];
+
+		this.partition = partition;
+		this.indexed = partition.getIndexed();
+		this.boundary = new int[parts][];
+		this.overlayIds = new int[indexed.size()];
+		this.inboxes = inboxes;
+		this.replies = new MessageChannel<>();
+		this.query = 0;
+		this.workspace = new SearchWorkspace();
+		this.monitor = new SearchMonitor();
+		this.closed = false;
+
+		int overlaySize = 0;
+		int[] counts = new int[parts];
+
+		for (int v = 0; v < indexed.size(); v++) {
+			overlayIds[v] = partition.isBoundaryIndex(v) ? overlaySize++ : -1;
+
+			if (overlayIds[v] >= 0) {
+				counts[partition.partOf(v)]++;
+			}
+		}
+
+		for (int p = 0; p < parts; p++) {
+			boundary[p] = new int[counts[p]];
+			counts[p] = 0;
+		}
+
+		for (int v = 0; v < indexed.size(); v++) {
+			if (overlayIds[v] >= 0) {
+				int p = partition.partOf(v);
+
+				boundary[p][counts[p]++] = v;
+			}
+		}
+
+		try {
+			for (int p = 0; p < parts; p++) {
+				inboxes[p] = new MessageChannel<>();
+
+				Thread thread = new Thread(new PartitionWorker(p, slice(p), boundary[p], inboxes[p]),
+						"partition-worker-" + p);
+
+				thread.setDaemon(true);
+				thread.start();
+			}
+
+			this.overlay = buildOverlay(overlaySize);
+		} catch (RuntimeException | Error e) {
+			close();
+
+			throw e;
+		}
+	}
+
+	/**
+	 * @return The nodes of the given part and the edges between them, the
+	 *         nodes identified by their global ids (what would be shipped to a
+	 *         remote worker).
+	 */
+	private IndexedGraph<Integer> slice(int part) {
+		int[] outOffsets = indexed.getOutOffsets();
+		int[] outTargets = indexed.getOutTargets();
+		int[] outWeights = indexed.getOutWeights();
+		int[] local = new int[indexed.size()];
+		int size = 0;
+		int edges = 0;
+
+		for (int v = 0; v < indexed.size(); v++) {
+			if (partition.partOf(v) == part) {
+				local[v] = size++;
+
+				for (int e = outOffsets[v]; e < outOffsets[v + 1]; e++) {
+					if (partition.partOf(outTargets[e]) == part) {
+						edges++;
+					}
+				}
+			}
+		}
+
+		Object[] nodes = new Object[size];
+		int[] offsets = new int[size + 1];
+		int[] targets = new int[edges];
+		int[] weights = new int[edges];
+		int edge = 0;
+
+		for (int v = 0; v < indexed.size(); v++) {
+			if (partition.partOf(v) == part) {
+				nodes[local[v]] = v;
+
+				for (int e = outOffsets[v]; e < outOffsets[v + 1]; e++) {
+					if (partition.partOf(outTargets[e]) == part) {
+						targets[edge] = local[outTargets[e]];
+						weights[edge] = outWeights[e];
+						edge++;
+					}
+				}
+
+				offsets[local[v] + 1] = edge;
+			}
+		}
+
+		return new IndexedGraph<>(nodes, offsets, targets, weights);
+	}
+
+	/**
+	 * Asks every worker for the distances between its boundary nodes and
+	 * joins them with the edges between parts.
+	 */
+	private IndexedGraph<Integer> buildOverlay(int size) {
+		query++;
+
+		for (MessageChannel<PartitionWorker.Request> inbox : inboxes) {
+			inbox.send(new PartitionWorker.Request(query, PartitionWorker.Kind.TABLE, -1, -1, replies));
+		}
+
+		return GraphBuilder.build((sink) -> {
+			sink.addNodes(size);
+
+			for (int k = 0; k < inboxes.length; k++) {
+				PartitionWorker.Response response = receive();
+				int[] ids = boundary[response.part];
+
+				for (int i = 0; i < ids.length; i++) {
+					for (int j = 0; j < ids.length; j++) {
+						int distance = response.distances[i * ids.length + j];
+
+						if (i != j && distance != Integer.MAX_VALUE) {
+							sink.addEdge(overlayIds[ids[i]], overlayIds[ids[j]], distance);
+						}
+					}
+				}
+			}
+
+			int[] outOffsets = indexed.getOutOffsets();
+			int[] outTargets = indexed.getOutTargets();
+			int[] outWeights = indexed.getOutWeights();
+
+			for (int v = 0; v < indexed.size(); v++) {
+				for (int e = outOffsets[v]; e < outOffsets[v + 1]; e++) {
+					if (partition.partOf(outTargets[e]) != partition.partOf(v)) {
+						sink.addEdge(overlayIds[v], overlayIds[outTargets[e]], outWeights[e]);
+					}
+				}
+			}
+		}).indexed();
+	}
+
+	/**
+	 * Waits for the next response to the current query, discarding the ones
+	 * to earlier queries.
+	 */
+	private PartitionWorker.Response receive() {
+		PartitionWorker.Response response;
+
+		try {
+			do {
+				response = replies.receive();
+			} while (response.query != query);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+			throw new IllegalStateException("interrupted while waiting for a worker", e);
+		}
+
+		if (response.error != null) {
+			throw new IllegalStateException("worker " + response.part + " failed: " + response.error);
+		}
+
+		return response;
+	}
+
+	/**
+	 * Sets a listener which receives the counters of the overlay search of
+	 * every query (see {@link PathFinder#setSearchListener(SearchListener)}).
+	 *
+	 * @param listener
+	 *            the listener reference or null to remove the current one
+	 */
+	public void setSearchListener(SearchListener listener) {
+		monitor.setListener(listener);
+	}
+
+	/**
+	 * @return The partition of the searched graph.
+	 */
+	public GraphPartition<E> getPartition() {
+		return partition;
+	}
+
+	/**
+	 * @return The number of nodes of the overlay graph (the boundary nodes).
+	 */
+	public int getOverlaySize() {
+		return overlay.size();
+	}
+
+	/**
+	 * @return The number of edges of the overlay graph.
+	 */
+	public int getOverlayEdgeCount() {
+		return overlay.edgeCount();
+	}
+
+	/**
+	 * Computes the distance from source to destination.
+	 *
+	 * @param source
+	 *            the source node reference
+	 * @param destination
+	 *            the destination node reference
+	 *
+	 * @return The distance or {@link Integer#MAX_VALUE} if destination is
+	 *         unreachable.
+	 *
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain source
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain destination
+	 * @throws IllegalStateException
+	 *             if a worker failed or the finder was closed
+	 */
+	public int getDist(E source, E destination) {
+		checkGetDistArgs(source, destination);
+
+		int s = indexed.indexOf(source);
+		int t = indexed.indexOf(destination);
+
+		if (s == t) {
+			return 0;
+		}
+
+		int sourcePart = partition.partOf(s);
+		int destinationPart = partition.partOf(t);
+
+		monitor.start();
+		query++;
+
+		inboxes[sourcePart].send(new PartitionWorker.Request(query, PartitionWorker.Kind.FORWARD, s,
+				sourcePart == destinationPart ? t : -1, replies));
+		inboxes[destinationPart]
+				.send(new PartitionWorker.Request(query, PartitionWorker.Kind.BACKWARD, t, -1, replies));
+
+		PartitionWorker.Response forward = null;
+		PartitionWorker.Response backward = null;
+
+		for (int k = 0; k < 2; k++) {
+			PartitionWorker.Response response = receive();
+
+			if (response.kind == PartitionWorker.Kind.FORWARD) {
+				forward = response;
+			} else {
+				backward = response;
+			}
+		}
+
+		long best = forward.target;
+
+		// join the two sides over the overlay
+		workspace.reset(overlay.size());
+
+		int sources = 0;
+		int targets = 0;
+
+		for (int i = 0; i < boundary[sourcePart].length; i++) {
+			int o = overlayIds[boundary[sourcePart][i]];
+			int distance = forward.distances[i];
+
+			if (distance < workspace.getDist(o)) {
+				workspace.setDist(o, distance, -1);
+				workspace.getQueue().add(o, distance);
+				monitor.queueOperation();
+				sources++;
+			}
+		}
+
+		for (int j = 0; j < boundary[destinationPart].length; j++) {
+			int o = overlayIds[boundary[destinationPart][j]];
+
+			if (backward.distances[j] != Integer.MAX_VALUE && !workspace.isMarked(o)) {
+				workspace.mark(o);
+				targets++;
+			}
+		}
+
+		if (sources > 0 && targets > 0) {
+			workspace.search(overlay, targets, SearchLimits.NONE, monitor);
+
+			for (int j = 0; j < boundary[destinationPart].length; j++) {
+				int o = overlayIds[boundary[destinationPart][j]];
+
+				if (backward.distances[j] != Integer.MAX_VALUE && workspace.isSettled(o)) {
+					best = Math.min(best, (long) workspace.getDist(o) + backward.distances[j]);
+				}
+			}
+		}
+
+		monitor.finish("PartitionedPathFinder.getDist");
+
+		return (int) Math.min(best, Integer.MAX_VALUE);
+	}
+
+	private void checkGetDistArgs(E source, E destination) {
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (indexed.indexOf(source) < 0) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (indexed.indexOf(destination) < 0) {
+			throw new IllegalArgumentException("destination not found");
+		}
+
+		if (closed) {
+			throw new IllegalStateException("calling getDist after calling close");
+		}
+	}
+
+	/**
+	 * Stops the workers.
+	 */
+	public void close() {
+		closed = true;
+
+		for (MessageChannel<PartitionWorker.Request> inbox : inboxes) {
+			// null if the constructor failed before starting this worker
+			if (inbox != null) {
+				inbox.send(new PartitionWorker.Request(query, PartitionWorker.Kind.STOP, -1, -1, null));
+			}
+		}
+	}
+}
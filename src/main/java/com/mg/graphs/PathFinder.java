@@ -1,300 +1,636 @@
-package com.mg.graphs;
-
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
-/**
- * Searches the shortest path from a source node to all the other nodes of a
- * directed weighted graph.
- *
- * @param <E>
- *            the type of elements maintained by the given graphs
- */
-public class PathFinder<E> {
-	/**
-	 * Maps each node to the distance from a given source.
-	 */
-	private Map<E, Integer> dist;
-	/**
-	 * Maps each node to the previous node in the shortest path (a set is
-	 * provided to handle multiple paths)
-	 */
-	private Map<E, Set<E>> prev;
-	/**
-	 * Set of unvisited nodes.
-	 */
-	private Set<E> unvisited;
-
-	/**
-	 * Creates a new path finder.
-	 */
-	public PathFinder() {
-		dist = null;
-		prev = null;
-		unvisited = null;
-	}
-
-	/**
-	 * <p>
-	 * Computes the shortest paths from a source node to all the other nodes of
-	 * a directed weighted graph.
-	 * </p>
-	 * <p>
-	 * The info can be retrieved using the following methods:
-	 * </p>
-	 * <ul>
-	 * <li>{@link #getDist(Object)}</li>
-	 * <li>{@link #getPrev(Object)}</li>
-	 * </ul>
-	 * 
-	 * @param graph
-	 *            the graph reference
-	 * @param source
-	 *            the source node reference
-	 * 
-	 * @throws NullPointerException
-	 *             if graph is null
-	 * @throws NullPointerException
-	 *             if source is null
-	 * @throws IllegalArgumentException
-	 *             if the graph does not contain the source node
-	 */
-	public void findPath(Graph<E> graph, E source) {
-		checkFindPathArgs(graph, source);
-		init(graph, source);
-		start(graph);
-	}
-
-	private void checkFindPathArgs(Graph<E> graph, E source) {
-		if (graph == null) {
-			throw new NullPointerException("graph is null");
-		}
-
-		if (source == null) {
-			throw new NullPointerException("source is null");
-		}
-
-		if (!graph.getNodes().contains(source)) {
-			throw new IllegalArgumentException("source not found");
-		}
-	}
-
-	private void init(Graph<E> graph, E source) {
-		dist = new HashMap<>();
-		prev = new HashMap<>();
-		unvisited = new HashSet<>();
-
-		for (E node : graph.getNodes()) {
-			// set each node at the maximum distance
-			dist.put(node, Integer.MAX_VALUE);
-			// no previous node for now...
-			prev.put(node, new HashSet<>());
-			// set unvisited
-			unvisited.add(node);
-		}
-
-		// source is at distance zero
-		dist.put(source, 0);
-	}
-
-	private void start(Graph<E> graph) {
-		E min;
-
-		while ((min = getMin()) != null) {
-			// label min as visited
-			unvisited.remove(min);
-
-			// for each min neighbor...
-			for (Edge<E> edge : graph.getOutboundEdges(min)) {
-				int alt = dist.get(min) + edge.getWeight();
-
-				if (alt < dist.get(edge.getDestination())) {
-					// a shorter path was found!
-					dist.put(edge.getDestination(), alt);
-					prev.get(edge.getDestination()).clear();
-					prev.get(edge.getDestination()).add(min);
-				} else if (alt == dist.get(edge.getDestination())) {
-					// another path was found!
-					prev.get(edge.getDestination()).add(min);
-				}
-			}
-		}
-	}
-
-	/**
-	 * @return Unvisited node at the minimum distance from source or null if it
-	 *         does not exist (i.e., unvisited is empty or every node in
-	 *         unvisited is at the maximum distance)
-	 */
-	private E getMin() {
-		return unvisited.stream().filter((node) -> dist.get(node) != Integer.MAX_VALUE)
-				.min((node1, node2) -> dist.get(node1) - dist.get(node2)).orElse(null);
-	}
-
-	/**
-	 * @return The distance from source to the given node or
-	 *         {@link Integer#MAX_VALUE} if the given node is unreachable.
-	 * 
-	 * @throws IllegalStateException
-	 *             if this method is called before
-	 *             {@link #findPath(Graph, Object)}
-	 * @throws NullPointerException
-	 *             if node is null
-	 * @throws IllegalArgumentException
-	 *             if the given node does not belong to the treated graph
-	 */
-	public int getDist(E node) {
-		checkGetDistCall(node);
-
-		return dist.get(node);
-	}
-
-	private void checkGetDistCall(E node) {
-		if (dist == null) {
-			throw new IllegalStateException("calling getDist before calling findPath");
-		}
-
-		if (node == null) {
-			throw new NullPointerException("node is null");
-		}
-
-		if (!dist.containsKey(node)) {
-			throw new IllegalArgumentException("node not found");
-		}
-	}
-
-	/**
-	 * @return The previous node in the shortest path from source. It returns an
-	 *         empty set if the given node is unreachable or equal to source,
-	 *         and it might return more than one node if there are multiple
-	 *         paths.
-	 * 
-	 * @throws IllegalStateException
-	 *             if this method is called before
-	 *             {@link #findPath(Graph, Object)}
-	 * @throws NullPointerException
-	 *             if node is null
-	 * @throws IllegalArgumentException
-	 *             if the given node does not belong to the treated graph
-	 */
-	public Set<E> getPrev(E node) {
-		checkGetPrevCall(node);
-
-		return prev.get(node);
-	}
-
-	private void checkGetPrevCall(E node) {
-		if (prev == null) {
-			throw new IllegalStateException("calling getPrev before calling findPath");
-		}
-
-		if (node == null) {
-			throw new NullPointerException("node is null");
-		}
-
-		if (!prev.containsKey(node)) {
-			throw new IllegalArgumentException("node not found");
-		}
-	}
-
-	/**
-	 * Gets all the shortest paths from source to destination.
-	 * 
-	 * @param graph
-	 *            the given graph
-	 * @param source
-	 *            the source node
-	 * @param destination
-	 *            the destination node
-	 * 
-	 * @return A set containing all the shortest paths from source to
-	 *         destination. If destination is unreachable then it returns an
-	 *         empty set. Each path consists of a list of nodes, where the
-	 *         elements are listed in order from source to destination.
-	 * 
-	 * @throws NullPointerException
-	 *             if graph is null
-	 * @throws NullPointerException
-	 *             if source is null
-	 * @throws NullPointerException
-	 *             if destination is null
-	 * @throws IllegalArgumentException
-	 *             if source and destination are equals
-	 * @throws IllegalArgumentException
-	 *             if source does not belong to the given graph
-	 * @throws IllegalArgumentException
-	 *             if destination does not belong to the given graph
-	 */
-	public Set<List<E>> getPaths(Graph<E> graph, E source, E destination) {
-		checkGetPathsArgs(graph, source, destination);
-		findPath(graph, source);
-
-		Set<List<E>> paths = new HashSet<>();
-
-		if (!prev.get(destination).isEmpty()) {
-			List<E> path = new LinkedList<>();
-
-			path.add(destination);
-			getPaths(paths, path);
-		}
-
-		return paths;
-	}
-
-	private void checkGetPathsArgs(Graph<E> graph, E source, E destination) {
-		if (graph == null) {
-			throw new NullPointerException("graph is null");
-		}
-
-		if (source == null) {
-			throw new NullPointerException("source is null");
-		}
-
-		if (destination == null) {
-			throw new NullPointerException("destination is null");
-		}
-
-		if (source.equals(destination)) {
-			throw new IllegalArgumentException("source is equal to destination");
-		}
-
-		if (!graph.getNodes().contains(source)) {
-			throw new IllegalArgumentException("source not found");
-		}
-
-		if (!graph.getNodes().contains(destination)) {
-			throw new IllegalArgumentException("destination not found");
-		}
-	}
-
-	private void getPaths(Set<List<E>> paths, List<E> path) {
-		E node = path.get(0);
-
-		while (prev.get(node).size() == 1) {
-			node = prev.get(node).iterator().next();
-
-			path.add(0, node);
-		}
-
-		if (prev.get(node).isEmpty()) {
-			paths.add(path);
-		} else {
-			Iterator<E> iterator = prev.get(node).iterator();
-
-			while (iterator.hasNext() && paths.size() < LIMIT) {
-				List<E> extendedPath = new LinkedList<>(path);
-
-				extendedPath.add(0, iterator.next());
-
-				getPaths(paths, extendedPath);
-			}
-		}
-	}
-
-	private static final int LIMIT = 10;
-}
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Searches the shortest path from a source node to all the other nodes of a
+ * directed weighted graph.
+ *
+ * @param <E>
+ *            the type of elements maintained by the given graphs
+ */
+public class PathFinder<E> {
+	/**
+	 * Size of a path finder, without its workspace.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(PathFinder.class);
+
+	/**
+	 * Distances and predecessors of the last search, indexed by node index
+	 * (reused by every search).
+	 */
+	private final SearchWorkspace workspace;
+	/**
+	 * Snapshot of the treated graph.
+	 */
+	private IndexedGraph<E> indexed;
+	/**
+	 * True if the last search followed the edges backwards (see
+	 * {@link #findPathTo(GraphView, Object)}).
+	 */
+	private boolean reverse;
+	/**
+	 * Graph and source of a search which was skipped by
+	 * {@link #getPaths(GraphView, Object, Object)} because destination was
+	 * unreachable (it is run if its results are requested later).
+	 */
+	private GraphView<E> pendingGraph;
+	private E pendingSource;
+	/**
+	 * Counters of the current search.
+	 */
+	private final SearchMonitor monitor;
+
+	/**
+	 * Creates a new path finder.
+	 */
+	public PathFinder() {
+		workspace = new SearchWorkspace();
+		indexed = null;
+		reverse = false;
+		pendingGraph = null;
+		pendingSource = null;
+		monitor = new SearchMonitor();
+	}
+
+	/**
+	 * Sets a listener which receives the counters of every search run by this
+	 * path finder (nodes settled, edges relaxed, queue operations, predecessor
+	 * ties, paths enumerated and wall time). The same counters are also
+	 * committed as {@code com.mg.graphs.PathSearch} JDK Flight Recorder events
+	 * whenever that event is enabled.
+	 *
+	 * @param listener
+	 *            the listener reference or null to remove the current one
+	 */
+	public void setSearchListener(SearchListener listener) {
+		monitor.setListener(listener);
+	}
+
+	/**
+	 * Estimates the heap size of the search state of this path finder, whose
+	 * arrays grow to the size of the largest graph searched (the searched
+	 * graph is not counted).
+	 *
+	 * @return The footprint of this path finder, where the nodes are the
+	 *         capacity of its arrays.
+	 */
+	public MemoryFootprint getFootprint() {
+		// this object and its monitor
+		return workspace.getFootprint("PathFinder").plus(new MemoryFootprint("PathFinder", 0, 0, 0, 0,
+				INSTANCE_BYTES + SearchMonitor.INSTANCE_BYTES));
+	}
+
+	/**
+	 * <p>
+	 * Computes the shortest paths from a source node to all the other nodes of
+	 * a directed weighted graph.
+	 * </p>
+	 * <p>
+	 * The info can be retrieved using the following methods:
+	 * </p>
+	 * <ul>
+	 * <li>{@link #getDist(Object)}</li>
+	 * <li>{@link #getPrev(Object)}</li>
+	 * </ul>
+	 * <p>
+	 * The search state is kept in arrays reused by every search of this path
+	 * finder, so only the nodes reachable from source are touched and no
+	 * memory is allocated once the arrays have grown to the size of the
+	 * graph.
+	 * </p>
+	 * 
+	 * @param graph
+	 *            the graph reference
+	 * @param source
+	 *            the source node reference
+	 * 
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the source node
+	 */
+	public void findPath(GraphView<E> graph, E source) {
+		findPath(graph, source, SearchLimits.NONE);
+	}
+
+	/**
+	 * Computes the shortest paths from a source node to the other nodes of a
+	 * directed weighted graph, within the given limits. If a limit stops the
+	 * search, its result is the region settled so far: {@link #getSettled()}
+	 * lists it and {@link #getDist(Object)} and {@link #getPrev(Object)} are
+	 * exact inside it (the other nodes are reported as unreachable). With a
+	 * maximum distance, the cost of the search is proportional to the size of
+	 * the region within that distance (an isochrone).
+	 * 
+	 * @param graph
+	 *            the graph reference
+	 * @param source
+	 *            the source node reference
+	 * @param limits
+	 *            the limits of the search
+	 * 
+	 * @return How the search ended.
+	 * 
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if limits is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the source node
+	 */
+	public SearchOutcome findPath(GraphView<E> graph, E source, SearchLimits limits) {
+		checkFindPathArgs(graph, source);
+		checkLimits(limits);
+		monitor.start();
+		init(graph, source, false);
+
+		SearchOutcome outcome = start(0, limits);
+
+		monitor.finish("PathFinder.findPath");
+
+		return outcome;
+	}
+
+	private void checkLimits(SearchLimits limits) {
+		if (limits == null) {
+			throw new NullPointerException("limits is null");
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the shortest paths from all the nodes of a directed weighted
+	 * graph to a destination node, by searching backwards along the inbound
+	 * edges (see {@link Graph#getInboundEdges(Object)}). It is as fast as
+	 * {@link #findPath(GraphView, Object)}.
+	 * </p>
+	 * <p>
+	 * The info can be retrieved using the following methods:
+	 * </p>
+	 * <ul>
+	 * <li>{@link #getDist(Object)}, which then returns the distance from the
+	 * given node to destination</li>
+	 * <li>{@link #getPrev(Object)}, which then returns the next nodes in the
+	 * shortest paths from the given node to destination</li>
+	 * </ul>
+	 * <p>
+	 * Only the nodes which reach destination are touched.
+	 * </p>
+	 * 
+	 * @param graph
+	 *            the graph reference
+	 * @param destination
+	 *            the destination node reference
+	 * 
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the destination node
+	 */
+	public void findPathTo(GraphView<E> graph, E destination) {
+		findPathTo(graph, destination, SearchLimits.NONE);
+	}
+
+	/**
+	 * Computes the shortest paths from the nodes of a directed weighted graph
+	 * to a destination node, within the given limits (see
+	 * {@link #findPathTo(GraphView, Object)} and
+	 * {@link #findPath(GraphView, Object, SearchLimits)}).
+	 * 
+	 * @param graph
+	 *            the graph reference
+	 * @param destination
+	 *            the destination node reference
+	 * @param limits
+	 *            the limits of the search
+	 * 
+	 * @return How the search ended.
+	 * 
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws NullPointerException
+	 *             if limits is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the destination node
+	 */
+	public SearchOutcome findPathTo(GraphView<E> graph, E destination, SearchLimits limits) {
+		checkFindPathToArgs(graph, destination);
+		checkLimits(limits);
+		monitor.start();
+		init(graph, destination, true);
+
+		SearchOutcome outcome = start(0, limits);
+
+		monitor.finish("PathFinder.findPathTo");
+
+		return outcome;
+	}
+
+	private void checkFindPathToArgs(GraphView<E> graph, E destination) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (!graph.getNodes().contains(destination)) {
+			throw new IllegalArgumentException("destination not found");
+		}
+	}
+
+	private void checkFindPathArgs(GraphView<E> graph, E source) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (!graph.getNodes().contains(source)) {
+			throw new IllegalArgumentException("source not found");
+		}
+	}
+
+	/**
+	 * Starts a new search from the given node (or towards it when searching
+	 * backwards).
+	 */
+	private void init(GraphView<E> graph, E source, boolean reverse) {
+		this.indexed = graph.indexed();
+		this.reverse = reverse;
+		pendingGraph = null;
+		pendingSource = null;
+
+		workspace.reset(indexed.size());
+
+		// source is at distance zero (every other node is implicitly at the
+		// maximum distance)
+		int from = indexed.indexOf(source);
+
+		workspace.addSource(from, monitor);
+	}
+
+	/**
+	 * Runs the search skipped by {@link #getPaths(GraphView, Object, Object)}, if
+	 * any.
+	 */
+	private void resume() {
+		if (pendingSource != null) {
+			monitor.start();
+			init(pendingGraph, pendingSource, false);
+			start(0, SearchLimits.NONE);
+			monitor.finish("PathFinder.findPath");
+		}
+	}
+
+	/**
+	 * Runs the search until the queue is empty, the given number of marked
+	 * nodes (0 if none was marked) is settled or a limit is hit.
+	 */
+	private SearchOutcome start(int targets, SearchLimits limits) {
+		// the predecessors are the neighbors when searching backwards
+		return workspace.search(reverse ? indexed.inbound() : indexed, targets, limits, monitor);
+	}
+
+	/**
+	 * Computes the distances from a source node to the given target nodes.
+	 * The search stops as soon as every target is settled, so targets close to
+	 * source are answered without exploring the rest of the graph (see
+	 * {@link DistanceTable} for many sources at once).
+	 * <p>
+	 * The search is partial, so it discards the results of the previous
+	 * searches: {@link #getDist(Object)} and {@link #getPrev(Object)} throw
+	 * {@link IllegalStateException} until the next complete search.
+	 * </p>
+	 * 
+	 * @param graph
+	 *            the graph reference
+	 * @param source
+	 *            the source node reference
+	 * @param targets
+	 *            the target node references (repetitions are allowed)
+	 * 
+	 * @return The distance from source to each target, in the order of the
+	 *         targets, with {@link Integer#MAX_VALUE} for the unreachable ones.
+	 * 
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if targets is null or contains null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain the source node
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain a target node
+	 */
+	public int[] getDists(GraphView<E> graph, E source, List<E> targets) {
+		checkGetDistsArgs(graph, source, targets);
+
+		IndexedGraph<E> indexed = graph.indexed();
+		int[] indices = new int[targets.size()];
+		int[] result = new int[indices.length];
+
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = indexed.indexOf(targets.get(i));
+		}
+
+		getDists(indexed, indexed.indexOf(source), indices, result);
+
+		return result;
+	}
+
+	private void checkGetDistsArgs(GraphView<E> graph, E source, List<E> targets) {
+		checkFindPathArgs(graph, source);
+
+		if (targets == null) {
+			throw new NullPointerException("targets is null");
+		}
+
+		for (E target : targets) {
+			if (target == null) {
+				throw new NullPointerException("target is null");
+			}
+
+			if (!graph.getNodes().contains(target)) {
+				throw new IllegalArgumentException("target not found");
+			}
+		}
+	}
+
+	/**
+	 * Computes the distances from the source index to the target indices into
+	 * the given row (no memory is allocated once the workspace has grown).
+	 */
+	void getDists(IndexedGraph<E> indexed, int source, int[] targets, int[] row) {
+		monitor.start();
+
+		this.indexed = indexed;
+		this.reverse = false;
+		pendingGraph = null;
+		pendingSource = null;
+
+		workspace.reset(indexed.size());
+
+		StronglyConnectedComponents components = indexed.components();
+		int remaining = 0;
+
+		for (int target : targets) {
+			// targets proved unreachable in constant time are not waited for
+			if (!workspace.isMarked(target) && components.mayReach(source, target)) {
+				workspace.mark(target);
+				remaining++;
+			}
+		}
+
+		if (remaining > 0) {
+			workspace.addSource(source, monitor);
+			start(remaining, SearchLimits.NONE);
+		}
+
+		for (int i = 0; i < targets.length; i++) {
+			row[i] = workspace.getDist(targets[i]);
+		}
+
+		// the other distances are not final
+		this.indexed = null;
+		monitor.finish("PathFinder.getDists");
+	}
+
+	/**
+	 * @return The distance from source to the given node or
+	 *         {@link Integer#MAX_VALUE} if the given node is unreachable or
+	 *         was not settled by a limited search (after
+	 *         {@link #findPathTo(GraphView, Object)}, the distance from the given
+	 *         node to destination).
+	 * 
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(GraphView, Object)}
+	 * @throws NullPointerException
+	 *             if node is null
+	 * @throws IllegalArgumentException
+	 *             if the given node does not belong to the treated graph
+	 */
+	public int getDist(E node) {
+		int index = checkGetDistCall(node);
+
+		resume();
+
+		// tentative distances of a stopped search are not exact
+		return workspace.isSettled(index) ? workspace.getDist(index) : Integer.MAX_VALUE;
+	}
+
+	private int checkGetDistCall(E node) {
+		if (indexed == null) {
+			throw new IllegalStateException("calling getDist before calling findPath");
+		}
+
+		if (node == null) {
+			throw new NullPointerException("node is null");
+		}
+
+		int index = indexed.indexOf(node);
+
+		if (index < 0) {
+			throw new IllegalArgumentException("node not found");
+		}
+
+		return index;
+	}
+
+	/**
+	 * @return The previous node in the shortest path from source. It returns an
+	 *         empty set if the given node is unreachable, equal to source or
+	 *         not settled by a limited search, and it might return more than one node if there are multiple
+	 *         paths (after {@link #findPathTo(GraphView, Object)}, the next node
+	 *         in the shortest path to destination).
+	 * 
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(GraphView, Object)}
+	 * @throws NullPointerException
+	 *             if node is null
+	 * @throws IllegalArgumentException
+	 *             if the given node does not belong to the treated graph
+	 */
+	public Set<E> getPrev(E node) {
+		int index = checkGetPrevCall(node);
+
+		resume();
+
+		int first = workspace.getPrev(index);
+
+		if (first < 0 || !workspace.isSettled(index)) {
+			return Collections.emptySet();
+		}
+
+		Set<E> result = new HashSet<>();
+
+		result.add(indexed.getNode(first));
+
+		for (int entry = workspace.getOverflow(index); entry >= 0; entry = workspace.getOverflowNext(entry)) {
+			result.add(indexed.getNode(workspace.getOverflowNode(entry)));
+		}
+
+		return result;
+	}
+
+	private int checkGetPrevCall(E node) {
+		if (indexed == null) {
+			throw new IllegalStateException("calling getPrev before calling findPath");
+		}
+
+		if (node == null) {
+			throw new NullPointerException("node is null");
+		}
+
+		int index = indexed.indexOf(node);
+
+		if (index < 0) {
+			throw new IllegalArgumentException("node not found");
+		}
+
+		return index;
+	}
+
+	/**
+	 * @return The nodes settled by the last search, in order of distance from
+	 *         source (to destination after {@link #findPathTo(GraphView, Object)}).
+	 *         After a limited search they are exactly the nodes whose distance
+	 *         is known.
+	 * 
+	 * @throws IllegalStateException
+	 *             if this method is called before
+	 *             {@link #findPath(GraphView, Object)}
+	 */
+	public List<E> getSettled() {
+		if (indexed == null) {
+			throw new IllegalStateException("calling getSettled before calling findPath");
+		}
+
+		resume();
+
+		List<E> result = new ArrayList<>(workspace.getSettledCount());
+
+		for (int i = 0; i < workspace.getSettledCount(); i++) {
+			result.add(indexed.getNode(workspace.getSettled(i)));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gets all the shortest paths from source to destination.
+	 * 
+	 * @param graph
+	 *            the given graph
+	 * @param source
+	 *            the source node
+	 * @param destination
+	 *            the destination node
+	 * 
+	 * @return A set containing all the shortest paths from source to
+	 *         destination. If destination is unreachable then it returns an
+	 *         empty set. Each path consists of a list of nodes, where the
+	 *         elements are listed in order from source to destination.
+	 * 
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if source and destination are equals
+	 * @throws IllegalArgumentException
+	 *             if source does not belong to the given graph
+	 * @throws IllegalArgumentException
+	 *             if destination does not belong to the given graph
+	 */
+	public Set<List<E>> getPaths(GraphView<E> graph, E source, E destination) {
+		checkGetPathsArgs(graph, source, destination);
+		monitor.start();
+
+		Set<List<E>> paths = new HashSet<>();
+
+		if (!isReachable(graph, source, destination)) {
+			// destination is unreachable, so the search is skipped
+			indexed = graph.indexed();
+			pendingGraph = graph;
+			pendingSource = source;
+		} else {
+			init(graph, source, false);
+			start(0, SearchLimits.NONE);
+
+			for (int[] indices : workspace.getPaths(indexed.indexOf(destination), monitor)) {
+				List<E> path = new ArrayList<>(indices.length);
+
+				for (int index : indices) {
+					path.add(indexed.getNode(index));
+				}
+
+				paths.add(path);
+			}
+		}
+
+		monitor.finish("PathFinder.getPaths");
+
+		return paths;
+	}
+
+	private void checkGetPathsArgs(GraphView<E> graph, E source, E destination) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (source.equals(destination)) {
+			throw new IllegalArgumentException("source is equal to destination");
+		}
+
+		if (!graph.getNodes().contains(source)) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (!graph.getNodes().contains(destination)) {
+			throw new IllegalArgumentException("destination not found");
+		}
+	}
+
+	/**
+	 * @return False if destination is proved unreachable from source by the
+	 *         topological order of the components of the graph (see
+	 *         {@link GraphView#components()}), in constant time. The other
+	 *         unreachable destinations are left to the search, which proves
+	 *         them unreachable anyway.
+	 */
+	private boolean isReachable(GraphView<E> graph, E source, E destination) {
+		IndexedGraph<E> indexed = graph.indexed();
+
+		return indexed.components().mayReach(indexed.indexOf(source), indexed.indexOf(destination));
+	}
+}
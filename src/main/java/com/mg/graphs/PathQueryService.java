@@ -0,0 +1,419 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers shortest path requests from many threads, running the searches on
+ * an executor.
+ * <p>
+ * Requests sharing a source are coalesced: while a search from a source is
+ * queued or running, every new request from that source waits for it instead
+ * of starting another one, and its shortest path tree serves them all. A
+ * burst of requests from a hot source therefore costs a single search.
+ * </p>
+ * <p>
+ * At most a given number of searches can be queued or running; past it, a
+ * request which cannot be coalesced is rejected at once with a
+ * {@link RejectedExecutionException} (backpressure), so callers shed load
+ * instead of piling up. {@link #getStats()} tells how many requests were
+ * coalesced or rejected and how long the searches waited for a thread.
+ * </p>
+ * <p>
+ * The paths are rebuilt from the shortest path tree on the common
+ * {@link java.util.concurrent.ForkJoinPool}, so the requests coalesced on a
+ * search are served in parallel once it ends.
+ * </p>
+ * <p>
+ * The searches run on the snapshot the graph had when the service was
+ * created, so later modifications of the graph are not seen.
+ * </p>
+ *
+ * @param <E>
+ *            the type of elements maintained by the searched graph
+ */
+public class PathQueryService<E> {
+	/**
+	 * Snapshot of the searched graph.
+	 */
+	private final IndexedGraph<E> indexed;
+	/**
+	 * Runs the searches.
+	 */
+	private final Executor executor;
+	/**
+	 * True if the executor was created by this service.
+	 */
+	private final boolean ownExecutor;
+	/**
+	 * Maximum number of searches queued or running.
+	 */
+	private final int maxPending;
+	/**
+	 * Search queued or running from each source index.
+	 */
+	private final Map<Integer, Search> searches;
+	/**
+	 * Path finders not in use (each search borrows one, so their workspaces
+	 * are reused whatever the threads of the executor).
+	 */
+	private final Queue<AdjacencyPathFinder> pathFinders;
+	private volatile boolean closed;
+
+	private final AtomicInteger pending;
+	private final LongAdder requestCount;
+	private final LongAdder coalescedCount;
+	private final LongAdder rejectedCount;
+	private final LongAdder searchCount;
+	private final LongAdder queueLatencyNanos;
+	private final AtomicLong maxQueueLatencyNanos;
+	private final LongAdder searchNanos;
+
+	/**
+	 * Creates a service running the searches on its own pool of threads
+	 * (stopped by {@link #close()}).
+	 *
+	 * @param graph
+	 *            the graph reference
+	 * @param threads
+	 *            the number of threads
+	 * @param maxPending
+	 *            the maximum number of searches queued or running
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws IllegalArgumentException
+	 *             if threads or maxPending is not positive
+	 */
+	public PathQueryService(GraphView<E> graph, int threads, int maxPending) {
+		this(graph, newExecutor(threads), true, maxPending);
+	}
+
+	/**
+	 * Creates a service running the searches on the given executor, e.g. one
+	 * starting a virtual thread per task where available. The executor is not
+	 * shut down by {@link #close()}.
+	 *
+	 * @param graph
+	 *            the graph reference
+	 * @param executor
+	 *            the executor reference
+	 * @param maxPending
+	 *            the maximum number of searches queued or running
+	 *
+	 * @throws NullPointerException
+	 *             if graph is null
+	 * @throws NullPointerException
+	 *             if executor is null
+	 * @throws IllegalArgumentException
+	 *             if maxPending is not positive
+	 */
+	public PathQueryService(GraphView<E> graph, Executor executor, int maxPending) {
+		this(graph, executor, false, maxPending);
+	}
+
+	private PathQueryService(GraphView<E> graph, Executor executor, boolean ownExecutor, int maxPending) {
+		checkPathQueryServiceArgs(graph, executor, maxPending);
+
+		this.indexed = graph.indexed();
+		this.executor = executor;
+		this.ownExecutor = ownExecutor;
+		this.maxPending = maxPending;
+		this.searches = new ConcurrentHashMap<>();
+		this.pathFinders = new ConcurrentLinkedQueue<>();
+		this.closed = false;
+		this.pending = new AtomicInteger();
+		this.requestCount = new LongAdder();
+		this.coalescedCount = new LongAdder();
+		this.rejectedCount = new LongAdder();
+		this.searchCount = new LongAdder();
+		this.queueLatencyNanos = new LongAdder();
+		this.maxQueueLatencyNanos = new AtomicLong();
+		this.searchNanos = new LongAdder();
+	}
+
+	private void checkPathQueryServiceArgs(GraphView<E> graph, Executor executor, int maxPending) {
+		if (graph == null) {
+			throw new NullPointerException("graph is null");
+		}
+
+		if (executor == null) {
+			throw new NullPointerException("executor is null");
+		}
+
+		if (maxPending <= 0) {
+			throw new IllegalArgumentException("maxPending is not positive");
+		}
+	}
+
+	private static ExecutorService newExecutor(int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("threads is not positive");
+		}
+
+		AtomicInteger count = new AtomicInteger();
+
+		// unbounded queue: the service bounds the pending searches itself
+		return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+				(runnable) -> {
+					Thread thread = new Thread(runnable, "path-query-" + count.incrementAndGet());
+
+					thread.setDaemon(true);
+
+					return thread;
+				});
+	}
+
+	/**
+	 * Requests the distance from source to destination.
+	 *
+	 * @param source
+	 *            the source node reference
+	 * @param destination
+	 *            the destination node reference
+	 *
+	 * @return A future completed with the distance ({@link Integer#MAX_VALUE}
+	 *         if destination is unreachable) once the search from source ends.
+	 *
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain source
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain destination
+	 * @throws RejectedExecutionException
+	 *             if the service is closed or too many searches are pending
+	 */
+	public CompletableFuture<Integer> getDist(E source, E destination) {
+		checkRequestArgs(source, destination);
+
+		int target = indexed.indexOf(destination);
+
+		return request(indexed.indexOf(source)).thenApply((tree) -> tree.dist[target]);
+	}
+
+	/**
+	 * Requests a shortest path from source to destination.
+	 *
+	 * @param source
+	 *            the source node reference
+	 * @param destination
+	 *            the destination node reference
+	 *
+	 * @return A future completed with the nodes of a shortest path, listed in
+	 *         order from source to destination (an empty list if destination
+	 *         is unreachable), once the search from source ends.
+	 *
+	 * @throws NullPointerException
+	 *             if source is null
+	 * @throws NullPointerException
+	 *             if destination is null
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain source
+	 * @throws IllegalArgumentException
+	 *             if the graph does not contain destination
+	 * @throws RejectedExecutionException
+	 *             if the service is closed or too many searches are pending
+	 */
+	public CompletableFuture<List<E>> getPath(E source, E destination) {
+		checkRequestArgs(source, destination);
+
+		int target = indexed.indexOf(destination);
+
+		// rebuilt asynchronously: the thread completing a search would
+		// otherwise rebuild the paths of all its coalesced requests in turn
+		return request(indexed.indexOf(source)).thenApplyAsync((tree) -> getPath(tree, target));
+	}
+
+	private void checkRequestArgs(E source, E destination) {
+		if (source == null) {
+			throw new NullPointerException("source is null");
+		}
+
+		if (destination == null) {
+			throw new NullPointerException("destination is null");
+		}
+
+		if (indexed.indexOf(source) < 0) {
+			throw new IllegalArgumentException("source not found");
+		}
+
+		if (indexed.indexOf(destination) < 0) {
+			throw new IllegalArgumentException("destination not found");
+		}
+	}
+
+	private List<E> getPath(Tree tree, int target) {
+		if (tree.dist[target] == Integer.MAX_VALUE) {
+			return Collections.emptyList();
+		}
+
+		List<E> path = new ArrayList<>();
+
+		for (int node = target; node >= 0; node = tree.prev[node]) {
+			path.add(indexed.getNode(node));
+		}
+
+		Collections.reverse(path);
+
+		return path;
+	}
+
+	/**
+	 * Joins the search from the given source or starts a new one.
+	 */
+	private CompletableFuture<Tree> request(int source) {
+		requestCount.increment();
+
+		if (closed) {
+			rejectedCount.increment();
+
+			throw new RejectedExecutionException("service is closed");
+		}
+
+		Search search = searches.get(source);
+
+		if (search != null) {
+			coalescedCount.increment();
+
+			return search.future;
+		}
+
+		if (pending.incrementAndGet() > maxPending) {
+			pending.decrementAndGet();
+			rejectedCount.increment();
+
+			throw new RejectedExecutionException("too many pending searches");
+		}
+
+		Search created = new Search(source);
+
+		search = searches.putIfAbsent(source, created);
+
+		if (search != null) {
+			// another request started it meanwhile
+			pending.decrementAndGet();
+			coalescedCount.increment();
+
+			return search.future;
+		}
+
+		try {
+			executor.execute(() -> run(created));
+		} catch (RejectedExecutionException e) {
+			finish(created);
+			rejectedCount.increment();
+			created.future.completeExceptionally(e);
+
+			throw e;
+		}
+
+		return created.future;
+	}
+
+	private void run(Search search) {
+		long start = System.nanoTime();
+		long latency = start - search.createdNanos;
+
+		queueLatencyNanos.add(latency);
+		maxQueueLatencyNanos.accumulateAndGet(latency, Math::max);
+
+		AdjacencyPathFinder pathFinder = pathFinders.poll();
+
+		if (pathFinder == null) {
+			pathFinder = new AdjacencyPathFinder("PathQueryService");
+		}
+
+		Tree tree;
+
+		try {
+			pathFinder.findPath(indexed, search.source);
+			tree = new Tree(pathFinder.getDistances(), pathFinder.getPredecessors());
+		} catch (RuntimeException | Error e) {
+			finish(search);
+			search.future.completeExceptionally(e);
+
+			throw e;
+		} finally {
+			pathFinders.offer(pathFinder);
+		}
+
+		searchNanos.add(System.nanoTime() - start);
+		searchCount.increment();
+
+		// requests arriving from now on start a new search
+		finish(search);
+		search.future.complete(tree);
+	}
+
+	private void finish(Search search) {
+		searches.remove(search.source, search);
+		pending.decrementAndGet();
+	}
+
+	/**
+	 * @return The counters of this service.
+	 */
+	public QueryServiceStats getStats() {
+		return new QueryServiceStats(requestCount.sum(), coalescedCount.sum(), rejectedCount.sum(), searchCount.sum(),
+				pending.get(), queueLatencyNanos.sum(), maxQueueLatencyNanos.get(), searchNanos.sum());
+	}
+
+	/**
+	 * Stops accepting requests (the pending searches still complete) and, if
+	 * the service created its threads, stops them once idle.
+	 */
+	public void close() {
+		closed = true;
+
+		if (ownExecutor) {
+			((ExecutorService) executor).shutdown();
+		}
+	}
+
+	/**
+	 * Search queued or running from a source.
+	 */
+	private static final class Search {
+		private final int source;
+		private final long createdNanos;
+		private final CompletableFuture<Tree> future;
+
+		Search(int source) {
+			this.source = source;
+			this.createdNanos = System.nanoTime();
+			this.future = new CompletableFuture<>();
+		}
+	}
+
+	/**
+	 * Shortest path tree of a search: the distance and a predecessor of every
+	 * node index.
+	 */
+	private static final class Tree {
+		private final int[] dist;
+		private final int[] prev;
+
+		Tree(int[] dist, int[] prev) {
+			this.dist = dist;
+			this.prev = prev;
+		}
+	}
+}
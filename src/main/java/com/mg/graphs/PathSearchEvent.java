@@ -0,0 +1,38 @@
+package com.mg.graphs;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event committed for every instrumented search (enable
+ * it with the "com.mg.graphs.PathSearch" setting). Its duration is the wall
+ * time of the search.
+ */
+@Name("com.mg.graphs.PathSearch")
+@Label("Path Search")
+@Category("Graphs")
+@Description("Counters of a shortest path search")
+@StackTrace(false)
+class PathSearchEvent extends Event {
+	@Label("Operation")
+	String operation;
+
+	@Label("Nodes Settled")
+	long nodesSettled;
+
+	@Label("Edges Relaxed")
+	long edgesRelaxed;
+
+	@Label("Queue Operations")
+	long queueOperations;
+
+	@Label("Predecessor Ties")
+	long predecessorTies;
+
+	@Label("Paths Enumerated")
+	long pathsEnumerated;
+}
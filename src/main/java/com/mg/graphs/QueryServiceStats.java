@@ -0,0 +1,129 @@
+package com.mg.graphs;
+
+/**
+ * Counters of a {@link PathQueryService} since it was created.
+ */
+public final class QueryServiceStats {
+	/**
+	 * Number of requests, including the rejected ones (so requests - coalesced
+	 * - rejected searches were started).
+	 */
+	private final long requests;
+	/**
+	 * Number of requests served by a search started for an earlier request.
+	 */
+	private final long coalesced;
+	/**
+	 * Number of requests rejected because too many searches were pending or
+	 * the service was closed.
+	 */
+	private final long rejected;
+	/**
+	 * Number of completed searches.
+	 */
+	private final long searches;
+	/**
+	 * Number of searches queued or running.
+	 */
+	private final int pending;
+	/**
+	 * Total and maximum time spent by the searches in the queue, in
+	 * nanoseconds.
+	 */
+	private final long queueLatencyNanos;
+	private final long maxQueueLatencyNanos;
+	/**
+	 * Total time spent searching, in nanoseconds.
+	 */
+	private final long searchNanos;
+
+	/**
+	 * Creates a new set of counters.
+	 */
+	public QueryServiceStats(long requests, long coalesced, long rejected, long searches, int pending,
+			long queueLatencyNanos, long maxQueueLatencyNanos, long searchNanos) {
+		this.requests = requests;
+		this.coalesced = coalesced;
+		this.rejected = rejected;
+		this.searches = searches;
+		this.pending = pending;
+		this.queueLatencyNanos = queueLatencyNanos;
+		this.maxQueueLatencyNanos = maxQueueLatencyNanos;
+		this.searchNanos = searchNanos;
+	}
+
+	/**
+	 * @return The number of requests, including the rejected ones.
+	 */
+	public long getRequests() {
+		return requests;
+	}
+
+	/**
+	 * @return The number of requests served by a search started for an
+	 *         earlier request with the same source.
+	 */
+	public long getCoalesced() {
+		return coalesced;
+	}
+
+	/**
+	 * @return The number of requests rejected because too many searches were
+	 *         pending or the service was closed.
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * @return The number of completed searches.
+	 */
+	public long getSearches() {
+		return searches;
+	}
+
+	/**
+	 * @return The number of searches queued or running.
+	 */
+	public int getPending() {
+		return pending;
+	}
+
+	/**
+	 * @return The total time spent by the completed searches waiting for a
+	 *         thread, in nanoseconds.
+	 */
+	public long getQueueLatencyNanos() {
+		return queueLatencyNanos;
+	}
+
+	/**
+	 * @return The longest time spent by a search waiting for a thread, in
+	 *         nanoseconds.
+	 */
+	public long getMaxQueueLatencyNanos() {
+		return maxQueueLatencyNanos;
+	}
+
+	/**
+	 * @return The mean time spent by a search waiting for a thread, in
+	 *         nanoseconds (0 if no search completed).
+	 */
+	public long getMeanQueueLatencyNanos() {
+		return searches > 0 ? queueLatencyNanos / searches : 0;
+	}
+
+	/**
+	 * @return The total time spent searching, in nanoseconds.
+	 */
+	public long getSearchNanos() {
+		return searchNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "QueryServiceStats [requests=" + requests + ", coalesced=" + coalesced + ", rejected=" + rejected
+				+ ", searches=" + searches + ", pending=" + pending + ", queueLatencyNanos=" + queueLatencyNanos
+				+ ", maxQueueLatencyNanos=" + maxQueueLatencyNanos + ", searchNanos=" + searchNanos + "]";
+	}
+}
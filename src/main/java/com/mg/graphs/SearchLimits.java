@@ -0,0 +1,159 @@
+package com.mg.graphs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Immutable limits of a search: a maximum distance from source, a maximum
+ * number of settled nodes, a deadline and a cancellation condition. Each
+ * {@code with} method returns a copy with one more limit, starting from
+ * {@link #NONE}.
+ * <p>
+ * The deadline and the cancellation condition are checked every
+ * {@link #CHECK_INTERVAL} settled nodes, so they are only honored with that
+ * granularity.
+ * </p>
+ */
+public final class SearchLimits {
+	/**
+	 * No limits at all.
+	 */
+	public static final SearchLimits NONE = new SearchLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, false, 0, null);
+	/**
+	 * Number of settled nodes between two checks of the deadline and the
+	 * cancellation condition.
+	 */
+	public static final int CHECK_INTERVAL = 64;
+
+	private final int maxDistance;
+	private final int maxSettled;
+	/**
+	 * True if deadline is set.
+	 */
+	private final boolean timed;
+	/**
+	 * Deadline in {@link System#nanoTime()} units.
+	 */
+	private final long deadline;
+	/**
+	 * Cancellation condition (null if none).
+	 */
+	private final BooleanSupplier cancellation;
+
+	private SearchLimits(int maxDistance, int maxSettled, boolean timed, long deadline,
+			BooleanSupplier cancellation) {
+		this.maxDistance = maxDistance;
+		this.maxSettled = maxSettled;
+		this.timed = timed;
+		this.deadline = deadline;
+		this.cancellation = cancellation;
+	}
+
+	/**
+	 * @param maxDistance
+	 *            the maximum distance from source (nodes farther than that are
+	 *            neither reached nor settled)
+	 *
+	 * @return A copy of these limits with the given maximum distance.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if maxDistance is negative
+	 */
+	public SearchLimits withMaxDistance(int maxDistance) {
+		if (maxDistance < 0) {
+			throw new IllegalArgumentException("maxDistance is negative");
+		}
+
+		return new SearchLimits(maxDistance, maxSettled, timed, deadline, cancellation);
+	}
+
+	/**
+	 * @param maxSettled
+	 *            the maximum number of settled nodes
+	 *
+	 * @return A copy of these limits with the given maximum number of settled
+	 *         nodes.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if maxSettled is less than one
+	 */
+	public SearchLimits withMaxSettled(int maxSettled) {
+		if (maxSettled < 1) {
+			throw new IllegalArgumentException("maxSettled is less than one");
+		}
+
+		return new SearchLimits(maxDistance, maxSettled, timed, deadline, cancellation);
+	}
+
+	/**
+	 * @param deadline
+	 *            the deadline, as a {@link System#nanoTime()} value
+	 *
+	 * @return A copy of these limits with the given deadline.
+	 */
+	public SearchLimits withDeadline(long deadline) {
+		return new SearchLimits(maxDistance, maxSettled, true, deadline, cancellation);
+	}
+
+	/**
+	 * @param timeout
+	 *            the time left from now
+	 * @param unit
+	 *            the unit of timeout
+	 *
+	 * @return A copy of these limits with a deadline after the given timeout.
+	 *
+	 * @throws NullPointerException
+	 *             if unit is null
+	 */
+	public SearchLimits withTimeout(long timeout, TimeUnit unit) {
+		if (unit == null) {
+			throw new NullPointerException("unit is null");
+		}
+
+		return withDeadline(System.nanoTime() + unit.toNanos(timeout));
+	}
+
+	/**
+	 * @param cancellation
+	 *            condition which becomes true when the search must be
+	 *            cancelled (e.g. {@code flag::get} on an
+	 *            {@link java.util.concurrent.atomic.AtomicBoolean})
+	 *
+	 * @return A copy of these limits with the given cancellation condition.
+	 *
+	 * @throws NullPointerException
+	 *             if cancellation is null
+	 */
+	public SearchLimits withCancellation(BooleanSupplier cancellation) {
+		if (cancellation == null) {
+			throw new NullPointerException("cancellation is null");
+		}
+
+		return new SearchLimits(maxDistance, maxSettled, timed, deadline, cancellation);
+	}
+
+	int getMaxDistance() {
+		return maxDistance;
+	}
+
+	int getMaxSettled() {
+		return maxSettled;
+	}
+
+	/**
+	 * @return The outcome of a search which must stop now, or null if it can
+	 *         go on.
+	 */
+	SearchOutcome check() {
+		if (cancellation != null && cancellation.getAsBoolean()) {
+			return SearchOutcome.CANCELLED;
+		}
+
+		if (timed && System.nanoTime() - deadline >= 0) {
+			return SearchOutcome.DEADLINE;
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,15 @@
+package com.mg.graphs;
+
+/**
+ * Receives the counters of every search run by an instrumented searcher (see
+ * {@link PathFinder#setSearchListener(SearchListener)}).
+ */
+public interface SearchListener {
+	/**
+	 * Called on the searching thread once a search has completed.
+	 *
+	 * @param stats
+	 *            the counters of the search
+	 */
+	void searchCompleted(SearchStats stats);
+}
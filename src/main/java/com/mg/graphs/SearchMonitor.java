@@ -0,0 +1,127 @@
+package com.mg.graphs;
+
+/**
+ * Mutable counters updated by a searcher while it runs. Counting only costs a
+ * few field increments; the counters are published (to the listener, if any,
+ * and as a {@link PathSearchEvent} if the JDK Flight Recorder is available and
+ * a running recording enables the event) when the search completes. The
+ * searches of other packages report through a {@link SearchReporter}.
+ */
+final class SearchMonitor {
+	/**
+	 * Size of a monitor (counted by the footprints of its searchers).
+	 */
+	static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(SearchMonitor.class);
+
+	/**
+	 * Listener notified after each search (null if none).
+	 */
+	private SearchListener listener;
+	private long nodesSettled;
+	private long edgesRelaxed;
+	private long queueOperations;
+	private long predecessorTies;
+	private long pathsEnumerated;
+	/**
+	 * Value of {@link System#nanoTime()} when the current search started.
+	 */
+	private long startNanos;
+	/**
+	 * Event timing the current search (null if the event is disabled), typed
+	 * as an object so this class loads without jdk.jfr (see
+	 * {@link FlightRecorder}).
+	 */
+	private Object event;
+
+	/**
+	 * Creates a monitor without listener.
+	 */
+	SearchMonitor() {
+		listener = null;
+		event = null;
+	}
+
+	/**
+	 * @return The listener notified after each search (null if none).
+	 */
+	SearchListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Sets the listener notified after each search.
+	 *
+	 * @param listener
+	 *            the listener reference or null to remove the current one
+	 */
+	void setListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Resets the counters at the beginning of a search.
+	 */
+	void start() {
+		nodesSettled = 0;
+		edgesRelaxed = 0;
+		queueOperations = 0;
+		predecessorTies = 0;
+		pathsEnumerated = 0;
+		startNanos = System.nanoTime();
+		event = FlightRecorder.AVAILABLE ? FlightRecorder.begin() : null;
+	}
+
+	void nodeSettled() {
+		nodesSettled++;
+	}
+
+	void edgeRelaxed() {
+		edgesRelaxed++;
+	}
+
+	void queueOperation() {
+		queueOperations++;
+	}
+
+	void predecessorTie() {
+		predecessorTies++;
+	}
+
+	void pathEnumerated() {
+		pathsEnumerated++;
+	}
+
+	/**
+	 * Adds the given amounts to the counters of the current search.
+	 */
+	void add(long nodesSettled, long edgesRelaxed, long queueOperations, long predecessorTies,
+			long pathsEnumerated) {
+		this.nodesSettled += nodesSettled;
+		this.edgesRelaxed += edgesRelaxed;
+		this.queueOperations += queueOperations;
+		this.predecessorTies += predecessorTies;
+		this.pathsEnumerated += pathsEnumerated;
+	}
+
+	/**
+	 * Publishes the counters at the end of a search.
+	 *
+	 * @param operation
+	 *            the name of the searching operation
+	 */
+	void finish(String operation) {
+		long wallTime = System.nanoTime() - startNanos;
+
+		// the duration of the event is the wall time of the search
+		if (event != null) {
+			FlightRecorder.commit(event, operation, nodesSettled, edgesRelaxed, queueOperations, predecessorTies,
+					pathsEnumerated);
+			event = null;
+		}
+
+		if (listener != null) {
+			listener.searchCompleted(new SearchStats(operation, nodesSettled, edgesRelaxed, queueOperations,
+					predecessorTies, pathsEnumerated, wallTime));
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.mg.graphs;
+
+/**
+ * Ways a limited search (see {@link SearchLimits}) can end. Whatever the
+ * outcome, the distances of the settled nodes are exact.
+ */
+public enum SearchOutcome {
+	/**
+	 * Every reachable node within the maximum distance was settled.
+	 */
+	COMPLETED,
+	/**
+	 * The maximum number of settled nodes was reached.
+	 */
+	SETTLED_LIMIT,
+	/**
+	 * The deadline expired before the search completed.
+	 */
+	DEADLINE,
+	/**
+	 * The search was cancelled before it completed.
+	 */
+	CANCELLED
+}
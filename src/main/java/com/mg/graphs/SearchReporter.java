@@ -0,0 +1,62 @@
+package com.mg.graphs;
+
+/**
+ * Publishes the counters of a search run outside this package, like the
+ * searchers of this package do (to a {@link SearchListener} and as a JDK
+ * Flight Recorder event). The searcher counts on its own and hands the totals
+ * over when the search completes.
+ */
+public final class SearchReporter {
+	private final SearchMonitor monitor;
+
+	/**
+	 * Creates a reporter without listener.
+	 */
+	public SearchReporter() {
+		monitor = new SearchMonitor();
+	}
+
+	/**
+	 * Sets the listener notified after each search.
+	 *
+	 * @param listener
+	 *            the listener reference or null to remove the current one
+	 */
+	public void setListener(SearchListener listener) {
+		monitor.setListener(listener);
+	}
+
+	/**
+	 * Marks the beginning of a search.
+	 */
+	public void start() {
+		monitor.start();
+	}
+
+	/**
+	 * Publishes the counters of the search started last.
+	 *
+	 * @param operation
+	 *            the name of the searching operation
+	 * @param nodesSettled
+	 *            the number of nodes settled
+	 * @param edgesRelaxed
+	 *            the number of edges relaxed
+	 * @param queueOperations
+	 *            the number of insertions and removals of the search frontier
+	 * @param pathsEnumerated
+	 *            the number of paths found
+	 *
+	 * @throws NullPointerException
+	 *             if operation is null
+	 */
+	public void finish(String operation, long nodesSettled, long edgesRelaxed, long queueOperations,
+			long pathsEnumerated) {
+		if (operation == null) {
+			throw new NullPointerException("operation is null");
+		}
+
+		monitor.add(nodesSettled, edgesRelaxed, queueOperations, 0, pathsEnumerated);
+		monitor.finish(operation);
+	}
+}
@@ -0,0 +1,107 @@
+package com.mg.graphs;
+
+/**
+ * Counters collected during a single search.
+ */
+public final class SearchStats {
+	/**
+	 * Name of the searching operation (e.g., "PathFinder.findPath").
+	 */
+	private final String operation;
+	/**
+	 * Number of nodes whose distance (or visit) became final.
+	 */
+	private final long nodesSettled;
+	/**
+	 * Number of edges examined from settled nodes.
+	 */
+	private final long edgesRelaxed;
+	/**
+	 * Number of insertions into and removals from the search frontier.
+	 */
+	private final long queueOperations;
+	/**
+	 * Number of times an equally short alternative predecessor was found.
+	 */
+	private final long predecessorTies;
+	/**
+	 * Number of paths built for the caller.
+	 */
+	private final long pathsEnumerated;
+	/**
+	 * Elapsed wall-clock time in nanoseconds.
+	 */
+	private final long wallTimeNanos;
+
+	/**
+	 * Creates a new set of counters.
+	 */
+	public SearchStats(String operation, long nodesSettled, long edgesRelaxed, long queueOperations,
+			long predecessorTies, long pathsEnumerated, long wallTimeNanos) {
+		this.operation = operation;
+		this.nodesSettled = nodesSettled;
+		this.edgesRelaxed = edgesRelaxed;
+		this.queueOperations = queueOperations;
+		this.predecessorTies = predecessorTies;
+		this.pathsEnumerated = pathsEnumerated;
+		this.wallTimeNanos = wallTimeNanos;
+	}
+
+	/**
+	 * @return The name of the searching operation.
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * @return The number of nodes whose distance (or visit) became final.
+	 */
+	public long getNodesSettled() {
+		return nodesSettled;
+	}
+
+	/**
+	 * @return The number of edges examined from settled nodes.
+	 */
+	public long getEdgesRelaxed() {
+		return edgesRelaxed;
+	}
+
+	/**
+	 * @return The number of insertions into and removals from the search
+	 *         frontier.
+	 */
+	public long getQueueOperations() {
+		return queueOperations;
+	}
+
+	/**
+	 * @return The number of times an equally short alternative predecessor
+	 *         was found.
+	 */
+	public long getPredecessorTies() {
+		return predecessorTies;
+	}
+
+	/**
+	 * @return The number of paths built for the caller.
+	 */
+	public long getPathsEnumerated() {
+		return pathsEnumerated;
+	}
+
+	/**
+	 * @return The elapsed wall-clock time in nanoseconds.
+	 */
+	public long getWallTimeNanos() {
+		return wallTimeNanos;
+	}
+
+	@Override
+	public String toString() {
+		return operation + " [nodesSettled=" + nodesSettled + ", edgesRelaxed=" + edgesRelaxed + ", queueOperations="
+				+ queueOperations + ", predecessorTies=" + predecessorTies + ", pathsEnumerated=" + pathsEnumerated
+				+ ", wallTimeNanos=" + wallTimeNanos + "]";
+	}
+}
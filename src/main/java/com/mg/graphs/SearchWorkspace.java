@@ -0,0 +1,432 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable state of a shortest path search over node indices: tentative
+ * distances, predecessors, settled flags and the queue, plus the search
+ * itself (Dijkstra's algorithm over any {@link Adjacency}). The arrays are only
+ * valid for the nodes stamped with the current epoch, so a new search starts
+ * in constant time and, once the arrays have grown to the size of the graph,
+ * searches allocate nothing.
+ * <p>
+ * Most nodes have at most one predecessor, so the first one is kept in a
+ * plain array and the others (ties) in an overflow linked list shared by all
+ * the nodes.
+ * </p>
+ */
+class SearchWorkspace {
+	/**
+	 * Maximum number of shortest paths enumerated by {@link #getPaths(int, SearchMonitor)}.
+	 */
+	static final int PATHS_LIMIT = 10;
+	/**
+	 * Size of a workspace, without its arrays and its queue.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(SearchWorkspace.class);
+
+	/**
+	 * Number of nodes of the current search.
+	 */
+	private int size;
+	/**
+	 * Tentative distance of each node.
+	 */
+	private int[] dist;
+	/**
+	 * First predecessor of each node (-1 if none).
+	 */
+	private int[] prev;
+	/**
+	 * First overflow entry of each node (-1 if none).
+	 */
+	private int[] overflow;
+	/**
+	 * Predecessor of each overflow entry.
+	 */
+	private int[] overflowNode;
+	/**
+	 * Next overflow entry of each overflow entry (-1 if none).
+	 */
+	private int[] overflowNext;
+	/**
+	 * Number of overflow entries in use.
+	 */
+	private int overflowCount;
+	/**
+	 * Search in which each node was reached (the other arrays are only valid
+	 * for the nodes reached in the current search).
+	 */
+	private int[] reached;
+	/**
+	 * Search in which each node was settled.
+	 */
+	private int[] settled;
+	/**
+	 * Settled nodes of the current search, in settlement order.
+	 */
+	private int[] order;
+	/**
+	 * Number of settled nodes of the current search.
+	 */
+	private int settledCount;
+	/**
+	 * Search in which each node was marked as a target.
+	 */
+	private int[] marked;
+	/**
+	 * Current search number.
+	 */
+	private int epoch;
+	/**
+	 * Queue of reached nodes ordered by distance.
+	 */
+	private final NodeQueue queue;
+	/**
+	 * Adjacency of the last search and its cursor (kept for the next searches
+	 * of the same adjacency).
+	 */
+	private Adjacency adjacency;
+	private Adjacency.Cursor cursor;
+
+	/**
+	 * Creates an empty workspace (it grows on the first search).
+	 */
+	SearchWorkspace() {
+		size = 0;
+		dist = new int[0];
+		prev = new int[0];
+		overflow = new int[0];
+		overflowNode = new int[16];
+		overflowNext = new int[16];
+		overflowCount = 0;
+		reached = new int[0];
+		settled = new int[0];
+		order = new int[0];
+		settledCount = 0;
+		marked = new int[0];
+		epoch = 0;
+		queue = new NodeQueue();
+		adjacency = null;
+		cursor = null;
+	}
+
+	/**
+	 * Starts a new search over the given number of nodes, invalidating the
+	 * state of the previous one.
+	 */
+	void reset(int size) {
+		if (reached.length < size) {
+			int capacity = Math.max(size, reached.length * 3 / 2);
+
+			dist = new int[capacity];
+			prev = new int[capacity];
+			overflow = new int[capacity];
+			reached = new int[capacity];
+			settled = new int[capacity];
+			order = new int[capacity];
+			marked = new int[capacity];
+			epoch = 0;
+		}
+
+		epoch++;
+
+		if (epoch == 0) {
+			// the counter wrapped around: clear the stamps once
+			Arrays.fill(reached, 0);
+			Arrays.fill(settled, 0);
+			Arrays.fill(marked, 0);
+			epoch = 1;
+		}
+
+		this.size = size;
+		overflowCount = 0;
+		settledCount = 0;
+		queue.clear();
+	}
+
+	/**
+	 * @return The footprint of this workspace, whose arrays are sized for the
+	 *         largest search so far (see {@link MemoryLayout}).
+	 */
+	MemoryFootprint getFootprint(String representation) {
+		int capacity = reached.length;
+		long nodeBytes = 7 * MemoryLayout.arrayBytes(capacity, 4);
+		// the ties and the queue, and the objects
+		long fixedBytes = MemoryLayout.arrayBytes(overflowNode.length, 4)
+				+ MemoryLayout.arrayBytes(overflowNext.length, 4) + queue.getBytes() + INSTANCE_BYTES;
+
+		return new MemoryFootprint(representation, capacity, 0, nodeBytes, 0, fixedBytes);
+	}
+
+	/**
+	 * @return The number of nodes of the current search.
+	 */
+	int getSize() {
+		return size;
+	}
+
+	NodeQueue getQueue() {
+		return queue;
+	}
+
+	/**
+	 * Adds the given node to the current search at distance zero.
+	 */
+	void addSource(int node, SearchMonitor monitor) {
+		setDist(node, 0, -1);
+		queue.add(node, 0);
+		monitor.queueOperation();
+	}
+
+	/**
+	 * Runs the current search over the given adjacency until the queue is
+	 * empty, the given number of marked nodes (0 if none was marked) is
+	 * settled or a limit is hit.
+	 *
+	 * @return How the search ended.
+	 */
+	SearchOutcome search(Adjacency adjacency, int targets, SearchLimits limits, SearchMonitor monitor) {
+		if (this.adjacency != adjacency) {
+			this.adjacency = adjacency;
+			this.cursor = adjacency.cursor();
+		}
+
+		Adjacency.Cursor cursor = this.cursor;
+		int maxDistance = limits.getMaxDistance();
+		int maxSettled = limits.getMaxSettled();
+
+		while (!queue.isEmpty()) {
+			int min = queue.poll();
+
+			monitor.queueOperation();
+
+			if (isSettled(min)) {
+				continue;
+			}
+
+			if (settledCount == maxSettled) {
+				return SearchOutcome.SETTLED_LIMIT;
+			}
+
+			if (settledCount % SearchLimits.CHECK_INTERVAL == 0) {
+				SearchOutcome outcome = limits.check();
+
+				if (outcome != null) {
+					return outcome;
+				}
+			}
+
+			// label min as visited
+			settle(min);
+			monitor.nodeSettled();
+
+			if (isMarked(min) && --targets == 0) {
+				// every requested distance is final
+				return SearchOutcome.COMPLETED;
+			}
+
+			int distance = dist[min];
+
+			// for each min neighbor...
+			cursor.reset(min);
+
+			while (cursor.next()) {
+				int neighbor = cursor.target();
+				int alt = distance + cursor.weight();
+				int current = getDist(neighbor);
+
+				monitor.edgeRelaxed();
+
+				if (alt > maxDistance) {
+					// out of the search radius
+					continue;
+				}
+
+				if (alt < current) {
+					// a shorter path was found!
+					setDist(neighbor, alt, min);
+					queue.add(neighbor, alt);
+					monitor.queueOperation();
+				} else if (alt == current) {
+					// another path was found!
+					addPrev(neighbor, min);
+					monitor.predecessorTie();
+				}
+			}
+		}
+
+		return SearchOutcome.COMPLETED;
+	}
+
+	/**
+	 * @return The tentative distance of the given node or
+	 *         {@link Integer#MAX_VALUE} if it was not reached.
+	 */
+	int getDist(int node) {
+		return reached[node] == epoch ? dist[node] : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Sets a shorter distance for the given node, replacing its predecessors
+	 * with the given one (-1 for none).
+	 */
+	void setDist(int node, int distance, int predecessor) {
+		dist[node] = distance;
+		prev[node] = predecessor;
+		overflow[node] = -1;
+		reached[node] = epoch;
+	}
+
+	/**
+	 * Adds a predecessor to a reached node.
+	 */
+	void addPrev(int node, int predecessor) {
+		if (prev[node] < 0) {
+			prev[node] = predecessor;
+			return;
+		}
+
+		if (overflowCount == overflowNode.length) {
+			overflowNode = Arrays.copyOf(overflowNode, overflowCount * 2);
+			overflowNext = Arrays.copyOf(overflowNext, overflowCount * 2);
+		}
+
+		overflowNode[overflowCount] = predecessor;
+		overflowNext[overflowCount] = overflow[node];
+		overflow[node] = overflowCount;
+		overflowCount++;
+	}
+
+	/**
+	 * @return The first predecessor of the given node or -1 if it has none
+	 *         (or it was not reached).
+	 */
+	int getPrev(int node) {
+		return reached[node] == epoch ? prev[node] : -1;
+	}
+
+	/**
+	 * @return The first overflow entry of the given node or -1 if it has at
+	 *         most one predecessor.
+	 */
+	int getOverflow(int node) {
+		return reached[node] == epoch ? overflow[node] : -1;
+	}
+
+	/**
+	 * @return The predecessor of the given overflow entry.
+	 */
+	int getOverflowNode(int entry) {
+		return overflowNode[entry];
+	}
+
+	/**
+	 * @return The overflow entry following the given one or -1 if it is the
+	 *         last one.
+	 */
+	int getOverflowNext(int entry) {
+		return overflowNext[entry];
+	}
+
+	/**
+	 * Enumerates the shortest paths of the last search to the given node,
+	 * following every predecessor, up to {@link #PATHS_LIMIT} paths.
+	 *
+	 * @return The paths, each one an array of node indices listed in order
+	 *         from the source (empty if the node was not reached from
+	 *         another one).
+	 */
+	List<int[]> getPaths(int destination, SearchMonitor monitor) {
+		List<int[]> paths = new ArrayList<>();
+
+		if (getPrev(destination) >= 0) {
+			int[] path = new int[16];
+
+			path[0] = destination;
+			getPaths(paths, path, 1, monitor);
+		}
+
+		return paths;
+	}
+
+	/**
+	 * Extends a partial path (stored backwards, from destination) through
+	 * every predecessor of its last node.
+	 */
+	private void getPaths(List<int[]> paths, int[] path, int length, SearchMonitor monitor) {
+		int node = path[length - 1];
+
+		while (getPrev(node) >= 0 && getOverflow(node) < 0) {
+			node = getPrev(node);
+
+			if (length == path.length) {
+				path = Arrays.copyOf(path, length * 2);
+			}
+
+			path[length++] = node;
+		}
+
+		if (getPrev(node) < 0) {
+			int[] result = new int[length];
+
+			for (int i = 0; i < length; i++) {
+				result[i] = path[length - 1 - i];
+			}
+
+			paths.add(result);
+			monitor.pathEnumerated();
+		} else {
+			int next = getPrev(node);
+			int entry = getOverflow(node);
+
+			while (next >= 0 && paths.size() < PATHS_LIMIT) {
+				int[] extendedPath = Arrays.copyOf(path, Math.max(path.length, length + 1));
+
+				extendedPath[length] = next;
+
+				getPaths(paths, extendedPath, length + 1, monitor);
+
+				// the first predecessor is followed by the overflow ones
+				next = entry >= 0 ? overflowNode[entry] : -1;
+				entry = entry >= 0 ? overflowNext[entry] : -1;
+			}
+		}
+	}
+
+	boolean isSettled(int node) {
+		return settled[node] == epoch;
+	}
+
+	void settle(int node) {
+		settled[node] = epoch;
+		order[settledCount++] = node;
+	}
+
+	/**
+	 * @return The number of nodes settled in the current search.
+	 */
+	int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * @return The i-th node settled in the current search.
+	 */
+	int getSettled(int i) {
+		return order[i];
+	}
+
+	boolean isMarked(int node) {
+		return marked[node] == epoch;
+	}
+
+	/**
+	 * Marks the given node as a target of the current search.
+	 */
+	void mark(int node) {
+		marked[node] = epoch;
+	}
+}
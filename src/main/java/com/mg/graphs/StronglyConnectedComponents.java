@@ -0,0 +1,134 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of an {@link IndexedGraph}.
+ * <p>
+ * Components are numbered in the order Tarjan's algorithm completes them,
+ * which is a reverse topological order: if component a reaches a different
+ * component b then b &lt; a. Hence a node can only reach the nodes whose
+ * component is not greater than its own, which is checked in constant time.
+ * </p>
+ */
+class StronglyConnectedComponents {
+	/**
+	 * Size of the components, without their arrays.
+	 */
+	private static final long INSTANCE_BYTES = MemoryLayout.instanceBytes(StronglyConnectedComponents.class);
+	/**
+	 * Component of each node.
+	 */
+	private final int[] component;
+	/**
+	 * Number of components.
+	 */
+	private final int count;
+	/**
+	 * Computes the components of the given graph with an iterative version of
+	 * Tarjan's algorithm (so deep graphs do not overflow the call stack).
+	 */
+	StronglyConnectedComponents(IndexedGraph<?> graph) {
+		int size = graph.size();
+		int[] offsets = graph.getOutOffsets();
+		int[] targets = graph.getOutTargets();
+		int[] index = new int[size];
+		int[] low = new int[size];
+		int[] next = new int[size];
+		int[] calls = new int[size];
+		int[] stack = new int[size];
+		boolean[] onStack = new boolean[size];
+		int counter = 0;
+		int stackSize = 0;
+		int components = 0;
+
+		component = new int[size];
+
+		Arrays.fill(index, -1);
+
+		for (int root = 0; root < size; root++) {
+			if (index[root] >= 0) {
+				continue;
+			}
+
+			int top = 0;
+
+			calls[0] = root;
+			index[root] = low[root] = counter++;
+			next[root] = offsets[root];
+			stack[stackSize++] = root;
+			onStack[root] = true;
+
+			while (top >= 0) {
+				int v = calls[top];
+
+				if (next[v] < offsets[v + 1]) {
+					int w = targets[next[v]++];
+
+					if (index[w] < 0) {
+						// "recursive call" on w
+						index[w] = low[w] = counter++;
+						next[w] = offsets[w];
+						stack[stackSize++] = w;
+						onStack[w] = true;
+						calls[++top] = w;
+					} else if (onStack[w]) {
+						low[v] = Math.min(low[v], index[w]);
+					}
+				} else {
+					if (low[v] == index[v]) {
+						// v is the root of a component
+						int w;
+
+						do {
+							w = stack[--stackSize];
+							onStack[w] = false;
+							component[w] = components;
+						} while (w != v);
+
+						components++;
+					}
+
+					top--;
+
+					if (top >= 0) {
+						low[calls[top]] = Math.min(low[calls[top]], low[v]);
+					}
+				}
+			}
+		}
+
+		count = components;
+	}
+
+	/**
+	 * @return The size of the arrays of the components (see
+	 *         {@link MemoryLayout}).
+	 */
+	long getBytes() {
+		return INSTANCE_BYTES + MemoryLayout.arrayBytes(component.length, 4);
+	}
+
+	/**
+	 * @return The number of components.
+	 */
+	int count() {
+		return count;
+	}
+
+	/**
+	 * @return The component of the node at the given index.
+	 */
+	int componentOf(int node) {
+		return component[node];
+	}
+
+	/**
+	 * @return False if the node at index to is proved unreachable from the
+	 *         node at index from in constant time (a true result still needs
+	 *         to be confirmed, e.g. by a search).
+	 */
+	boolean mayReach(int from, int to) {
+		return component[to] <= component[from];
+	}
+}
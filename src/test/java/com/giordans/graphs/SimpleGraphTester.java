@@ -0,0 +1,279 @@
+package com.giordans.graphs;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimpleGraphTester {
+
+    private Object held;
+
+    @Test
+    public void testIsReachable() {
+        SimpleGraph graph = new SimpleGraph(4);
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addNode("D");
+        graph.addEdge("A", "B");
+        graph.addEdge("C", "D");
+
+        Assert.assertTrue(graph.isReachable("A", "A"));
+        Assert.assertTrue(graph.isReachable("A", "B"));
+        Assert.assertFalse(graph.isReachable("B", "A"));
+        Assert.assertFalse(graph.isReachable("A", "D"));
+        Assert.assertFalse(graph.isReachable("A", "E"));
+        Assert.assertTrue(graph.getPath("A", "D").getNodes().isEmpty());
+
+        graph.addEdge("B", "C");
+
+        Assert.assertTrue(graph.isReachable("A", "D"));
+        Assert.assertEquals(4, graph.getPath("A", "D").getNodes().size());
+    }
+
+    @Test
+    public void testGetShortestPath() {
+        SimpleGraph graph = new SimpleGraph(5);
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addNode("D");
+        graph.addNode("E");
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        graph.addEdge("A", "C");
+
+        Assert.assertNull(graph.getShortestPath("A", "F"));
+        Assert.assertTrue(graph.getShortestPath("A", "E").getNodes().isEmpty());
+        Assert.assertEquals(1, graph.getShortestPath("A", "A").getNodes().size());
+
+        List<SimpleGraph.Node> nodes = graph.getShortestPath("A", "D").getNodes();
+        Assert.assertEquals(3, nodes.size());
+        Assert.assertEquals("A", nodes.get(0).getData());
+        Assert.assertEquals("C", nodes.get(1).getData());
+        Assert.assertEquals("D", nodes.get(2).getData());
+
+        Assert.assertEquals(5, graph.adjacency().size());
+    }
+
+    @Test
+    public void testRandomInsertions() {
+        Random random = new Random(11);
+        int size = 70;
+        SimpleGraph graph = new SimpleGraph(size);
+        List<Set<Integer>> adjacency = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            graph.addNode("N" + i);
+            adjacency.add(new HashSet<Integer>());
+        }
+        for (int edge = 0; edge < 150; edge++) {
+            int origin = random.nextInt(size);
+            int destination = random.nextInt(size);
+            graph.addEdge("N" + origin, "N" + destination);
+            adjacency.get(origin).add(destination);
+            if (edge % 10 == 0) {
+                for (int i = 0; i < size; i++) {
+                    Set<Integer> reachable = reachable(adjacency, i);
+                    for (int j = 0; j < size; j++) {
+                        Assert.assertEquals(reachable.contains(j), graph.isReachable("N" + i, "N" + j));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRemovals() {
+        SimpleGraph graph = new SimpleGraph(4);
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addNode("D");
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        graph.addEdge("A", "C");
+
+        graph.removeEdge("A", "C");
+
+        Assert.assertEquals(4, graph.getShortestPath("A", "D").getNodes().size());
+        Assert.assertEquals(3, graph.getEdges().size());
+
+        graph.removeNode("B");
+
+        Assert.assertFalse(graph.isReachable("A", "C"));
+        Assert.assertNull(graph.getPath("A", "B"));
+        Assert.assertTrue(graph.getPath("A", "D").getNodes().isEmpty());
+        Assert.assertTrue(graph.getShortestPath("A", "C").getNodes().isEmpty());
+        Assert.assertEquals(3, graph.getNodes().size());
+        Assert.assertEquals(1, graph.getEdges().size());
+
+        // the slot of the removed node is reused
+        graph.addNode("E");
+        graph.addEdge("A", "E");
+        graph.addEdge("E", "C");
+
+        Assert.assertEquals(4, graph.getNodes().size());
+        Assert.assertEquals(4, graph.adjacency().size());
+        Assert.assertEquals(4, graph.getPath("A", "D").getNodes().size());
+        Assert.assertEquals("E", graph.getShortestPath("A", "D").getNodes().get(1).getData());
+    }
+
+    @Test
+    public void testStaleReachability() {
+        SimpleGraph graph = new SimpleGraph(4);
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.removeEdge("B", "C");
+
+        // answered by searching the matrix, then by the recomputed closure
+        for (int i = 0; i < 2 * SimpleGraph.REACHABILITY_REBUILD_QUERIES; i++) {
+            Assert.assertTrue(graph.isReachable("A", "B"));
+            Assert.assertFalse(graph.isReachable("A", "C"));
+        }
+
+        graph.addEdge("B", "C");
+        Assert.assertTrue(graph.isReachable("A", "C"));
+
+        graph.removeEdge("B", "C");
+        Assert.assertFalse(graph.isReachable("A", "C"));
+        Assert.assertTrue(graph.getPath("A", "C").getNodes().isEmpty());
+        Assert.assertEquals(2, graph.getPath("A", "B").getNodes().size());
+
+        graph.rebuildReachability();
+        Assert.assertFalse(graph.isReachable("A", "C"));
+        Assert.assertTrue(graph.getShortestPath("A", "C").getNodes().isEmpty());
+    }
+
+    @Test
+    public void testDuplicateLabels() {
+        SimpleGraph graph = new SimpleGraph(8);
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("A");
+        graph.addNode("C");
+        graph.addNode("A");
+        graph.addEdge("A", "B");
+
+        // the next node with the label is found from then on
+        graph.removeNode("A");
+        Assert.assertFalse(graph.isReachable("A", "B"));
+        graph.addEdge("A", "C");
+        Assert.assertTrue(graph.isReachable("A", "C"));
+
+        // and after a compaction
+        graph.removeNode("A");
+        Assert.assertFalse(graph.isReachable("A", "C"));
+        graph.removeNode("A");
+        Assert.assertNull(graph.getPath("A", "C"));
+        Assert.assertEquals(2, graph.getNodes().size());
+    }
+
+    @Test
+    public void testRandomRemovals() {
+        Random random = new Random(13);
+        int size = 60;
+        SimpleGraph graph = new SimpleGraph(size);
+        List<Set<Integer>> adjacency = new ArrayList<>();
+        Set<Integer> live = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            graph.addNode("N" + i);
+            adjacency.add(new HashSet<Integer>());
+            live.add(i);
+        }
+        for (int edge = 0; edge < 200; edge++) {
+            int origin = random.nextInt(size);
+            int destination = random.nextInt(size);
+            graph.addEdge("N" + origin, "N" + destination);
+            adjacency.get(origin).add(destination);
+        }
+        for (int step = 0; step < 40; step++) {
+            int origin = random.nextInt(size);
+            if (step % 3 == 0 && live.contains(origin)) {
+                graph.removeNode("N" + origin);
+                live.remove(origin);
+                adjacency.get(origin).clear();
+                for (Set<Integer> targets : adjacency) {
+                    targets.remove(origin);
+                }
+            } else if (!adjacency.get(origin).isEmpty()) {
+                int destination = adjacency.get(origin).iterator().next();
+                graph.removeEdge("N" + origin, "N" + destination);
+                adjacency.get(origin).remove(destination);
+            }
+            for (int i : live) {
+                Set<Integer> reachable = reachable(adjacency, i);
+                for (int j : live) {
+                    Assert.assertEquals(reachable.contains(j), graph.isReachable("N" + i, "N" + j));
+                    Assert.assertEquals(reachable.contains(j), !graph.getShortestPath("N" + i, "N" + j).getNodes().isEmpty());
+                }
+            }
+        }
+        Assert.assertEquals(live.size(), graph.getNodes().size());
+    }
+
+    @Test
+    public void testFootprint() {
+        int maxNodes = 2000;
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < maxNodes; i++) {
+            labels.add("N" + i);
+        }
+        SimpleGraph graph = new SimpleGraph(maxNodes);
+        for (String label : labels) {
+            graph.addNode(label);
+        }
+        for (int i = 1; i < maxNodes; i++) {
+            graph.addEdge(labels.get(i - 1), labels.get(i));
+        }
+        Assert.assertTrue(graph.isReachable(labels.get(0), labels.get(maxNodes - 1)));
+        Assert.assertEquals(maxNodes, graph.getShortestPath(labels.get(0), labels.get(maxNodes - 1)).getNodes().size());
+
+        long estimated = graph.getFootprint().getTotalBytes();
+        Assert.assertEquals(maxNodes - 1, graph.getFootprint().getEdges());
+
+        // the heap freed by dropping the graph (the labels stay reachable)
+        held = graph;
+        graph = null;
+        long used = usedHeap();
+        held = null;
+        long measured = used - usedHeap();
+
+        Assert.assertTrue(measured + " " + estimated, Math.abs(estimated - measured) <= 0.1 * measured);
+        Assert.assertTrue(Math.abs(SimpleGraph.estimateFootprint(maxNodes).getTotalBytes() - measured) <= 0.1 * measured);
+        Assert.assertEquals(maxNodes, labels.size());
+    }
+
+    private static Set<Integer> reachable(List<Set<Integer>> adjacency, int origin) {
+        Set<Integer> visited = new HashSet<>();
+        List<Integer> stack = new ArrayList<>();
+        visited.add(origin);
+        stack.add(origin);
+        while (!stack.isEmpty()) {
+            for (int next : adjacency.get(stack.remove(stack.size() - 1))) {
+                if (visited.add(next)) {
+                    stack.add(next);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 8; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
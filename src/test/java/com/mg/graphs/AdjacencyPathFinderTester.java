@@ -0,0 +1,134 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdjacencyPathFinderTester {
+	private IntGraph graph;
+	private AdjacencyPathFinder pathFinder;
+
+	@Before
+	public void before() {
+		graph = new IntGraph();
+		pathFinder = new AdjacencyPathFinder();
+
+		for (int i = 0; i < 6; i++) {
+			graph.addNode(i);
+		}
+
+		graph.addEdge(0, 1, 2);
+		graph.addEdge(0, 2, 1);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 3, 3);
+		graph.addEdge(2, 4, 4);
+		graph.addEdge(3, 5, 2);
+		graph.addEdge(4, 5, 2);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testFindPathArgs1() {
+		pathFinder.findPath(null, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFindPathArgs2() {
+		pathFinder.findPath(graph, 6);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGetDist1() {
+		pathFinder.getDist(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetDist2() {
+		pathFinder.findPath(graph, 0);
+		pathFinder.getDist(-1);
+	}
+
+	@Test
+	public void testCursor() {
+		Adjacency.Cursor cursor = graph.cursor();
+		int count = 0;
+		int weights = 0;
+
+		cursor.reset(2);
+
+		while (cursor.next()) {
+			count++;
+			weights += cursor.weight();
+		}
+
+		Assert.assertEquals(2, count);
+		Assert.assertEquals(7, weights);
+
+		// the cursor reads the graph in place
+		graph.addEdge(2, 5, 1);
+		cursor.reset(2);
+
+		count = 0;
+
+		while (cursor.next()) {
+			count++;
+		}
+
+		Assert.assertEquals(3, count);
+	}
+
+	@Test
+	public void testFindPath() {
+		pathFinder.findPath(graph, 0);
+
+		Assert.assertArrayEquals(new int[] { 0, 2, 1, 3, 5, 5 }, pathFinder.getDistances());
+		Assert.assertArrayEquals(new int[] { -1, 0, 0, 1, 2, 3 }, pathFinder.getPredecessors());
+		Assert.assertArrayEquals(new int[] { 0, 2, 1, 3 }, Arrays.copyOf(pathFinder.getSettled(), 4));
+		Assert.assertEquals(1, pathFinder.getPaths(graph, 0, 5).size());
+	}
+
+	@Test
+	public void testIndexedGraph() {
+		Random random = new Random(17);
+		Graph<Integer> graph = new Graph<>();
+		PathFinder<Integer> expected = new PathFinder<>();
+		int size = 150;
+
+		for (int i = 0; i < size; i++) {
+			graph.addNode(i);
+		}
+
+		for (int i = 0; i < size * 4; i++) {
+			int source = random.nextInt(size);
+			int destination = random.nextInt(size);
+
+			if (source != destination && graph.getOutboundEdges(source).stream()
+					.noneMatch((edge) -> edge.getDestination() == destination)) {
+				graph.addEdge(source, destination, random.nextInt(5) + 1);
+			}
+		}
+
+		IndexedGraph<Integer> indexed = graph.indexed();
+
+		for (int round = 0; round < 5; round++) {
+			int source = random.nextInt(size);
+
+			expected.findPath(graph, source);
+			pathFinder.findPath(indexed, indexed.indexOf(source));
+
+			for (int node = 0; node < size; node++) {
+				Assert.assertEquals(expected.getDist(node), pathFinder.getDist(indexed.indexOf(node)));
+			}
+
+			// the inbound view searches backwards
+			expected.findPathTo(graph, source);
+			pathFinder.findPath(indexed.inbound(), indexed.indexOf(source));
+
+			for (int node = 0; node < size; node++) {
+				Assert.assertEquals(expected.getDist(node), pathFinder.getDist(indexed.indexOf(node)));
+			}
+		}
+	}
+}
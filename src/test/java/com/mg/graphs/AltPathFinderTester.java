@@ -0,0 +1,136 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AltPathFinderTester {
+	private Graph<Integer> graph;
+
+	@Before
+	public void before() {
+		graph = new Graph<>();
+
+		graph.addNode(1);
+		graph.addNode(2);
+		graph.addNode(3);
+		graph.addNode(4);
+		graph.addNode(5);
+		graph.addNode(6);
+
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 4, 1);
+		graph.addEdge(3, 4, 3);
+		graph.addEdge(3, 5, 4);
+		graph.addEdge(4, 6, 2);
+		graph.addEdge(5, 6, 2);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testLandmarksArgs1() {
+		new Landmarks<>(null, 1, LandmarkSelection.AVOID);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testLandmarksArgs2() {
+		new Landmarks<>(graph, 1, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLandmarksArgs3() {
+		new Landmarks<>(graph, 0, LandmarkSelection.AVOID);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLandmarksArgs4() {
+		new Landmarks<>(graph, 7, LandmarkSelection.FARTHEST);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetDistArgs1() {
+		new AltPathFinder<>(new Landmarks<>(graph, 2, LandmarkSelection.AVOID)).getDist(1, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetDistArgs2() {
+		new AltPathFinder<>(new Landmarks<>(graph, 2, LandmarkSelection.AVOID)).getDist(1, 7);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGetDistArgs3() {
+		AltPathFinder<Integer> pathFinder = new AltPathFinder<>(new Landmarks<>(graph, 2, LandmarkSelection.AVOID));
+
+		graph.addEdge(6, 1, 1);
+		pathFinder.getDist(1, 6);
+	}
+
+	@Test
+	public void testGetPath1() {
+		AltPathFinder<Integer> pathFinder = new AltPathFinder<>(
+				new Landmarks<>(graph, 2, LandmarkSelection.FARTHEST));
+
+		Assert.assertEquals(pathFinder.getDist(1, 6), 5);
+		Assert.assertEquals(pathFinder.getPath(1, 6), Arrays.asList(1, 2, 4, 6));
+		Assert.assertEquals(pathFinder.getDist(6, 1), Integer.MAX_VALUE);
+		Assert.assertEquals(pathFinder.getPath(6, 1), Arrays.asList());
+	}
+
+	@Test
+	public void testGetPath2() {
+		for (LandmarkSelection selection : LandmarkSelection.values()) {
+			Random random = new Random(42);
+			Graph<Integer> graph = randomGraph(random, 300, 1200);
+			AltPathFinder<Integer> altPathFinder = new AltPathFinder<>(new Landmarks<>(graph, 8, selection));
+			PathFinder<Integer> pathFinder = new PathFinder<>();
+
+			for (int i = 0; i < 20; i++) {
+				int source = random.nextInt(300);
+
+				pathFinder.findPath(graph, source);
+
+				for (int destination = 0; destination < 300; destination++) {
+					if (destination != source) {
+						int expected = pathFinder.getDist(destination);
+
+						Assert.assertEquals(expected, altPathFinder.getDist(source, destination));
+
+						List<Integer> path = altPathFinder.getPath(source, destination);
+
+						if (expected != Integer.MAX_VALUE) {
+							Assert.assertEquals(source, (int) path.get(0));
+							Assert.assertEquals(destination, (int) path.get(path.size() - 1));
+							Assert.assertTrue(pathFinder.getPrev(destination).contains(path.get(path.size() - 2)));
+						} else {
+							Assert.assertTrue(path.isEmpty());
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static Graph<Integer> randomGraph(Random random, int nodes, int edges) {
+		Graph<Integer> graph = new Graph<>();
+
+		for (int i = 0; i < nodes; i++) {
+			graph.addNode(i);
+		}
+
+		for (int i = 0; i < edges; i++) {
+			int source = random.nextInt(nodes);
+			int destination = random.nextInt(nodes);
+
+			if (source != destination && graph.getOutboundEdges(source).stream()
+					.noneMatch((edge) -> edge.getDestination() == destination)) {
+				graph.addEdge(source, destination, random.nextInt(10) + 1);
+			}
+		}
+
+		return graph;
+	}
+}
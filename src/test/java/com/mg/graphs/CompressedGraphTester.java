@@ -0,0 +1,120 @@
+package com.mg.graphs;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressedGraphTester {
+	@Test(expected = NullPointerException.class)
+	public void testCompressedGraphArgs1() {
+		new CompressedGraph<Integer>(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompressedGraphArgs2() {
+		new CompressedGraph<>(new Graph<Integer>(), 1);
+	}
+
+	@Test
+	public void testEdges() {
+		Random random = new Random(23);
+
+		for (int minInterval : new int[] { 0, 2, CompressedGraph.DEFAULT_MIN_INTERVAL }) {
+			Graph<Integer> graph = randomGraph(random, 300, 2000);
+			CompressedGraph<Integer> compressed = new CompressedGraph<>(graph, minInterval);
+			Adjacency.Cursor cursor = compressed.cursor();
+
+			Assert.assertEquals(300, compressed.size());
+			Assert.assertEquals(graph.indexed().edgeCount(), compressed.edgeCount());
+
+			for (int node = 0; node < 300; node++) {
+				Set<String> expected = new HashSet<>();
+				Set<String> actual = new HashSet<>();
+				int count = 0;
+
+				for (Edge<Integer> edge : graph.getOutboundEdges(node)) {
+					expected.add(edge.getDestination() + ":" + edge.getWeight());
+				}
+
+				cursor.reset(compressed.indexOf(node));
+
+				while (cursor.next()) {
+					actual.add(compressed.getNode(cursor.target()) + ":" + cursor.weight());
+					count++;
+				}
+
+				Assert.assertEquals(expected, actual);
+				Assert.assertEquals(expected.size(), count);
+			}
+		}
+	}
+
+	@Test
+	public void testIntervals() {
+		Graph<Integer> graph = new Graph<>();
+
+		for (int i = 0; i < 1000; i++) {
+			graph.addNode(i);
+		}
+
+		// every node is joined to its ten successors (in index order)
+		IndexedGraph<Integer> indexed = graph.indexed();
+
+		for (int i = 0; i < 1000; i++) {
+			for (int j = i + 1; j <= i + 10 && j < 1000; j++) {
+				graph.addEdge(indexed.getNode(i), indexed.getNode(j), 1 + j % 3);
+			}
+		}
+
+		CompressedGraph<Integer> gaps = new CompressedGraph<>(graph, 0);
+		CompressedGraph<Integer> intervals = new CompressedGraph<>(graph);
+
+		// one byte per gap and one per weight, far below 8 bytes per edge
+		Assert.assertTrue(gaps.getByteCount() < 3L * gaps.edgeCount() + 8L * gaps.size());
+		Assert.assertTrue(intervals.getByteCount() < gaps.getByteCount());
+	}
+
+	@Test
+	public void testSearch() {
+		Random random = new Random(29);
+		Graph<Integer> graph = randomGraph(random, 200, 900);
+		CompressedGraph<Integer> compressed = new CompressedGraph<>(graph);
+		PathFinder<Integer> expected = new PathFinder<>();
+		AdjacencyPathFinder pathFinder = new AdjacencyPathFinder();
+
+		for (int round = 0; round < 5; round++) {
+			int source = random.nextInt(200);
+
+			expected.findPath(graph, source);
+			pathFinder.findPath(compressed, compressed.indexOf(source));
+
+			for (int node = 0; node < 200; node++) {
+				Assert.assertEquals(expected.getDist(node), pathFinder.getDist(compressed.indexOf(node)));
+			}
+		}
+	}
+
+	private static Graph<Integer> randomGraph(Random random, int size, int edges) {
+		Graph<Integer> graph = new Graph<>();
+
+		for (int i = 0; i < size; i++) {
+			graph.addNode(i);
+		}
+
+		for (int i = 0; i < edges; i++) {
+			int source = random.nextInt(size);
+			// mostly close targets, so intervals show up
+			int destination = random.nextBoolean() ? random.nextInt(size) : (source + 1 + random.nextInt(6)) % size;
+
+			if (source != destination && graph.getOutboundEdges(source).stream()
+					.noneMatch((edge) -> edge.getDestination() == destination)) {
+				graph.addEdge(source, destination, random.nextInt(200) + 1);
+			}
+		}
+
+		return graph;
+	}
+}
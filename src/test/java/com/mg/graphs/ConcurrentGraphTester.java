@@ -0,0 +1,174 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentGraphTester {
+	private ConcurrentGraph<Integer> graph;
+
+	@Before
+	public void before() {
+		graph = new ConcurrentGraph<>();
+
+		graph.addNode(1);
+		graph.addNode(2);
+		graph.addNode(3);
+		graph.addNode(4);
+		graph.addNode(5);
+		graph.addNode(6);
+
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 4, 1);
+		graph.addEdge(3, 4, 3);
+		graph.addEdge(3, 5, 4);
+		graph.addEdge(4, 6, 2);
+		graph.addEdge(5, 6, 2);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testAddNode1() {
+		graph.addNode(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddNode2() {
+		graph.addNode(3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge1() {
+		graph.addEdge(2, 3, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge2() {
+		graph.addEdge(1, 1, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge3() {
+		graph.addEdge(0, 1, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge4() {
+		graph.addEdge(1, 2, 1);
+	}
+
+	@Test
+	public void testSnapshot1() {
+		GraphView<Integer> snapshot = graph.snapshot();
+
+		// a snapshot is read-only, and its arrays are built once
+		Assert.assertFalse(snapshot instanceof Graph);
+		Assert.assertSame(snapshot.indexed(), snapshot.compacted());
+	}
+
+	@Test
+	public void testSnapshot2() {
+		GraphView<Integer> snapshot = graph.snapshot();
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		graph.addNode(7);
+		graph.addEdge(1, 7, 1);
+		graph.addEdge(7, 6, 1);
+
+		pathFinder.findPath(snapshot, 1);
+
+		Assert.assertEquals(5, pathFinder.getDist(6));
+		Assert.assertEquals(6, snapshot.getNodes().size());
+		Assert.assertFalse(snapshot.getNodes().contains(7));
+
+		pathFinder.findPath(graph.snapshot(), 1);
+
+		Assert.assertEquals(2, pathFinder.getDist(6));
+	}
+
+	@Test
+	public void testConcurrentIngestion() throws Exception {
+		int writers = 4;
+		int nodesPerWriter = 500;
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int w = 0; w < writers; w++) {
+			int writer = w;
+
+			threads.add(new Thread(() -> {
+				Random random = new Random(writer);
+				int first = 1000 + writer * nodesPerWriter;
+
+				for (int i = 0; i < nodesPerWriter; i++) {
+					graph.addNode(first + i);
+					graph.addEdge(random.nextInt(6) + 1, first + i, 1);
+
+					if (i > 0) {
+						graph.addEdge(first + i - 1, first + i, 1);
+					}
+				}
+			}));
+		}
+
+		Thread reader = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					GraphView<Integer> snapshot = graph.snapshot();
+					int nodes = snapshot.getNodes().size();
+					int edges = countEdges(snapshot);
+
+					// every visible edge leads to a visible node
+					for (Integer node : snapshot.getNodes()) {
+						for (Edge<Integer> edge : snapshot.getOutboundEdges(node)) {
+							Assert.assertTrue(snapshot.getNodes().contains(edge.getDestination()));
+						}
+					}
+
+					// the snapshot does not change while writers go on
+					Assert.assertEquals(nodes, snapshot.getNodes().size());
+					Assert.assertEquals(edges, countEdges(snapshot));
+				}
+			} catch (Throwable t) {
+				failure.set(t);
+			}
+		});
+
+		reader.start();
+
+		for (Thread thread : threads) {
+			thread.start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		done.set(true);
+		reader.join();
+
+		Assert.assertNull(failure.get());
+
+		GraphView<Integer> snapshot = graph.snapshot();
+
+		Assert.assertEquals(6 + writers * nodesPerWriter, snapshot.getNodes().size());
+		Assert.assertEquals(7 + writers * (2 * nodesPerWriter - 1), countEdges(snapshot));
+	}
+
+	private static int countEdges(GraphView<Integer> graph) {
+		int count = 0;
+
+		for (Integer node : graph.getNodes()) {
+			count += graph.getOutboundEdges(node).size();
+		}
+
+		return count;
+	}
+}
@@ -0,0 +1,145 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DistanceTableTester {
+	private Graph<Integer> graph;
+
+	@Before
+	public void before() {
+		graph = new Graph<>();
+
+		graph.addNode(1);
+		graph.addNode(2);
+		graph.addNode(3);
+		graph.addNode(4);
+		graph.addNode(5);
+		graph.addNode(6);
+
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 4, 1);
+		graph.addEdge(3, 4, 3);
+		graph.addEdge(3, 5, 4);
+		graph.addEdge(4, 6, 2);
+		graph.addEdge(5, 6, 2);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testDistanceTableArgs1() {
+		new DistanceTable<>(null, Arrays.asList(1), Arrays.asList(2));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testDistanceTableArgs2() {
+		new DistanceTable<>(graph, Arrays.asList(1, null), Arrays.asList(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDistanceTableArgs3() {
+		new DistanceTable<>(graph, Arrays.asList(1), Arrays.asList(2, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetDistsArgs() {
+		new PathFinder<Integer>().getDists(graph, 1, Arrays.asList(0));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGetDistsDiscardsSearch() {
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		pathFinder.findPath(graph, 1);
+		pathFinder.getDists(graph, 1, Arrays.asList(2));
+		pathFinder.getDist(6);
+	}
+
+	@Test
+	public void testGetDists() {
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+		List<SearchStats> stats = new ArrayList<>();
+
+		graph.addNode(7);
+		pathFinder.setSearchListener(stats::add);
+
+		Assert.assertArrayEquals(new int[] { 1, 0, 1, Integer.MAX_VALUE },
+				pathFinder.getDists(graph, 1, Arrays.asList(3, 1, 3, 7)));
+		Assert.assertArrayEquals(new int[] { 1 }, pathFinder.getDists(graph, 1, Arrays.asList(3)));
+
+		// the search stops once 3 is settled
+		Assert.assertEquals("PathFinder.getDists", stats.get(1).getOperation());
+		Assert.assertEquals(2, stats.get(1).getNodesSettled());
+	}
+
+	@Test
+	public void testDistanceTable() {
+		graph.addNode(7);
+
+		DistanceTable<Integer> table = new DistanceTable<>(graph, Arrays.asList(1, 3, 1, 7),
+				Arrays.asList(6, 1, 4));
+
+		Assert.assertEquals(Arrays.asList(1, 3, 1, 7), table.getSources());
+		Assert.assertEquals(5, table.getDist(0, 0));
+		Assert.assertEquals(0, table.getDist(0, 1));
+		Assert.assertEquals(5, table.getDist(1, 0));
+		Assert.assertEquals(Integer.MAX_VALUE, table.getDist(1, 1));
+		Assert.assertArrayEquals(table.toArray()[0], table.toArray()[2]);
+		Assert.assertArrayEquals(new int[] { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE },
+				table.toArray()[3]);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGetDist() {
+		new DistanceTable<>(graph, Arrays.asList(1), Arrays.asList(2)).getDist(0, 1);
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random random = new Random(3);
+		Graph<Integer> graph = new Graph<>();
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+		int size = 300;
+
+		for (int i = 0; i < size; i++) {
+			graph.addNode(i);
+		}
+
+		for (int i = 0; i < size * 3; i++) {
+			int source = random.nextInt(size);
+			int destination = random.nextInt(size);
+
+			if (source != destination && graph.getOutboundEdges(source).stream()
+					.noneMatch((edge) -> edge.getDestination() == destination)) {
+				graph.addEdge(source, destination, random.nextInt(9) + 1);
+			}
+		}
+
+		List<Integer> sources = new ArrayList<>();
+		List<Integer> targets = new ArrayList<>();
+
+		for (int i = 0; i < 40; i++) {
+			sources.add(random.nextInt(size));
+			targets.add(random.nextInt(size));
+		}
+
+		Collections.shuffle(targets, random);
+
+		DistanceTable<Integer> table = new DistanceTable<>(graph, sources, targets);
+
+		for (int i = 0; i < sources.size(); i++) {
+			pathFinder.findPath(graph, sources.get(i));
+
+			for (int j = 0; j < targets.size(); j++) {
+				Assert.assertEquals(pathFinder.getDist(targets.get(j)), table.getDist(i, j));
+			}
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphBuilderTester {
+	@Test(expected = NullPointerException.class)
+	public void testAddEdgeArgs() {
+		new GraphBuilder<Integer>().addEdge(1, null, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBuildWeight() {
+		GraphBuilder<Integer> builder = new GraphBuilder<>();
+
+		builder.addEdge(1, 2, 1);
+		builder.addEdge(2, 3, 0);
+		builder.build();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBuildLoop() {
+		GraphBuilder<Integer> builder = new GraphBuilder<>();
+
+		builder.addEdge(1, 2, 1);
+		builder.addEdge(2, 2, 1);
+		builder.build();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBuildArraysArgs1() {
+		GraphBuilder.build(3, new int[] { 0, 1 }, new int[] { 1 }, new int[] { 1, 1 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBuildArraysArgs2() {
+		GraphBuilder.build(3, new int[] { 0, 1 }, new int[] { 1, 3 }, new int[] { 1, 1 });
+	}
+
+	@Test
+	public void testBuild() {
+		GraphBuilder<String> builder = new GraphBuilder<>();
+
+		builder.addNode("e");
+		builder.addNode("a");
+		builder.addEdge("a", "b", 2);
+		builder.addEdge("a", "c", 5);
+		builder.addEdge("b", "c", 1);
+		builder.addEdge("a", "c", 4);
+		builder.addEdge("c", "d", 1);
+
+		Graph<String> graph = builder.build();
+		PathFinder<String> pathFinder = new PathFinder<>();
+
+		Assert.assertEquals(5, graph.getNodes().size());
+		Assert.assertEquals(4, graph.indexed().edgeCount());
+
+		pathFinder.findPath(graph, "a");
+
+		Assert.assertEquals(3, pathFinder.getDist("c"));
+		Assert.assertEquals(4, pathFinder.getDist("d"));
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist("e"));
+
+		// the lightest repeated edge is kept
+		for (Edge<String> edge : graph.getOutboundEdges("a")) {
+			if (edge.getDestination().equals("c")) {
+				Assert.assertEquals(4, edge.getWeight());
+			}
+		}
+	}
+
+	@Test
+	public void testNodeOrder() {
+		Random random = new Random(5);
+		GraphBuilder<String> builder = new GraphBuilder<>();
+		Set<String> expected = new LinkedHashSet<>();
+
+		builder.addNode("first");
+		expected.add("first");
+
+		for (int i = 0; i < 20000; i++) {
+			String source = Integer.toString(random.nextInt(5000));
+			String destination = Integer.toString(random.nextInt(5000));
+
+			if (!source.equals(destination)) {
+				builder.addEdge(source, destination, 1);
+				expected.add(source);
+				expected.add(destination);
+			}
+		}
+
+		// the ids follow the added nodes and then the first occurrences in
+		// the edges, however the workers are scheduled
+		for (int run = 0; run < 3; run++) {
+			IndexedGraph<String> indexed = builder.build().indexed();
+			int index = 0;
+
+			Assert.assertEquals(expected.size(), indexed.size());
+
+			for (String node : expected) {
+				Assert.assertEquals(node, indexed.getNode(index++));
+			}
+		}
+	}
+
+	@Test
+	public void testModify() {
+		Graph<Integer> graph = GraphBuilder.build(3, new int[] { 0, 1 }, new int[] { 1, 2 }, new int[] { 5, 5 });
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		graph.addNode(3);
+		graph.addEdge(0, 2, 3);
+		graph.addEdge(2, 3, 1);
+
+		pathFinder.findPath(graph, 0);
+
+		Assert.assertEquals(3, pathFinder.getDist(2));
+		Assert.assertEquals(4, pathFinder.getDist(3));
+		Assert.assertEquals(2, graph.getOutboundEdges(0).size());
+		Assert.assertEquals(2, graph.getInboundEdges(2).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testModifyExistingEdge() {
+		Graph<Integer> graph = GraphBuilder.build(3, new int[] { 0, 1 }, new int[] { 1, 2 }, new int[] { 5, 5 });
+
+		graph.addEdge(0, 1, 3);
+	}
+
+	@Test
+	public void testSameAsAddEdge() {
+		Random random = new Random(3);
+		int nodes = 500;
+		int[] sources = new int[5000];
+		int[] destinations = new int[5000];
+		int[] weights = new int[5000];
+		Map<Long, Integer> lightest = new HashMap<>();
+
+		for (int i = 0; i < sources.length; i++) {
+			do {
+				sources[i] = random.nextInt(nodes);
+				destinations[i] = random.nextInt(nodes);
+			} while (sources[i] == destinations[i]);
+
+			weights[i] = random.nextInt(10) + 1;
+			lightest.merge(((long) sources[i] << 32) | destinations[i], weights[i], Math::min);
+		}
+
+		Graph<Integer> expected = new Graph<>();
+
+		for (int node = 0; node < nodes; node++) {
+			expected.addNode(node);
+		}
+
+		for (Map.Entry<Long, Integer> edge : lightest.entrySet()) {
+			expected.addEdge((int) (edge.getKey() >>> 32), (int) (long) edge.getKey(), edge.getValue());
+		}
+
+		GraphBuilder<Integer> builder = new GraphBuilder<>();
+
+		for (int i = 0; i < sources.length; i++) {
+			builder.addEdge(sources[i], destinations[i], weights[i]);
+		}
+
+		for (Graph<Integer> actual : Arrays.asList(GraphBuilder.build(nodes, sources, destinations, weights),
+				builder.build())) {
+			PathFinder<Integer> expectedFinder = new PathFinder<>();
+			PathFinder<Integer> actualFinder = new PathFinder<>();
+
+			Assert.assertEquals(expected.indexed().edgeCount(), actual.indexed().edgeCount());
+
+			for (int source = 0; source < 20; source++) {
+				expectedFinder.findPath(expected, source);
+				actualFinder.findPath(actual, source);
+
+				for (int node = 0; node < nodes; node++) {
+					Assert.assertEquals(expectedFinder.getDist(node), actualFinder.getDist(node));
+					Assert.assertEquals(expectedFinder.getPrev(node), actualFinder.getPrev(node));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testBuildGenerator() {
+		Graph<Integer> graph = GraphBuilder.build((sink) -> GraphGenerators.grid(20, 30, 7, sink));
+		Graph<Integer> expected = new Graph<>();
+
+		GraphGenerators.grid(20, 30, 7, EdgeSink.of(expected));
+
+		Assert.assertEquals(600, graph.getNodes().size());
+		Assert.assertEquals(expected.indexed().edgeCount(), graph.indexed().edgeCount());
+
+		DistanceTable<Integer> expectedTable = new DistanceTable<>(expected, Arrays.asList(0, 599),
+				Arrays.asList(17, 300, 598));
+		DistanceTable<Integer> actualTable = new DistanceTable<>(graph, Arrays.asList(0, 599),
+				Arrays.asList(17, 300, 598));
+
+		Assert.assertArrayEquals(expectedTable.toArray(), actualTable.toArray());
+	}
+}
@@ -0,0 +1,212 @@
+package com.mg.graphs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphGeneratorsTester {
+	@Test(expected = NullPointerException.class)
+	public void testGridArgs1() {
+		GraphGenerators.grid(2, 2, 1, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGridArgs2() {
+		GraphGenerators.grid(0, 2, 1, new EdgeBuffer());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testErdosRenyiArgs() {
+		GraphGenerators.erdosRenyi(10, 10, 1, new EdgeBuffer());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRmatArgs() {
+		GraphGenerators.rmat(4, 10, 0.5, 0.3, 0.3, 1, new EdgeBuffer());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBarabasiAlbertArgs() {
+		GraphGenerators.barabasiAlbert(3, 3, 1, new EdgeBuffer());
+	}
+
+	@Test
+	public void testGrid() {
+		EdgeBuffer edges = generate((sink) -> GraphGenerators.grid(30, 40, 5, sink));
+
+		Assert.assertEquals(1200, edges.getNodes());
+		Assert.assertEquals(2 * (2 * 30 * 40 - 30 - 40), edges.size());
+		assertSymmetric(edges);
+	}
+
+	@Test
+	public void testErdosRenyi() {
+		EdgeBuffer edges = generate((sink) -> GraphGenerators.erdosRenyi(2000, 8, 5, sink));
+
+		Assert.assertEquals(2000, edges.getNodes());
+		Assert.assertTrue(edges.size() > 2000 * 7.5 && edges.size() < 2000 * 8.5);
+
+		EdgeBuffer complete = generate((sink) -> GraphGenerators.erdosRenyi(20, 19, 5, sink));
+
+		Assert.assertEquals(20 * 19, complete.size());
+	}
+
+	@Test
+	public void testRmat() {
+		EdgeBuffer edges = generate((sink) -> GraphGenerators.rmat(12, 40000, 5, sink));
+		int[] degrees = new int[edges.getNodes()];
+		int max = 0;
+
+		for (long edge : keys(edges)) {
+			max = Math.max(max, ++degrees[(int) (edge >>> 32)]);
+		}
+
+		Assert.assertEquals(4096, edges.getNodes());
+		Assert.assertTrue(edges.size() > 30000 && edges.size() <= 40000 * 1.05);
+		// skewed degrees
+		Assert.assertTrue(max > 20 * edges.size() / edges.getNodes());
+	}
+
+	@Test
+	public void testBarabasiAlbert() {
+		EdgeBuffer edges = generate((sink) -> GraphGenerators.barabasiAlbert(3000, 3, 5, sink));
+
+		Assert.assertEquals(3000, edges.getNodes());
+		Assert.assertEquals(2 * (3 * 4 / 2 + (3000 - 4) * 3), edges.size());
+		assertSymmetric(edges);
+	}
+
+	@Test
+	public void testRoadNetwork() {
+		EdgeBuffer edges = generate((sink) -> GraphGenerators.roadNetwork(50, 50, 5, sink));
+		int links = 2 * 50 * 49;
+
+		Assert.assertEquals(2500, edges.getNodes());
+		Assert.assertTrue(edges.size() > 2 * links * 0.9 && edges.size() < 2 * links * 1.2);
+		assertSymmetric(edges);
+
+		for (int i = 0; i < edges.size(); i++) {
+			// a link is between 0.4 and 1.6 * sqrt(2) cells long
+			Assert.assertTrue(edges.getWeight(i) >= 40 && edges.getWeight(i) <= 227);
+		}
+	}
+
+	@Test
+	public void testSeed() {
+		EdgeBuffer first = generate((sink) -> GraphGenerators.rmat(10, 5000, 7, sink));
+		EdgeBuffer second = generate((sink) -> GraphGenerators.rmat(10, 5000, 7, sink));
+		EdgeBuffer third = generate((sink) -> GraphGenerators.rmat(10, 5000, 8, sink));
+
+		Assert.assertEquals(keys(first), keys(second));
+		Assert.assertArrayEquals(first.getWeights(), second.getWeights());
+		Assert.assertFalse(keys(first).equals(keys(third)));
+	}
+
+	@Test
+	public void testGraphSink() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.barabasiAlbert(500, 2, 5, EdgeSink.of(graph));
+
+		Assert.assertEquals(500, graph.getNodes().size());
+		Assert.assertEquals(2 * (3 + 497 * 2), graph.indexed().edgeCount());
+
+		IntGraph intGraph = new IntGraph();
+
+		GraphGenerators.grid(10, 10, 5, EdgeSink.of(intGraph));
+
+		Assert.assertEquals(100, intGraph.size());
+	}
+
+	@Test
+	public void testEdgeListFile() throws IOException {
+		Path path = Files.createTempFile("graph", ".txt");
+
+		try {
+			try (EdgeListWriter writer = new EdgeListWriter(path)) {
+				GraphGenerators.erdosRenyi(300, 4, 5, writer);
+			}
+
+			EdgeBuffer expected = generate((sink) -> GraphGenerators.erdosRenyi(300, 4, 5, sink));
+			EdgeBuffer actual = new EdgeBuffer();
+
+			EdgeListReader.read(path, actual);
+
+			Assert.assertEquals(expected.getNodes(), actual.getNodes());
+			Assert.assertEquals(keys(expected), keys(actual));
+			Assert.assertArrayEquals(expected.getWeights(), actual.getWeights());
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testEdgeListFileMalformed() throws IOException {
+		Path path = Files.createTempFile("graph", ".txt");
+
+		try {
+			Files.write(path, "3\n0 1\n".getBytes());
+			EdgeListReader.read(path, new EdgeBuffer());
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	private interface Generator {
+		void generate(EdgeSink sink);
+	}
+
+	/**
+	 * Generates a graph checking that it has no loops nor repeated edges.
+	 */
+	private static EdgeBuffer generate(Generator generator) {
+		EdgeBuffer edges = new EdgeBuffer();
+		Set<Long> distinct = new HashSet<>();
+
+		generator.generate(edges);
+
+		for (long edge : keys(edges)) {
+			int source = (int) (edge >>> 32);
+			int destination = (int) edge;
+
+			Assert.assertTrue(source != destination);
+			Assert.assertTrue(source >= 0 && source < edges.getNodes());
+			Assert.assertTrue(destination >= 0 && destination < edges.getNodes());
+			Assert.assertTrue(distinct.add(edge));
+		}
+
+		for (int weight : edges.getWeights()) {
+			Assert.assertTrue(weight >= 1);
+		}
+
+		return edges;
+	}
+
+	private static void assertSymmetric(EdgeBuffer edges) {
+		Set<Long> distinct = new HashSet<>(keys(edges));
+
+		for (long edge : keys(edges)) {
+			Assert.assertTrue(distinct.contains((edge << 32) | (edge >>> 32)));
+		}
+	}
+
+	/**
+	 * Packs each edge in a long, the source in the high half.
+	 */
+	private static List<Long> keys(EdgeBuffer edges) {
+		List<Long> keys = new ArrayList<>(edges.size());
+
+		for (int i = 0; i < edges.size(); i++) {
+			keys.add(((long) edges.getSource(i) << 32) | edges.getDestination(i));
+		}
+
+		return keys;
+	}
+}
@@ -0,0 +1,92 @@
+package com.mg.graphs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphPartitionTester {
+	@Test(expected = NullPointerException.class)
+	public void testGraphPartitionArgs1() {
+		new GraphPartition<Integer>(null, 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGraphPartitionArgs2() {
+		Graph<Integer> graph = new Graph<>();
+
+		graph.addNode(1);
+		new GraphPartition<>(graph, 2);
+	}
+
+	@Test
+	public void testGrid() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.grid(40, 40, 3, EdgeSink.of(graph));
+
+		GraphPartition<Integer> partition = new GraphPartition<>(graph, 4);
+		int total = 0;
+
+		Assert.assertEquals(4, partition.getParts());
+
+		for (int p = 0; p < 4; p++) {
+			Assert.assertTrue(partition.getSize(p) <= Math.ceil(400 * (1 + GraphPartition.IMBALANCE)));
+			Assert.assertTrue(partition.getSize(p) >= Math.floor(400 * (1 - GraphPartition.IMBALANCE)));
+			total += partition.getSize(p);
+		}
+
+		Assert.assertEquals(1600, total);
+		// a random split would cut 3 / 4 of the 6240 edges
+		Assert.assertTrue(partition.getCutEdgeCount() < 600);
+	}
+
+	@Test
+	public void testBoundary() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.roadNetwork(20, 20, 3, EdgeSink.of(graph));
+
+		GraphPartition<Integer> partition = new GraphPartition<>(graph, 3);
+		int cut = 0;
+
+		for (int node = 0; node < 400; node++) {
+			boolean boundary = false;
+
+			for (Edge<Integer> edge : graph.getOutboundEdges(node)) {
+				if (partition.getPart(edge.getDestination()) != partition.getPart(node)) {
+					boundary = true;
+					cut++;
+				}
+			}
+
+			for (Edge<Integer> edge : graph.getInboundEdges(node)) {
+				if (partition.getPart(edge.getSource()) != partition.getPart(node)) {
+					boundary = true;
+				}
+			}
+
+			Assert.assertEquals(boundary, partition.isBoundary(node));
+		}
+
+		Assert.assertEquals(cut, partition.getCutEdgeCount());
+	}
+
+	@Test
+	public void testDisconnected() {
+		Graph<Integer> graph = new Graph<>();
+
+		for (int i = 0; i < 10; i++) {
+			graph.addNode(i);
+		}
+
+		graph.addEdge(0, 1, 1);
+		graph.addEdge(2, 3, 1);
+
+		GraphPartition<Integer> partition = new GraphPartition<>(graph, 3);
+
+		for (int p = 0; p < 3; p++) {
+			Assert.assertTrue(partition.getSize(p) > 0);
+		}
+
+		Assert.assertEquals(0, partition.getCutEdgeCount());
+	}
+}
@@ -0,0 +1,249 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GraphRemovalTester {
+	private Graph<Integer> graph;
+
+	@Before
+	public void before() {
+		graph = new Graph<>();
+
+		for (int i = 1; i <= 5; i++) {
+			graph.addNode(i);
+		}
+
+		graph.addEdge(1, 2, 1);
+		graph.addEdge(2, 3, 1);
+		graph.addEdge(1, 3, 5);
+		graph.addEdge(3, 4, 1);
+		graph.addEdge(4, 5, 1);
+		graph.addEdge(1, 5, 9);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testRemoveNodeArgs1() {
+		graph.removeNode(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRemoveNodeArgs2() {
+		graph.removeNode(6);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testRemoveEdgeArgs1() {
+		graph.removeEdge(1, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRemoveEdgeArgs2() {
+		graph.removeEdge(2, 1);
+	}
+
+	@Test
+	public void testRemoveEdge() {
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertEquals(4, pathFinder.getDist(5));
+
+		graph.removeEdge(2, 3);
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertEquals(7, pathFinder.getDist(5));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(1)), pathFinder.getPrev(3));
+		Assert.assertFalse(graph.indexed().isCompact());
+
+		pathFinder.findPathTo(graph, 3);
+
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(2));
+		Assert.assertEquals(5, pathFinder.getDist(1));
+
+		// removed edges can be added back
+		graph.addEdge(2, 3, 2);
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertEquals(5, pathFinder.getDist(5));
+	}
+
+	@Test
+	public void testRemoveNode() {
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		pathFinder.findPath(graph, 1);
+		graph.removeNode(3);
+
+		Assert.assertFalse(graph.getNodes().contains(3));
+		Assert.assertEquals(Collections.emptySet(), graph.getInboundEdges(4));
+
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertEquals(9, pathFinder.getDist(5));
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(4));
+		Assert.assertEquals(Arrays.asList(1, 2, 5), pathFinder.getSettled());
+
+		try {
+			pathFinder.getDist(3);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		try {
+			pathFinder.findPath(graph, 3);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		graph.addNode(3);
+		graph.addEdge(3, 4, 1);
+		pathFinder.findPathTo(graph, 5);
+
+		Assert.assertEquals(2, pathFinder.getDist(3));
+		Assert.assertEquals(9, pathFinder.getDist(1));
+	}
+
+	@Test
+	public void testSnapshotIsolation() throws Exception {
+		PathQueryService<Integer> service = new PathQueryService<>(graph, 1, 4);
+
+		graph.removeEdge(3, 4);
+		graph.removeNode(2);
+
+		// the service keeps searching the graph it was created with
+		Assert.assertEquals(Integer.valueOf(4), service.getDist(1, 5).get());
+
+		service.close();
+
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertEquals(9, pathFinder.getDist(5));
+	}
+
+	@Test
+	public void testBuiltGraph() {
+		Graph<Integer> built = GraphBuilder.build(4, new int[] { 0, 1, 2 }, new int[] { 1, 2, 3 }, new int[] { 1, 1, 1 });
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		built.removeEdge(1, 2);
+		pathFinder.findPath(built, 0);
+
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(3));
+		Assert.assertEquals(0, built.getOutboundEdges(1).size());
+	}
+
+	@Test
+	public void testCompaction() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.grid(10, 10, 5, EdgeSink.of(graph));
+		graph.indexed();
+
+		// removing the 18 inner edges of the first row is below the threshold
+		for (int i = 1; i < 9; i++) {
+			graph.removeEdge(i, i + 1);
+			graph.removeEdge(i + 1, i);
+		}
+
+		Assert.assertEquals(16.0 / (100 + 360), graph.getGarbageRatio(), 1e-9);
+
+		graph.compact();
+
+		Assert.assertTrue(graph.indexed().isCompact());
+		Assert.assertEquals(0, graph.getGarbageRatio(), 0);
+		Assert.assertEquals(360 - 16, graph.indexed().edgeCount());
+		Assert.assertEquals(1, graph.components().count());
+	}
+
+	@Test
+	public void testRandomRemovals() throws Exception {
+		Random random = new Random(17);
+		Graph<Integer> graph = new Graph<>();
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+		PathFinder<Integer> expectedPathFinder = new PathFinder<>();
+		List<int[]> edges = new ArrayList<>();
+
+		GraphGenerators.erdosRenyi(200, 5, 17, EdgeSink.of(graph));
+
+		for (Integer node : graph.getNodes()) {
+			for (Edge<Integer> edge : graph.getOutboundEdges(node)) {
+				edges.add(new int[] { node, edge.getDestination() });
+			}
+		}
+
+		for (int round = 0; round < 40; round++) {
+			for (int k = 0; k < 12; k++) {
+				int[] edge = edges.remove(random.nextInt(edges.size()));
+
+				if (graph.getNodes().contains(edge[0]) && graph.getNodes().contains(edge[1])) {
+					graph.removeEdge(edge[0], edge[1]);
+				}
+			}
+
+			if (round % 4 == 0) {
+				graph.removeNode(nextNode(graph, random));
+			}
+
+			if (round % 10 == 9) {
+				// let a background compaction finish
+				Thread.sleep(20);
+			}
+
+			Graph<Integer> expected = copy(graph);
+
+			for (int q = 0; q < 3; q++) {
+				Integer source = nextNode(graph, random);
+
+				pathFinder.findPath(graph, source);
+				expectedPathFinder.findPath(expected, source);
+
+				for (Integer node : expected.getNodes()) {
+					Assert.assertEquals(expectedPathFinder.getDist(node), pathFinder.getDist(node));
+				}
+			}
+
+			Assert.assertTrue(graph.getGarbageRatio() <= Graph.COMPACTION_THRESHOLD + 0.1);
+		}
+	}
+
+	private static Integer nextNode(Graph<Integer> graph, Random random) {
+		List<Integer> nodes = new ArrayList<>(graph.getNodes());
+
+		Collections.sort(nodes);
+
+		return nodes.get(random.nextInt(nodes.size()));
+	}
+
+	/**
+	 * @return A new graph with the nodes and edges of the given one.
+	 */
+	private static Graph<Integer> copy(Graph<Integer> graph) {
+		Graph<Integer> result = new Graph<>();
+
+		for (Integer node : graph.getNodes()) {
+			result.addNode(node);
+		}
+
+		for (Integer node : graph.getNodes()) {
+			for (Edge<Integer> edge : graph.getOutboundEdges(node)) {
+				result.addEdge(node, edge.getDestination(), edge.getWeight());
+			}
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,202 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IntGraphTester {
+	private IntGraph graph;
+	private IntPathFinder pathFinder;
+
+	@Before
+	public void before() {
+		graph = new IntGraph();
+		pathFinder = new IntPathFinder();
+
+		graph.addNode(1);
+		graph.addNode(2);
+		graph.addNode(3);
+		graph.addNode(4);
+		graph.addNode(5);
+		graph.addNode(6);
+
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 4, 1);
+		graph.addEdge(3, 4, 3);
+		graph.addEdge(3, 5, 4);
+		graph.addEdge(4, 6, 2);
+		graph.addEdge(5, 6, 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddNode() {
+		graph.addNode(3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge1() {
+		graph.addEdge(2, 3, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge2() {
+		graph.addEdge(1, 1, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge3() {
+		graph.addEdge(0, 1, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge4() {
+		graph.addEdge(1, 0, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddEdge5() {
+		graph.addEdge(1, 2, 1);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testFindPathArgs1() {
+		pathFinder.findPath(null, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFindPathArgs2() {
+		pathFinder.findPath(graph, 0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGetDist1() {
+		pathFinder.getDist(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetDist2() {
+		pathFinder.findPath(graph, 1);
+		pathFinder.getDist(0);
+	}
+
+	@Test
+	public void testFindPath() {
+		graph.addNode(7);
+		graph.addEdge(1, 7, 2);
+		graph.addEdge(7, 6, 3);
+
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertEquals(0, pathFinder.getDist(1));
+		Assert.assertEquals(2, pathFinder.getDist(2));
+		Assert.assertEquals(1, pathFinder.getDist(3));
+		Assert.assertEquals(3, pathFinder.getDist(4));
+		Assert.assertEquals(5, pathFinder.getDist(5));
+		Assert.assertEquals(5, pathFinder.getDist(6));
+		Assert.assertEquals(2, pathFinder.getDist(7));
+
+		Assert.assertArrayEquals(new int[0], pathFinder.getPrev(1));
+		Assert.assertArrayEquals(new int[] { 3 }, pathFinder.getPrev(5));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(4, 7)), toSet(pathFinder.getPrev(6)));
+
+		int[] distances = pathFinder.getDistances();
+		int[] predecessors = pathFinder.getPredecessors();
+
+		Assert.assertEquals(5, distances[graph.indexOf(6)]);
+		Assert.assertEquals(-1, predecessors[graph.indexOf(1)]);
+		Assert.assertEquals(graph.indexOf(1), predecessors[graph.indexOf(2)]);
+	}
+
+	@Test
+	public void testGetPaths() {
+		graph.addNode(7);
+		graph.addEdge(1, 7, 2);
+		graph.addEdge(7, 6, 3);
+
+		Set<List<Integer>> expected = new HashSet<>();
+
+		expected.add(Arrays.asList(1, 2, 4, 6));
+		expected.add(Arrays.asList(1, 7, 6));
+
+		Assert.assertEquals(expected, toLists(pathFinder.getPaths(graph, 1, 6)));
+		Assert.assertTrue(pathFinder.getPaths(graph, 6, 1).isEmpty());
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random random = new Random(7);
+
+		for (int round = 0; round < 5; round++) {
+			IntGraph intGraph = new IntGraph();
+			Graph<Integer> graph = new Graph<>();
+			PathFinder<Integer> expected = new PathFinder<>();
+
+			for (int i = 0; i < 200; i++) {
+				// sparse and negative ids are allowed
+				intGraph.addNode(i * 1000 - 5000);
+				graph.addNode(i * 1000 - 5000);
+			}
+
+			for (int i = 0; i < 800; i++) {
+				int source = random.nextInt(200) * 1000 - 5000;
+				int destination = random.nextInt(200) * 1000 - 5000;
+				int weight = random.nextInt(3) + 1;
+
+				if (source != destination && graph.getOutboundEdges(source).stream()
+						.noneMatch((edge) -> edge.getDestination() == destination)) {
+					intGraph.addEdge(source, destination, weight);
+					graph.addEdge(source, destination, weight);
+				}
+			}
+
+			int source = random.nextInt(200) * 1000 - 5000;
+
+			expected.findPath(graph, source);
+			pathFinder.findPath(intGraph, source);
+
+			for (int node : graph.getNodes()) {
+				Assert.assertEquals(expected.getDist(node), pathFinder.getDist(node));
+				Assert.assertEquals(expected.getPrev(node), toSet(pathFinder.getPrev(node)));
+
+				if (node != source) {
+					Assert.assertEquals(expected.getPaths(graph, source, node),
+							toLists(pathFinder.getPaths(intGraph, source, node)));
+				}
+			}
+		}
+	}
+
+	private static Set<Integer> toSet(int[] nodes) {
+		Set<Integer> result = new HashSet<>();
+
+		for (int node : nodes) {
+			result.add(node);
+		}
+
+		return result;
+	}
+
+	private static Set<List<Integer>> toLists(List<int[]> paths) {
+		Set<List<Integer>> result = new HashSet<>();
+
+		for (int[] path : paths) {
+			List<Integer> list = new ArrayList<>();
+
+			for (int node : path) {
+				list.add(node);
+			}
+
+			result.add(list);
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,316 @@
+package com.mg.graphs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MemoryFootprintTester {
+	/**
+	 * Largest relative error accepted between an estimate and the heap.
+	 */
+	private static final double TOLERANCE = 0.1;
+
+	private static final int NODES = 20_000;
+
+	/**
+	 * Object being measured.
+	 */
+	private Object held;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEstimateFootprintArgs1() {
+		Graph.estimateFootprint(-1, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEstimateFootprintArgs2() {
+		IntGraph.estimateFootprint(1, -1);
+	}
+
+	@Test
+	public void testFootprint() {
+		MemoryFootprint footprint = new MemoryFootprint("test", 10, 20, 100, 400, 16);
+
+		Assert.assertEquals(516, footprint.getTotalBytes());
+		Assert.assertEquals(10, footprint.getBytesPerNode(), 0);
+		Assert.assertEquals(20, footprint.getBytesPerEdge(), 0);
+		Assert.assertEquals(1032, footprint.plus(footprint).getTotalBytes());
+		Assert.assertEquals(0, new MemoryFootprint("empty", 0, 0, 0, 0, 16).getBytesPerNode(), 0);
+	}
+
+	@Test
+	public void testGraph() {
+		EdgeBuffer edges = new EdgeBuffer();
+		Integer[] nodes = new Integer[NODES];
+
+		GraphGenerators.erdosRenyi(NODES, 6, 3, edges);
+
+		for (int i = 0; i < NODES; i++) {
+			nodes[i] = i;
+		}
+
+		Graph<Integer> graph = new Graph<>();
+
+		for (Integer node : nodes) {
+			graph.addNode(node);
+		}
+
+		for (int e = 0; e < edges.size(); e++) {
+			graph.addEdge(nodes[edges.getSource(e)], nodes[edges.getDestination(e)], edges.getWeight(e));
+		}
+
+		graph.indexed();
+
+		MemoryFootprint footprint = graph.getFootprint();
+
+		held = graph;
+		graph = null;
+
+		long measured = release();
+
+		assertClose(measured, footprint.getTotalBytes());
+		assertClose(measured, Graph.estimateFootprint(NODES, edges.size()).getTotalBytes());
+		Assert.assertEquals(NODES, footprint.getNodes());
+		Assert.assertEquals(edges.size(), footprint.getEdges());
+		// the nodes stay reachable, so they are not measured
+		Assert.assertEquals(NODES, nodes.length);
+	}
+
+	@Test
+	public void testBuiltGraph() {
+		EdgeBuffer edges = new EdgeBuffer();
+
+		GraphGenerators.erdosRenyi(NODES, 6, 3, edges);
+
+		Graph<Integer> graph = edges.build();
+		MemoryFootprint footprint = graph.getFootprint();
+
+		held = graph;
+		graph = null;
+
+		long measured = release();
+		// the builder boxes the node ids, which are not counted
+		long boxes = (NODES - 128) * MemoryLayout.objectBytes(0, 4);
+
+		assertClose(measured, footprint.getTotalBytes() + boxes);
+		assertClose(measured, GraphBuilder.estimateFootprint(NODES, edges.size()).getTotalBytes() + boxes);
+	}
+
+	@Test
+	public void testIntGraph() {
+		EdgeBuffer edges = new EdgeBuffer();
+
+		GraphGenerators.erdosRenyi(NODES, 6, 3, edges);
+
+		IntGraph graph = new IntGraph();
+
+		for (int i = 0; i < NODES; i++) {
+			graph.addNode(i);
+		}
+
+		for (int e = 0; e < edges.size(); e++) {
+			graph.addEdge(edges.getSource(e), edges.getDestination(e), edges.getWeight(e));
+		}
+
+		MemoryFootprint footprint = graph.getFootprint();
+
+		held = graph;
+		graph = null;
+
+		long measured = release();
+
+		assertClose(measured, footprint.getTotalBytes());
+		assertClose(measured, IntGraph.estimateFootprint(NODES, edges.size()).getTotalBytes());
+	}
+
+	@Test
+	public void testConcurrentGraph() {
+		EdgeBuffer edges = new EdgeBuffer();
+		Integer[] nodes = new Integer[NODES];
+
+		GraphGenerators.erdosRenyi(NODES, 6, 3, edges);
+
+		for (int i = 0; i < NODES; i++) {
+			nodes[i] = i;
+		}
+
+		ConcurrentGraph<Integer> graph = new ConcurrentGraph<>();
+
+		for (Integer node : nodes) {
+			graph.addNode(node);
+		}
+
+		for (int e = 0; e < edges.size(); e++) {
+			graph.addEdge(nodes[edges.getSource(e)], nodes[edges.getDestination(e)], edges.getWeight(e));
+		}
+
+		MemoryFootprint footprint = graph.getFootprint();
+
+		held = graph;
+		graph = null;
+
+		long measured = release();
+
+		assertClose(measured, footprint.getTotalBytes());
+		Assert.assertEquals(NODES, footprint.getNodes());
+		Assert.assertEquals(edges.size(), footprint.getEdges());
+		Assert.assertEquals(NODES, nodes.length);
+	}
+
+	@Test
+	public void testEmptyConcurrentGraphs() {
+		// only the fixed bytes (the lock, the sequence and the empty map)
+		ConcurrentGraph<?>[] graphs = new ConcurrentGraph<?>[NODES];
+		long estimated = MemoryLayout.referenceArrayBytes(NODES);
+
+		for (int i = 0; i < NODES; i++) {
+			graphs[i] = new ConcurrentGraph<>();
+			estimated += graphs[i].getFootprint().getTotalBytes();
+		}
+
+		Assert.assertEquals(MemoryLayout.concurrentHashMapBytes(0), graphs[0].getFootprint().getNodeBytes());
+
+		held = graphs;
+		graphs = null;
+
+		long measured = release();
+
+		assertClose(measured, estimated);
+	}
+
+	@Test
+	public void testSnapshot() {
+		ConcurrentGraph<Integer> graph = new ConcurrentGraph<>();
+
+		GraphGenerators.grid(150, 150, 3, new EdgeSink() {
+			@Override
+			public void addNodes(int count) {
+				for (int node = 0; node < count; node++) {
+					graph.addNode(node);
+				}
+			}
+
+			@Override
+			public void addEdge(int source, int destination, int weight) {
+				graph.addEdge(source, destination, weight);
+			}
+		});
+
+		GraphView<Integer> snapshot = graph.snapshot();
+
+		// the nodes and edges are shared with the graph
+		Assert.assertEquals(150 * 150, snapshot.getFootprint().getNodes());
+		Assert.assertEquals(snapshot.getFootprint().getTotalBytes(), MemoryLayout.instanceBytes(snapshot.getClass()));
+
+		snapshot.indexed();
+
+		MemoryFootprint footprint = snapshot.getFootprint();
+
+		held = snapshot;
+		snapshot = null;
+
+		long measured = release();
+
+		assertClose(measured, footprint.getTotalBytes());
+		Assert.assertEquals(150 * 150, footprint.getNodes());
+		Assert.assertEquals(150 * 150, graph.getFootprint().getNodes());
+	}
+
+	@Test
+	public void testInstanceBytes() {
+		// a reference and an int
+		Assert.assertEquals(MemoryLayout.objectBytes(1, 4), MemoryLayout.instanceBytes(NodeQueue.class));
+		// two references and an int
+		Assert.assertEquals(MemoryLayout.objectBytes(2, 4), MemoryLayout.instanceBytes(Edge.class));
+		Assert.assertEquals(MemoryLayout.objectBytes(0, 0), MemoryLayout.instanceBytes(Object.class));
+	}
+
+	@Test
+	public void testCompressedGraph() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.grid(150, 150, 3, EdgeSink.of(graph));
+		graph.indexed();
+
+		CompressedGraph<Integer> compressed = new CompressedGraph<>(graph);
+		MemoryFootprint footprint = compressed.getFootprint();
+
+		held = compressed;
+		compressed = null;
+
+		long measured = release();
+
+		assertClose(measured, footprint.getTotalBytes());
+		Assert.assertEquals(150 * 150, graph.getNodes().size());
+	}
+
+	@Test
+	public void testPathFinder() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.grid(150, 150, 3, EdgeSink.of(graph));
+		graph.indexed();
+
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		pathFinder.findPath(graph, 0);
+
+		MemoryFootprint footprint = pathFinder.getFootprint();
+
+		held = pathFinder;
+		pathFinder = null;
+
+		long measured = release();
+
+		assertClose(measured, footprint.getTotalBytes());
+		Assert.assertEquals(150 * 150, footprint.getNodes());
+		Assert.assertEquals(150 * 150, graph.getNodes().size());
+	}
+
+	@Test
+	public void testBackendSelection() {
+		MemoryFootprint hashed = Graph.estimateFootprint(1_000_000, 8_000_000);
+		MemoryFootprint built = GraphBuilder.estimateFootprint(1_000_000, 8_000_000);
+		MemoryFootprint primitive = IntGraph.estimateFootprint(1_000_000, 8_000_000);
+
+		// the maps of the edges cost several times the arrays, and the
+		// snapshot keeps the inbound edges too
+		Assert.assertTrue(hashed.getBytesPerEdge() > 4 * built.getBytesPerEdge());
+		Assert.assertTrue(primitive.getTotalBytes() < built.getTotalBytes());
+		Assert.assertTrue(built.getTotalBytes() < hashed.getTotalBytes());
+	}
+
+	private static void assertClose(long measured, long estimated) {
+		Assert.assertTrue("measured " + measured + " estimated " + estimated,
+				Math.abs(estimated - measured) <= TOLERANCE * measured);
+	}
+
+	/**
+	 * @return The bytes reachable only through the held object: the used heap
+	 *         while it is held minus the used heap once it is released (the
+	 *         garbage left by earlier tests does not count this way).
+	 */
+	private long release() {
+		long used = usedHeap();
+
+		held = null;
+
+		return used - usedHeap();
+	}
+
+	/**
+	 * @return The bytes used by the reachable objects of the heap (the least
+	 *         used after several collections, as some garbage outlives the
+	 *         first ones).
+	 */
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+
+		for (int i = 0; i < 8; i++) {
+			System.gc();
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+
+		return used;
+	}
+}
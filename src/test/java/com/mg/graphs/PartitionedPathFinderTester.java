@@ -0,0 +1,126 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionedPathFinderTester {
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetDistArgs() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.grid(3, 3, 1, EdgeSink.of(graph));
+
+		PartitionedPathFinder<Integer> finder = new PartitionedPathFinder<>(graph, 2);
+
+		try {
+			finder.getDist(0, 9);
+		} finally {
+			finder.close();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClose() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.grid(3, 3, 1, EdgeSink.of(graph));
+
+		PartitionedPathFinder<Integer> finder = new PartitionedPathFinder<>(graph, 2);
+
+		finder.close();
+		finder.getDist(0, 8);
+	}
+
+	@Test
+	public void testRoadNetwork() {
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.roadNetwork(30, 30, 9, EdgeSink.of(graph));
+
+		assertSameDists(graph, 4, 900);
+	}
+
+	@Test
+	public void testDirected() {
+		Graph<Integer> graph = new Graph<>();
+
+		// one-way edges make many pairs unreachable
+		GraphGenerators.erdosRenyi(400, 1.5, 9, EdgeSink.of(graph));
+
+		assertSameDists(graph, 5, 400);
+	}
+
+	@Test
+	public void testOverlay() {
+		Graph<Integer> graph = new Graph<>();
+		List<SearchStats> stats = new ArrayList<>();
+
+		GraphGenerators.grid(20, 20, 9, EdgeSink.of(graph));
+
+		PartitionedPathFinder<Integer> finder = new PartitionedPathFinder<>(graph, 4);
+
+		finder.setSearchListener(stats::add);
+
+		// few boundary nodes, fully linked inside each part
+		Assert.assertTrue(finder.getOverlaySize() < 400 / 2);
+		Assert.assertTrue(finder.getOverlayEdgeCount() > finder.getPartition().getCutEdgeCount());
+
+		finder.getDist(0, 399);
+
+		Assert.assertEquals("PartitionedPathFinder.getDist", stats.get(0).getOperation());
+		Assert.assertTrue(stats.get(0).getNodesSettled() <= finder.getOverlaySize());
+
+		finder.close();
+	}
+
+	@Test
+	public void testWorkerReplies() throws InterruptedException {
+		IndexedGraph<Integer> graph = GraphBuilder.build(2, new int[] { 0 }, new int[] { 1 }, new int[] { 3 })
+				.indexed();
+		MessageChannel<PartitionWorker.Request> inbox = new MessageChannel<>();
+		MessageChannel<PartitionWorker.Response> replies = new MessageChannel<>();
+		Thread thread = new Thread(new PartitionWorker(0, graph, new int[] { 1 }, inbox));
+
+		thread.start();
+		inbox.send(new PartitionWorker.Request(7, PartitionWorker.Kind.FORWARD, 0, 1, replies));
+		// unknown node
+		inbox.send(new PartitionWorker.Request(8, PartitionWorker.Kind.FORWARD, 5, -1, replies));
+		inbox.send(new PartitionWorker.Request(9, PartitionWorker.Kind.STOP, -1, -1, null));
+
+		PartitionWorker.Response first = replies.receive();
+		PartitionWorker.Response second = replies.receive();
+
+		// the responses carry the query of their request, even on failure
+		Assert.assertEquals(7, first.query);
+		Assert.assertNull(first.error);
+		Assert.assertEquals(3, first.target);
+		Assert.assertEquals(8, second.query);
+		Assert.assertNotNull(second.error);
+
+		thread.join();
+	}
+
+	private static void assertSameDists(Graph<Integer> graph, int parts, int nodes) {
+		Random random = new Random(5);
+		PartitionedPathFinder<Integer> finder = new PartitionedPathFinder<>(graph, parts);
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+
+		for (int q = 0; q < 20; q++) {
+			int source = random.nextInt(nodes);
+
+			pathFinder.findPath(graph, source);
+
+			for (int k = 0; k < 20; k++) {
+				int destination = random.nextInt(nodes);
+
+				Assert.assertEquals(pathFinder.getDist(destination), finder.getDist(source, destination));
+			}
+		}
+
+		finder.close();
+	}
+}
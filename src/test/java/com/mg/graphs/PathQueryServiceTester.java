@@ -0,0 +1,246 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PathQueryServiceTester {
+	private Graph<Integer> graph;
+
+	@Before
+	public void before() {
+		graph = new Graph<>();
+
+		for (int i = 1; i <= 7; i++) {
+			graph.addNode(i);
+		}
+
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 4, 1);
+		graph.addEdge(3, 4, 3);
+		graph.addEdge(3, 5, 4);
+		graph.addEdge(4, 6, 2);
+		graph.addEdge(5, 6, 2);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testPathQueryServiceArgs1() {
+		new PathQueryService<Integer>(null, 1, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPathQueryServiceArgs2() {
+		new PathQueryService<>(graph, 1, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetPathArgs() {
+		PathQueryService<Integer> service = new PathQueryService<>(graph, 1, 1);
+
+		try {
+			service.getPath(1, 8);
+		} finally {
+			service.close();
+		}
+	}
+
+	@Test
+	public void testGetPath() throws Exception {
+		PathQueryService<Integer> service = new PathQueryService<>(graph, 2, 4);
+
+		Assert.assertEquals(Integer.valueOf(5), service.getDist(1, 6).get());
+		Assert.assertEquals(Arrays.asList(1, 2, 4, 6), service.getPath(1, 6).get());
+		Assert.assertEquals(Arrays.asList(3), service.getPath(3, 3).get());
+		Assert.assertEquals(Collections.emptyList(), service.getPath(1, 7).get());
+		Assert.assertEquals(Integer.valueOf(Integer.MAX_VALUE), service.getDist(6, 1).get());
+
+		service.close();
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void testClose() {
+		PathQueryService<Integer> service = new PathQueryService<>(graph, 1, 1);
+
+		service.close();
+		service.getDist(1, 6);
+	}
+
+	@Test
+	public void testCoalescing() throws Exception {
+		ManualExecutor executor = new ManualExecutor();
+		PathQueryService<Integer> service = new PathQueryService<>(graph, executor, 4);
+		List<CompletableFuture<Integer>> dists = new ArrayList<>();
+
+		for (int i = 2; i <= 6; i++) {
+			dists.add(service.getDist(1, i));
+		}
+
+		CompletableFuture<List<Integer>> path = service.getPath(1, 5);
+
+		Assert.assertEquals(1, executor.tasks.size());
+		Assert.assertEquals(1, service.getStats().getPending());
+
+		Thread.sleep(5);
+		executor.runAll();
+
+		for (int i = 2; i <= 6; i++) {
+			Assert.assertEquals(Integer.valueOf(new int[] { 2, 1, 3, 5, 5 }[i - 2]), dists.get(i - 2).get());
+		}
+
+		Assert.assertEquals(Arrays.asList(1, 3, 5), path.get());
+
+		QueryServiceStats stats = service.getStats();
+
+		Assert.assertEquals(6, stats.getRequests());
+		Assert.assertEquals(5, stats.getCoalesced());
+		Assert.assertEquals(1, stats.getSearches());
+		Assert.assertEquals(0, stats.getPending());
+		Assert.assertTrue(stats.getMaxQueueLatencyNanos() >= 5_000_000);
+		Assert.assertEquals(stats.getQueueLatencyNanos(), stats.getMeanQueueLatencyNanos());
+
+		// the finished search is not joined anymore
+		service.getDist(1, 6);
+
+		Assert.assertEquals(1, executor.tasks.size());
+	}
+
+	@Test
+	public void testPathRebuild() throws Exception {
+		ManualExecutor executor = new ManualExecutor();
+		PathQueryService<Integer> service = new PathQueryService<>(graph, executor, 4);
+		CompletableFuture<Thread> rebuilt = service.getPath(1, 5).thenApply((path) -> Thread.currentThread());
+
+		executor.runAll();
+
+		// not on the thread which ran the search
+		Assert.assertNotSame(Thread.currentThread(), rebuilt.get());
+	}
+
+	@Test
+	public void testBackpressure() throws Exception {
+		ManualExecutor executor = new ManualExecutor();
+		PathQueryService<Integer> service = new PathQueryService<>(graph, executor, 2);
+		CompletableFuture<Integer> first = service.getDist(1, 6);
+		CompletableFuture<Integer> second = service.getDist(2, 6);
+
+		try {
+			service.getDist(3, 6);
+			Assert.fail();
+		} catch (RejectedExecutionException e) {
+			// expected
+		}
+
+		// a pending source is still served
+		CompletableFuture<Integer> third = service.getDist(2, 4);
+
+		Assert.assertEquals(1, service.getStats().getRejected());
+
+		executor.runAll();
+
+		Assert.assertEquals(Integer.valueOf(5), first.get());
+		Assert.assertEquals(Integer.valueOf(3), second.get());
+		Assert.assertEquals(Integer.valueOf(1), third.get());
+
+		// the rejected requests are counted too
+		QueryServiceStats stats = service.getStats();
+
+		Assert.assertEquals(4, stats.getRequests());
+		Assert.assertEquals(stats.getRequests() - stats.getCoalesced() - stats.getRejected(), stats.getSearches());
+
+		// the completed searches free their slots
+		CompletableFuture<Integer> fourth = service.getDist(3, 6);
+
+		executor.runAll();
+
+		Assert.assertEquals(Integer.valueOf(5), fourth.get());
+	}
+
+	@Test
+	public void testConcurrentRequests() throws Exception {
+		Random random = new Random(11);
+		Graph<Integer> graph = new Graph<>();
+
+		GraphGenerators.erdosRenyi(300, 4, 11, EdgeSink.of(graph));
+
+		PathQueryService<Integer> service = new PathQueryService<>(graph, 4, 1000);
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+		List<Thread> threads = new ArrayList<>();
+		List<int[]> requests = Collections.synchronizedList(new ArrayList<>());
+		List<CompletableFuture<Integer>> futures = Collections.synchronizedList(new ArrayList<>());
+		int[][] queries = new int[400][2];
+
+		for (int[] query : queries) {
+			// few hot sources
+			query[0] = random.nextInt(5);
+			query[1] = random.nextInt(300);
+		}
+
+		for (int t = 0; t < 8; t++) {
+			int first = t;
+
+			threads.add(new Thread(() -> {
+				for (int q = first; q < queries.length; q += 8) {
+					CompletableFuture<Integer> future = service.getDist(queries[q][0], queries[q][1]);
+
+					synchronized (requests) {
+						requests.add(queries[q]);
+						futures.add(future);
+					}
+				}
+			}));
+		}
+
+		for (Thread thread : threads) {
+			thread.start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		synchronized (requests) {
+			for (int i = 0; i < requests.size(); i++) {
+				pathFinder.findPath(graph, requests.get(i)[0]);
+
+				Assert.assertEquals(Integer.valueOf(pathFinder.getDist(requests.get(i)[1])), futures.get(i).get());
+			}
+		}
+
+		QueryServiceStats stats = service.getStats();
+
+		Assert.assertEquals(400, stats.getRequests());
+		Assert.assertEquals(400, stats.getCoalesced() + stats.getSearches());
+
+		service.close();
+	}
+
+	/**
+	 * Executor running its tasks only when asked.
+	 */
+	private static class ManualExecutor implements Executor {
+		final List<Runnable> tasks = new ArrayList<>();
+
+		@Override
+		public void execute(Runnable command) {
+			tasks.add(command);
+		}
+
+		void runAll() {
+			for (Runnable task : tasks) {
+				task.run();
+			}
+
+			tasks.clear();
+		}
+	}
+}
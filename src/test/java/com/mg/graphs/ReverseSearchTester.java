@@ -0,0 +1,120 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReverseSearchTester {
+	private Graph<Integer> graph;
+	private PathFinder<Integer> pathFinder;
+
+	@Before
+	public void before() {
+		graph = new Graph<>();
+		pathFinder = new PathFinder<>();
+
+		graph.addNode(1);
+		graph.addNode(2);
+		graph.addNode(3);
+		graph.addNode(4);
+		graph.addNode(5);
+		graph.addNode(6);
+
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 4, 1);
+		graph.addEdge(3, 4, 3);
+		graph.addEdge(3, 5, 4);
+		graph.addEdge(4, 6, 2);
+		graph.addEdge(5, 6, 2);
+	}
+
+	@Test
+	public void testGetInboundEdges() {
+		Assert.assertEquals(2, graph.getInboundEdges(4).size());
+		Assert.assertEquals(0, graph.getInboundEdges(1).size());
+
+		// maintained once built
+		graph.addNode(7);
+		graph.addEdge(7, 4, 1);
+
+		Assert.assertEquals(3, graph.getInboundEdges(4).size());
+		Assert.assertEquals(0, graph.getInboundEdges(7).size());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testFindPathToArgs1() {
+		pathFinder.findPathTo(null, 1);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testFindPathToArgs2() {
+		pathFinder.findPathTo(graph, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFindPathToArgs3() {
+		pathFinder.findPathTo(graph, 0);
+	}
+
+	@Test
+	public void testFindPathTo() {
+		graph.addNode(7);
+		graph.addEdge(1, 7, 2);
+		graph.addEdge(7, 6, 3);
+
+		pathFinder.findPathTo(graph, 6);
+
+		Assert.assertEquals(5, pathFinder.getDist(1));
+		Assert.assertEquals(3, pathFinder.getDist(2));
+		Assert.assertEquals(5, pathFinder.getDist(3));
+		Assert.assertEquals(2, pathFinder.getDist(4));
+		Assert.assertEquals(2, pathFinder.getDist(5));
+		Assert.assertEquals(0, pathFinder.getDist(6));
+		Assert.assertEquals(3, pathFinder.getDist(7));
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList(2, 7)), pathFinder.getPrev(1));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(4)), pathFinder.getPrev(3));
+		Assert.assertEquals(new HashSet<>(), pathFinder.getPrev(6));
+
+		pathFinder.findPathTo(graph, 1);
+
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(6));
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random random = new Random(5);
+		Graph<Integer> graph = new Graph<>();
+		PathFinder<Integer> forward = new PathFinder<>();
+		int size = 120;
+
+		for (int i = 0; i < size; i++) {
+			graph.addNode(i);
+		}
+
+		for (int i = 0; i < 400; i++) {
+			int source = random.nextInt(size);
+			int destination = random.nextInt(size);
+
+			if (source != destination && graph.getOutboundEdges(source).stream()
+					.noneMatch((edge) -> edge.getDestination() == destination)) {
+				graph.addEdge(source, destination, random.nextInt(5) + 1);
+			}
+		}
+
+		for (int destination = 0; destination < size; destination += 7) {
+			pathFinder.findPathTo(graph, destination);
+
+			for (int source = 0; source < size; source++) {
+				forward.findPath(graph, source);
+
+				Assert.assertEquals(forward.getDist(destination), pathFinder.getDist(source));
+			}
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package com.mg.graphs;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.giordans.graphs.SimpleGraph;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class SearchInstrumentationTester {
+	private Graph<Integer> graph;
+	private PathFinder<Integer> pathFinder;
+	private List<SearchStats> stats;
+
+	@Before
+	public void before() {
+		graph = new Graph<>();
+		pathFinder = new PathFinder<>();
+		stats = new ArrayList<>();
+
+		graph.addNode(1);
+		graph.addNode(2);
+		graph.addNode(3);
+		graph.addNode(4);
+		graph.addNode(5);
+		graph.addNode(6);
+		graph.addNode(7);
+
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 4, 1);
+		graph.addEdge(3, 4, 3);
+		graph.addEdge(3, 5, 4);
+		graph.addEdge(4, 6, 2);
+		graph.addEdge(5, 6, 2);
+		graph.addEdge(1, 7, 2);
+		graph.addEdge(7, 6, 3);
+
+		pathFinder.setSearchListener(stats::add);
+	}
+
+	@Test
+	public void testFindPath() {
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertEquals(1, stats.size());
+		Assert.assertEquals("PathFinder.findPath", stats.get(0).getOperation());
+		Assert.assertEquals(7, stats.get(0).getNodesSettled());
+		Assert.assertEquals(9, stats.get(0).getEdgesRelaxed());
+		Assert.assertEquals(1, stats.get(0).getPredecessorTies());
+		Assert.assertEquals(0, stats.get(0).getPathsEnumerated());
+		Assert.assertTrue(stats.get(0).getQueueOperations() > 0);
+		Assert.assertTrue(stats.get(0).getWallTimeNanos() >= 0);
+	}
+
+	@Test
+	public void testGetPaths() {
+		pathFinder.getPaths(graph, 1, 6);
+
+		Assert.assertEquals(1, stats.size());
+		Assert.assertEquals("PathFinder.getPaths", stats.get(0).getOperation());
+		Assert.assertEquals(2, stats.get(0).getPathsEnumerated());
+	}
+
+	@Test
+	public void testRemoveListener() {
+		pathFinder.setSearchListener(null);
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertTrue(stats.isEmpty());
+	}
+
+	@Test
+	public void testSimpleGraph() {
+		SimpleGraph simpleGraph = new SimpleGraph(3);
+
+		simpleGraph.addNode("A");
+		simpleGraph.addNode("B");
+		simpleGraph.addNode("C");
+		simpleGraph.addEdge("A", "B");
+		simpleGraph.addEdge("B", "C");
+		simpleGraph.setSearchListener(stats::add);
+
+		simpleGraph.getPath("A", "C");
+		simpleGraph.getPath("C", "A");
+
+		Assert.assertEquals(2, stats.size());
+		Assert.assertEquals("SimpleGraph.getPath", stats.get(0).getOperation());
+		Assert.assertEquals(3, stats.get(0).getNodesSettled());
+		Assert.assertEquals(2, stats.get(0).getEdgesRelaxed());
+		Assert.assertEquals(1, stats.get(0).getPathsEnumerated());
+		Assert.assertEquals(0, stats.get(1).getPathsEnumerated());
+	}
+
+	@Test
+	public void testFlightRecorder() throws Exception {
+		File file = File.createTempFile("path-search", ".jfr");
+
+		try (Recording recording = new Recording()) {
+			recording.enable(PathSearchEvent.class);
+			recording.start();
+			pathFinder.getPaths(graph, 1, 6);
+			recording.stop();
+			recording.dump(file.toPath());
+		}
+
+		List<RecordedEvent> events = new ArrayList<>();
+
+		for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+			if (event.getEventType().getName().equals("com.mg.graphs.PathSearch")) {
+				events.add(event);
+			}
+		}
+
+		file.delete();
+
+		Assert.assertEquals(1, events.size());
+		Assert.assertEquals("PathFinder.getPaths", events.get(0).getString("operation"));
+		Assert.assertEquals(7, events.get(0).getLong("nodesSettled"));
+		Assert.assertEquals(2, events.get(0).getLong("pathsEnumerated"));
+		// the event spans the search
+		Assert.assertTrue(events.get(0).getDuration().toNanos() > 0);
+	}
+
+	@Test
+	public void testWithoutFlightRecorder() throws Exception {
+		// loads this package again on a runtime without jdk.jfr, like an old Java 8
+		ClassLoader parent = new ClassLoader(ClassLoader.getSystemClassLoader().getParent()) {
+			@Override
+			protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+				if (name.startsWith("jdk.jfr.")) {
+					throw new ClassNotFoundException(name);
+				}
+
+				return super.loadClass(name, resolve);
+			}
+		};
+		URL classes = PathFinder.class.getProtectionDomain().getCodeSource().getLocation();
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { classes }, parent)) {
+			Class<?> recorder = Class.forName(FlightRecorder.class.getName(), true, loader);
+			Class<?> graphClass = Class.forName(Graph.class.getName(), true, loader);
+			Class<?> viewClass = Class.forName(GraphView.class.getName(), true, loader);
+			Class<?> pathFinderClass = Class.forName(PathFinder.class.getName(), true, loader);
+			Object copy = graphClass.getConstructor().newInstance();
+			Method addNode = graphClass.getMethod("addNode", Object.class);
+			Method addEdge = graphClass.getMethod("addEdge", Object.class, Object.class, int.class);
+
+			Field available = recorder.getDeclaredField("AVAILABLE");
+
+			available.setAccessible(true);
+			Assert.assertNotSame(FlightRecorder.class, recorder);
+			Assert.assertFalse(available.getBoolean(null));
+
+			addNode.invoke(copy, 1);
+			addNode.invoke(copy, 2);
+			addNode.invoke(copy, 3);
+			addEdge.invoke(copy, 1, 2, 1);
+			addEdge.invoke(copy, 2, 3, 1);
+
+			Object copyFinder = pathFinderClass.getConstructor().newInstance();
+			Object paths = pathFinderClass.getMethod("getPaths", viewClass, Object.class, Object.class)
+					.invoke(copyFinder, copy, 1, 3);
+
+			Assert.assertEquals(1, ((Set<?>) paths).size());
+		}
+	}
+}
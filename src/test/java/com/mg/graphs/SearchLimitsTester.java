@@ -0,0 +1,131 @@
+package com.mg.graphs;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SearchLimitsTester {
+	private Graph<Integer> graph;
+	private PathFinder<Integer> pathFinder;
+
+	@Before
+	public void before() {
+		graph = new Graph<>();
+		pathFinder = new PathFinder<>();
+
+		graph.addNode(1);
+		graph.addNode(2);
+		graph.addNode(3);
+		graph.addNode(4);
+		graph.addNode(5);
+		graph.addNode(6);
+
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(1, 3, 1);
+		graph.addEdge(2, 4, 1);
+		graph.addEdge(3, 4, 3);
+		graph.addEdge(3, 5, 4);
+		graph.addEdge(4, 6, 2);
+		graph.addEdge(5, 6, 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWithMaxDistance() {
+		SearchLimits.NONE.withMaxDistance(-1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWithMaxSettled() {
+		SearchLimits.NONE.withMaxSettled(0);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testWithCancellation() {
+		SearchLimits.NONE.withCancellation(null);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testFindPathArgs() {
+		pathFinder.findPath(graph, 1, null);
+	}
+
+	@Test
+	public void testMaxDistance() {
+		Assert.assertEquals(SearchOutcome.COMPLETED,
+				pathFinder.findPath(graph, 1, SearchLimits.NONE.withMaxDistance(3)));
+
+		Assert.assertEquals(Arrays.asList(1, 3, 2), pathFinder.getSettled().subList(0, 3));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4)), new HashSet<>(pathFinder.getSettled()));
+		Assert.assertEquals(3, pathFinder.getDist(4));
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(5));
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(6));
+
+		// the reverse isochrone of 6
+		pathFinder.findPathTo(graph, 6, SearchLimits.NONE.withMaxDistance(2));
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList(6, 4, 5)), new HashSet<>(pathFinder.getSettled()));
+	}
+
+	@Test
+	public void testMaxSettled() {
+		Assert.assertEquals(SearchOutcome.SETTLED_LIMIT,
+				pathFinder.findPath(graph, 1, SearchLimits.NONE.withMaxSettled(3)));
+
+		Assert.assertEquals(3, pathFinder.getSettled().size());
+		Assert.assertEquals(2, pathFinder.getDist(2));
+
+		// 4 was reached with a tentative distance, but not settled
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(4));
+		Assert.assertTrue(pathFinder.getPrev(4).isEmpty());
+
+		Assert.assertEquals(SearchOutcome.COMPLETED,
+				pathFinder.findPath(graph, 1, SearchLimits.NONE.withMaxSettled(6)));
+		Assert.assertEquals(5, pathFinder.getDist(6));
+	}
+
+	@Test
+	public void testDeadline() {
+		Assert.assertEquals(SearchOutcome.DEADLINE,
+				pathFinder.findPath(graph, 1, SearchLimits.NONE.withTimeout(-1, TimeUnit.SECONDS)));
+		Assert.assertTrue(pathFinder.getSettled().isEmpty());
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(1));
+
+		Assert.assertEquals(SearchOutcome.COMPLETED,
+				pathFinder.findPath(graph, 1, SearchLimits.NONE.withTimeout(1, TimeUnit.HOURS)));
+	}
+
+	@Test
+	public void testCancellation() {
+		Graph<Integer> chain = new Graph<>();
+		AtomicInteger checks = new AtomicInteger();
+		int size = SearchLimits.CHECK_INTERVAL * 10;
+
+		for (int i = 0; i < size; i++) {
+			chain.addNode(i);
+
+			if (i > 0) {
+				chain.addEdge(i - 1, i, 1);
+			}
+		}
+
+		// cancelled on the third check
+		SearchLimits limits = SearchLimits.NONE.withCancellation(() -> checks.incrementAndGet() == 3);
+
+		Assert.assertEquals(SearchOutcome.CANCELLED, pathFinder.findPath(chain, 0, limits));
+
+		List<Integer> settled = pathFinder.getSettled();
+
+		Assert.assertEquals(2 * SearchLimits.CHECK_INTERVAL, settled.size());
+
+		for (int i = 0; i < settled.size(); i++) {
+			Assert.assertEquals(i, (int) settled.get(i));
+			Assert.assertEquals(i, pathFinder.getDist(i));
+		}
+	}
+}
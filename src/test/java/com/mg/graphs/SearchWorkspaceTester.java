@@ -0,0 +1,93 @@
+package com.mg.graphs;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SearchWorkspaceTester {
+	@Test
+	public void testReset() {
+		SearchWorkspace workspace = new SearchWorkspace();
+
+		workspace.reset(4);
+		workspace.setDist(0, 0, -1);
+		workspace.setDist(1, 3, 0);
+		workspace.addPrev(1, 2);
+		workspace.addPrev(1, 3);
+		workspace.settle(0);
+
+		Assert.assertEquals(3, workspace.getDist(1));
+		Assert.assertEquals(0, workspace.getPrev(1));
+		Assert.assertTrue(workspace.isSettled(0));
+
+		int entry = workspace.getOverflow(1);
+
+		Assert.assertEquals(3, workspace.getOverflowNode(entry));
+		Assert.assertEquals(2, workspace.getOverflowNode(workspace.getOverflowNext(entry)));
+		Assert.assertEquals(-1, workspace.getOverflowNext(workspace.getOverflowNext(entry)));
+
+		// a shorter distance drops the previous predecessors
+		workspace.setDist(1, 2, 3);
+
+		Assert.assertEquals(3, workspace.getPrev(1));
+		Assert.assertEquals(-1, workspace.getOverflow(1));
+
+		// nothing survives a reset, even when the workspace grows
+		workspace.reset(4);
+
+		Assert.assertEquals(Integer.MAX_VALUE, workspace.getDist(1));
+		Assert.assertEquals(-1, workspace.getPrev(1));
+		Assert.assertFalse(workspace.isSettled(0));
+
+		workspace.reset(100);
+
+		Assert.assertEquals(Integer.MAX_VALUE, workspace.getDist(99));
+		Assert.assertTrue(workspace.getQueue().isEmpty());
+	}
+
+	@Test
+	public void testReusedPathFinder() {
+		Random random = new Random(11);
+		PathFinder<Integer> reused = new PathFinder<>();
+
+		for (int round = 0; round < 10; round++) {
+			// graphs of different sizes, so the workspace shrinks and grows
+			int size = round % 2 == 0 ? 150 : 40;
+			Graph<Integer> graph = new Graph<>();
+
+			for (int i = 0; i < size; i++) {
+				graph.addNode(i);
+			}
+
+			for (int i = 0; i < size * 3; i++) {
+				int source = random.nextInt(size);
+				int destination = random.nextInt(size);
+
+				if (source != destination && graph.getOutboundEdges(source).stream()
+						.noneMatch((edge) -> edge.getDestination() == destination)) {
+					graph.addEdge(source, destination, random.nextInt(3) + 1);
+				}
+			}
+
+			for (int query = 0; query < 5; query++) {
+				int source = random.nextInt(size);
+				int destination = random.nextInt(size);
+				PathFinder<Integer> fresh = new PathFinder<>();
+
+				if (source != destination) {
+					Assert.assertEquals(fresh.getPaths(graph, source, destination),
+							reused.getPaths(graph, source, destination));
+				}
+
+				fresh.findPath(graph, source);
+				reused.findPath(graph, source);
+
+				for (int node = 0; node < size; node++) {
+					Assert.assertEquals(fresh.getDist(node), reused.getDist(node));
+					Assert.assertEquals(fresh.getPrev(node), reused.getPrev(node));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.mg.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StronglyConnectedComponentsTester {
+
+	@Test
+	public void testComponents() {
+		Graph<Integer> graph = new Graph<>();
+
+		for (int i = 1; i <= 6; i++) {
+			graph.addNode(i);
+		}
+
+		// {1, 2, 3} -> {4, 5} -> {6}
+		graph.addEdge(1, 2, 1);
+		graph.addEdge(2, 3, 1);
+		graph.addEdge(3, 1, 1);
+		graph.addEdge(3, 4, 1);
+		graph.addEdge(4, 5, 1);
+		graph.addEdge(5, 4, 1);
+		graph.addEdge(5, 6, 1);
+
+		IndexedGraph<Integer> indexed = graph.indexed();
+		StronglyConnectedComponents components = graph.components();
+
+		Assert.assertEquals(3, components.count());
+		Assert.assertEquals(component(graph, 1), component(graph, 3));
+		Assert.assertEquals(component(graph, 4), component(graph, 5));
+		Assert.assertTrue(component(graph, 6) < component(graph, 4));
+		Assert.assertTrue(component(graph, 4) < component(graph, 1));
+		Assert.assertTrue(components.mayReach(indexed.indexOf(1), indexed.indexOf(6)));
+		Assert.assertFalse(components.mayReach(indexed.indexOf(6), indexed.indexOf(1)));
+
+		// cached until the graph is modified
+		Assert.assertSame(components, graph.components());
+
+		graph.addEdge(6, 1, 1);
+
+		Assert.assertEquals(1, graph.components().count());
+	}
+
+	@Test
+	public void testDeepGraph() {
+		Graph<Integer> graph = new Graph<>();
+		int size = 200000;
+
+		for (int i = 0; i < size; i++) {
+			graph.addNode(i);
+		}
+
+		for (int i = 0; i + 1 < size; i++) {
+			graph.addEdge(i, i + 1, 1);
+		}
+
+		Assert.assertEquals(size, graph.components().count());
+
+		graph.addEdge(size - 1, 0, 1);
+
+		Assert.assertEquals(1, graph.components().count());
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random random = new Random(3);
+
+		for (int round = 0; round < 10; round++) {
+			Graph<Integer> graph = new Graph<>();
+			int size = 60;
+
+			for (int i = 0; i < size; i++) {
+				graph.addNode(i);
+			}
+
+			for (int i = 0; i < 90; i++) {
+				int source = random.nextInt(size);
+				int destination = random.nextInt(size);
+
+				if (source != destination && graph.getOutboundEdges(source).stream()
+						.noneMatch((edge) -> edge.getDestination() == destination)) {
+					graph.addEdge(source, destination, 1);
+				}
+			}
+
+			List<HashSet<Integer>> reach = new ArrayList<>();
+
+			for (int i = 0; i < size; i++) {
+				reach.add(reachable(graph, i));
+			}
+
+			for (int a = 0; a < size; a++) {
+				for (int b = 0; b < size; b++) {
+					boolean strong = reach.get(a).contains(b) && reach.get(b).contains(a);
+
+					Assert.assertEquals(strong, component(graph, a) == component(graph, b));
+
+					if (reach.get(a).contains(b)) {
+						Assert.assertTrue(component(graph, b) <= component(graph, a));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testUnreachableDestination() {
+		Graph<Integer> graph = new Graph<>();
+		PathFinder<Integer> pathFinder = new PathFinder<>();
+		List<SearchStats> stats = new ArrayList<>();
+
+		for (int i = 1; i <= 4; i++) {
+			graph.addNode(i);
+		}
+
+		graph.addEdge(1, 2, 1);
+		graph.addEdge(2, 1, 1);
+		graph.addEdge(3, 1, 1);
+		graph.addEdge(3, 4, 1);
+		pathFinder.setSearchListener(stats::add);
+
+		// answered without searching
+		Assert.assertTrue(pathFinder.getPaths(graph, 1, 4).isEmpty());
+		Assert.assertEquals(0, stats.get(0).getNodesSettled());
+
+		// the skipped search is run on demand
+		Assert.assertEquals(1, pathFinder.getDist(2));
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(4));
+		Assert.assertEquals(new HashSet<>(), pathFinder.getPrev(3));
+
+		// only the reachable components are searched
+		pathFinder.findPath(graph, 1);
+
+		Assert.assertEquals(2, stats.get(stats.size() - 1).getNodesSettled());
+		Assert.assertEquals(new HashSet<>(Arrays.asList(1)), pathFinder.getPrev(2));
+
+		// {1, 2} and {4} do not reach each other, but the order of the
+		// components only rules out one direction: the search proves the other
+		Assert.assertTrue(pathFinder.getPaths(graph, 4, 1).isEmpty());
+		Assert.assertTrue(pathFinder.getPaths(graph, 1, 4).isEmpty());
+		Assert.assertEquals(Integer.MAX_VALUE, pathFinder.getDist(4));
+	}
+
+	private static int component(Graph<Integer> graph, int node) {
+		return graph.components().componentOf(graph.indexed().indexOf(node));
+	}
+
+	private static HashSet<Integer> reachable(Graph<Integer> graph, int source) {
+		HashSet<Integer> visited = new HashSet<>();
+		List<Integer> stack = new ArrayList<>();
+
+		stack.add(source);
+		visited.add(source);
+
+		while (!stack.isEmpty()) {
+			int node = stack.remove(stack.size() - 1);
+
+			for (Edge<Integer> edge : graph.getOutboundEdges(node)) {
+				if (visited.add(edge.getDestination())) {
+					stack.add(edge.getDestination());
+				}
+			}
+		}
+
+		return visited;
+	}
+}